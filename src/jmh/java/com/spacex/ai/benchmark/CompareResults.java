@@ -0,0 +1,73 @@
+package com.spacex.ai.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, e.g. from the previous and the current commit.
+ * <p>
+ * Usage: {@code CompareResults <baseline.json> <candidate.json> [threshold-percent]}. Prints the
+ * score change of every benchmark present in both files and exits with status 1 when any
+ * benchmark regressed by more than the threshold (default 10%).
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(Path.of(args[0]));
+        Map<String, Score> candidate = read(Path.of(args[1]));
+
+        boolean regressed = false;
+        for (Map.Entry<String, Score> entry : candidate.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %12.3f %s (new)%n", entry.getKey(), entry.getValue().value(), entry.getValue().unit());
+                continue;
+            }
+            Score after = entry.getValue();
+            double change = (after.value() - before.value()) / before.value() * 100;
+            // Lower is better for time per operation, higher is better for throughput
+            boolean worse = after.unit().endsWith("/op") ? change > threshold : change < -threshold;
+            regressed |= worse;
+            System.out.printf("%-90s %12.3f -> %12.3f %s %+7.1f%%%s%n", entry.getKey(), before.value(), after.value(),
+                    after.unit(), change, worse ? "  REGRESSION" : "");
+        }
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder name = new StringBuilder(result.get("benchmark").asText());
+            JsonNode params = result.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> param = fields.next();
+                    name.append(name.indexOf("(") < 0 ? " (" : ", ").append(param.getKey()).append('=').append(param.getValue().asText());
+                }
+                name.append(')');
+            }
+            JsonNode metric = result.get("primaryMetric");
+            scores.put(name.toString(), new Score(metric.get("score").asDouble(), metric.get("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    private record Score(double value, String unit) {}
+}
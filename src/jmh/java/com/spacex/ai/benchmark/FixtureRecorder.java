@@ -0,0 +1,42 @@
+package com.spacex.ai.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Records the benchmark fixtures from a live SpaceX API.
+ * <p>
+ * Usage: {@code FixtureRecorder [base-url] [target-dir]}, defaulting to
+ * {@code https://api.spacexdata.com/v4} and {@code src/jmh/resources/fixtures}.
+ */
+public final class FixtureRecorder {
+
+    private FixtureRecorder() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "https://api.spacexdata.com/v4";
+        Path target = Path.of(args.length > 1 ? args[1] : "src/jmh/resources/fixtures");
+        Files.createDirectories(target);
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        for (String resource : new String[] {"launches", "launchpads"}) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + resource))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IOException("GET " + request.uri() + " returned " + response.statusCode());
+            }
+            Path file = target.resolve(resource + ".json");
+            Files.write(file, response.body());
+            System.out.printf("Recorded %s (%d bytes)%n", file, response.body().length);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.spacex.ai.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Recorded SpaceX API payloads under {@code src/jmh/resources/fixtures}, so benchmarks run
+ * offline against realistic data. Re-record them with {@link FixtureRecorder}.
+ */
+public final class Fixtures {
+
+    public static final String LAUNCHES = "launches.json";
+    public static final String LAUNCHPADS = "launchpads.json";
+
+    private Fixtures() {
+    }
+
+    public static byte[] load(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + name + "; run FixtureRecorder first");
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * An ObjectMapper configured like the application's (Java time support, no timestamps).
+     */
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
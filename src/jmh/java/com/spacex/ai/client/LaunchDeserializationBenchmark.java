@@ -0,0 +1,97 @@
+package com.spacex.ai.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.spacex.ai.benchmark.Fixtures;
+import com.spacex.ai.model.Launch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson deserialization of a full {@code /launches} payload into the {@link Launch} record graph,
+ * the work every uncached {@link SpaceXClient#getAllLaunches()} and store full sync does.
+ * <p>
+ * The {@code decode*} benchmarks feed the payload through the WebFlux decoder in 8 KB network-sized
+ * chunks, buffering the whole body first as {@code bodyToMono(List)} does, or decoding array
+ * elements as they arrive as {@link ReactiveSpaceXClient} does. Run with {@code -prof gc} to
+ * compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LaunchDeserializationBenchmark {
+
+    private byte[] payload;
+    private ObjectReader launchListReader;
+    private ObjectMapper objectMapper;
+    private Jackson2JsonDecoder decoder;
+    private List<byte[]> chunks;
+
+    @Setup
+    public void setUp() {
+        payload = Fixtures.load(Fixtures.LAUNCHES);
+        objectMapper = Fixtures.objectMapper();
+        launchListReader = objectMapper.readerFor(new TypeReference<List<Launch>>() {});
+        decoder = new Jackson2JsonDecoder(objectMapper);
+        // The buffered path would otherwise fail on the codec's default 256 KB limit
+        decoder.setMaxInMemorySize(-1);
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < payload.length; offset += 8192) {
+            chunks.add(Arrays.copyOfRange(payload, offset, Math.min(payload.length, offset + 8192)));
+        }
+    }
+
+    @Benchmark
+    public List<Launch> readLaunchList() throws IOException {
+        return launchListReader.readValue(payload);
+    }
+
+    @Benchmark
+    public Object readTree() throws IOException {
+        return objectMapper.readTree(payload);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Launch> decodeBuffered() {
+        return (List<Launch>) decoder.decodeToMono(body(), ResolvableType.forClassWithGenerics(List.class, Launch.class),
+                null, Map.of()).block();
+    }
+
+    @Benchmark
+    public List<Launch> decodeStreaming() {
+        return decoder.decode(body(), ResolvableType.forClass(Launch.class), null, Map.of())
+                .cast(Launch.class)
+                .collectList()
+                .block();
+    }
+
+    private Flux<DataBuffer> body() {
+        return Flux.fromIterable(chunks).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+}
@@ -0,0 +1,73 @@
+package com.spacex.ai.controller;
+
+import com.spacex.ai.config.AnswerCacheProperties;
+import com.spacex.ai.config.SpaceXCacheProperties;
+import com.spacex.ai.service.AnswerCache;
+import com.spacex.ai.service.AskMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link SpaceXAiController#ask} path against a ChatClient whose model answers immediately,
+ * so the measurement is the application overhead around the LLM call (prompt assembly, advisor
+ * chain, answer cache) rather than provider latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AskBenchmark {
+
+    @Param({"false", "true"})
+    public boolean answerCache;
+
+    private SpaceXAiController controller;
+    private SpaceXAiController.AskRequest request;
+
+    @Setup
+    public void setUp() {
+        ChatModel chatModel = new ChatModel() {
+            @Override
+            public ChatResponse call(Prompt prompt) {
+                return new ChatResponse(List.of(new Generation(
+                        new AssistantMessage("The next launch is Starlink 12-3 on Friday from SLC 40."))));
+            }
+        };
+        AnswerCache cache = new AnswerCache(
+                new AnswerCacheProperties(answerCache, 1000, Duration.ofMinutes(10),
+                        new AnswerCacheProperties.Similarity(false, 0.9, AnswerCacheProperties.Embedding.LOCAL)),
+                new SpaceXCacheProperties(500, Duration.ofMinutes(10), Map.of()),
+                null, new SimpleMeterRegistry());
+        controller = new SpaceXAiController(ChatClient.builder(chatModel).build(), cache, new AskMetrics(new SimpleMeterRegistry()));
+        request = new SpaceXAiController.AskRequest("When is the next SpaceX launch?");
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> ask() {
+        return controller.ask(request);
+    }
+}
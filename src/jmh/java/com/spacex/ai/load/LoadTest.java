@@ -0,0 +1,359 @@
+package com.spacex.ai.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spacex.ai.SpacexAiApplication;
+import com.spacex.ai.benchmark.Fixtures;
+import com.spacex.ai.mcp.McpToolServer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Drives {@code /api/ask} and the MCP stdio protocol at a fixed request rate against the
+ * {@link SpaceXApiSimulator} and a {@link StubChatModel}, and reports throughput, latency
+ * percentiles and error rates.
+ * <p>
+ * The load is open-loop: requests are sent on schedule whether or not earlier ones completed,
+ * and latency is measured from the scheduled send time, so a stalled service shows up as queueing
+ * delay instead of silently lowering the offered rate. Options are {@code key=value} arguments:
+ * <ul>
+ *   <li>{@code scenario} - {@code ask}, {@code mcp} or {@code all} (default)</li>
+ *   <li>{@code rps}, {@code duration}, {@code warmup} - offered load (default 20/s for 30s after 5s)</li>
+ *   <li>{@code max-in-flight} - outstanding requests before new ones count as dropped (default 1000)</li>
+ *   <li>{@code questions} - distinct questions asked, which bounds the answer cache hit rate (default 20)</li>
+ *   <li>{@code think-time} - stub model latency per turn (default 200ms)</li>
+ *   <li>{@code latency}, {@code jitter}, {@code error-rate}, {@code rate-limit} - simulator behavior</li>
+ *   <li>{@code report} - JSON report path (default {@code target/load-report.json})</li>
+ *   <li>{@code spring.*}, {@code spacex.*}, {@code server.*} - passed to the application as properties</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final List<String> QUESTIONS = List.of(
+            "When is the next SpaceX launch?",
+            "What was the latest launch?",
+            "List the upcoming launches",
+            "Which launch pads does SpaceX use?",
+            "Which launches failed?",
+            "Tell me about the next launch and its launch site"
+    );
+    private static final List<String> MCP_METHODS = List.of(
+            "getNextLaunch", "getLatestLaunch", "getLaunchById", "getUpcomingLaunches", "getAllLaunchpads", "getPastLaunches"
+    );
+
+    private final ObjectMapper objectMapper = Fixtures.objectMapper();
+    private final double rps;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int maxInFlight;
+
+    private LoadTest(Map<String, String> options) {
+        this.rps = Double.parseDouble(options.getOrDefault("rps", "20"));
+        this.duration = duration(options.getOrDefault("duration", "30s"));
+        this.warmup = duration(options.getOrDefault("warmup", "5s"));
+        this.maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "1000"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        String scenario = options.getOrDefault("scenario", "all");
+        LoadTest loadTest = new LoadTest(options);
+
+        try (SpaceXApiSimulator simulator = new SpaceXApiSimulator(SpaceXApiSimulator.Behavior.of(options))) {
+            simulator.start(0);
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("server.port", 0);
+            properties.put("spacex.api.base-url", simulator.baseUrl());
+            properties.put("spring.ai.openai.api-key", "load-test");
+            properties.put("load.think-time", options.getOrDefault("think-time", "200ms"));
+            properties.put("logging.level.com.spacex.ai", "INFO");
+            properties.put("logging.level.org.springframework.ai", "WARN");
+            options.forEach((key, value) -> {
+                if (key.startsWith("spring.") || key.startsWith("spacex.") || key.startsWith("server.")) {
+                    properties.put(key, value);
+                }
+            });
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("options", options);
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                    SpacexAiApplication.class, StubModelConfiguration.class).run(arguments(properties))) {
+                List<Stats> results = new ArrayList<>();
+                if (scenario.equals("all") || scenario.equals("ask")) {
+                    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                    int questions = Integer.parseInt(options.getOrDefault("questions", "20"));
+                    results.add(loadTest.ask(URI.create("http://localhost:" + port + "/api/ask"), questions));
+                }
+                if (scenario.equals("all") || scenario.equals("mcp")) {
+                    results.add(loadTest.mcp(context.getBean(McpToolServer.class), simulator.launchIds()));
+                }
+                report.put("scenarios", results.stream().map(Stats::toMap).toList());
+            }
+            report.put("upstream", simulator.stats());
+
+            String json = loadTest.objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+            Path output = Path.of(options.getOrDefault("report", "target/load-report.json"));
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Files.writeString(output, json);
+            System.out.println(json);
+            System.out.println("Report written to " + output.toAbsolutePath());
+        }
+    }
+
+    private Stats ask(URI uri, int distinctQuestions) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        return drive("ask", i -> {
+            int question = i % distinctQuestions;
+            String text = QUESTIONS.get(question % QUESTIONS.size())
+                    + (question >= QUESTIONS.size() ? " (" + question / QUESTIONS.size() + ")" : "");
+            HttpRequest request;
+            try {
+                request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("question", text))))
+                        .build();
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> response.statusCode() == 200);
+        });
+    }
+
+    private Stats mcp(McpToolServer server, List<String> launchIds) throws IOException, InterruptedException {
+        PipedInputStream serverIn = new PipedInputStream(1 << 16);
+        PipedOutputStream clientOut = new PipedOutputStream(serverIn);
+        PipedInputStream clientIn = new PipedInputStream(1 << 20);
+        PipedOutputStream serverOut = new PipedOutputStream(clientIn);
+        Map<Integer, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+
+        Thread serverThread = new Thread(() -> {
+            try (serverOut) {
+                server.serve(serverIn, serverOut);
+            } catch (IOException | InterruptedException e) {
+                pending.values().forEach(call -> call.completeExceptionally(e));
+            }
+        }, "load-mcp-server");
+        Thread readerThread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(clientIn, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode response = objectMapper.readTree(line);
+                    JsonNode id = response.get("id");
+                    CompletableFuture<Boolean> call = id == null || id.isNull() ? null : pending.remove(id.asInt());
+                    if (call != null) {
+                        call.complete(!response.has("error"));
+                    }
+                }
+            } catch (IOException e) {
+                pending.values().forEach(call -> call.completeExceptionally(e));
+            }
+        }, "load-mcp-reader");
+        serverThread.start();
+        readerThread.start();
+
+        Stats stats = drive("mcp", i -> {
+            String method = MCP_METHODS.get(i % MCP_METHODS.size());
+            Map<String, Object> params = method.equals("getLaunchById")
+                    ? Map.of("id", launchIds.get(ThreadLocalRandom.current().nextInt(launchIds.size())))
+                    : Map.of();
+            CompletableFuture<Boolean> call = new CompletableFuture<>();
+            pending.put(i, call);
+            try {
+                write(clientOut, objectMapper.writeValueAsString(
+                        Map.of("jsonrpc", "2.0", "id", i, "method", method, "params", params)));
+            } catch (IOException e) {
+                pending.remove(i);
+                call.completeExceptionally(e);
+            }
+            return call;
+        });
+
+        clientOut.close();
+        serverThread.join();
+        readerThread.join();
+        return stats;
+    }
+
+    private static void write(OutputStream out, String line) throws IOException {
+        out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Calls {@code send} at the configured rate for the warmup and measurement periods and waits
+     * for the outstanding requests. Only requests scheduled after the warmup are recorded.
+     */
+    private Stats drive(String name, IntFunction<CompletableFuture<Boolean>> send) throws InterruptedException {
+        Stats stats = new Stats(name, rps, duration);
+        AtomicInteger inFlight = new AtomicInteger();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        System.out.printf("%s: %.1f requests/s for %s after a %s warmup%n", name, rps, duration, warmup);
+
+        for (int i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean recorded = scheduled >= measureFrom;
+            if (inFlight.get() >= maxInFlight) {
+                if (recorded) {
+                    stats.dropped.incrementAndGet();
+                }
+                continue;
+            }
+            inFlight.incrementAndGet();
+            CompletableFuture<Boolean> call;
+            try {
+                call = send.apply(i);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((ok, failure) -> {
+                inFlight.decrementAndGet();
+                if (recorded) {
+                    stats.record(System.nanoTime() - scheduled, failure == null && ok);
+                }
+            });
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        stats.unfinished = inFlight.get();
+        return stats;
+    }
+
+    /**
+     * Application properties as command line arguments, which take precedence over application.yml.
+     */
+    private static String[] arguments(Map<String, Object> properties) {
+        return properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+    }
+
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    private static final class Stats {
+
+        private final String scenario;
+        private final double offeredRps;
+        private final Duration duration;
+        private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(5), 3);
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private int unfinished;
+
+        Stats(String scenario, double offeredRps, Duration duration) {
+            this.scenario = scenario;
+            this.offeredRps = offeredRps;
+            this.duration = duration;
+        }
+
+        void record(long latencyNanos, boolean success) {
+            latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), latencyMicros.getHighestTrackableValue()));
+            (success ? succeeded : failed).incrementAndGet();
+        }
+
+        Map<String, Object> toMap() {
+            long total = succeeded.get() + failed.get() + dropped.get() + unfinished;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("scenario", scenario);
+            map.put("offered_rps", offeredRps);
+            map.put("achieved_rps", Math.round(succeeded.get() * 10.0 / duration.toMillis() * 1000) / 10.0);
+            map.put("requests", total);
+            map.put("succeeded", succeeded.get());
+            map.put("failed", failed.get());
+            map.put("dropped", dropped.get());
+            map.put("unfinished", unfinished);
+            map.put("error_rate", total == 0 ? 0 : Math.round((total - succeeded.get()) * 10000.0 / total) / 10000.0);
+            Map<String, Object> latency = new LinkedHashMap<>();
+            for (double percentile : new double[] {50, 90, 99, 99.9}) {
+                latency.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                        millis(latencyMicros.getValueAtPercentile(percentile)));
+            }
+            latency.put("max", millis(latencyMicros.getMaxValue()));
+            latency.put("mean", millis((long) latencyMicros.getMean()));
+            map.put("latency_ms", latency);
+            return map;
+        }
+
+        private static double millis(long micros) {
+            return Math.round(micros / 100.0) / 10.0;
+        }
+    }
+
+    /**
+     * Replaces the OpenAI chat model with a {@link StubChatModel}. Registered explicitly rather
+     * than scanned, so it never leaks into another application context.
+     */
+    static class StubModelConfiguration {
+
+        @Bean
+        @Primary
+        ChatModel stubChatModel(ToolCallingManager toolCallingManager, @Value("${load.think-time}") Duration thinkTime) {
+            return new StubChatModel(toolCallingManager, thinkTime);
+        }
+    }
+}
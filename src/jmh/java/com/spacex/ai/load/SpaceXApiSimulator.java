@@ -0,0 +1,248 @@
+package com.spacex.ai.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.spacex.ai.benchmark.Fixtures;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+/**
+ * A local stand-in for the SpaceX API, serving the recorded fixtures from a {@link MockWebServer}.
+ * <p>
+ * Every response is delayed by {@link Behavior#latency()} plus up to {@link Behavior#jitter()};
+ * a share of requests given by {@link Behavior#errorRate()} fails with {@code 503}, and requests
+ * beyond {@link Behavior#rateLimit()} per second are answered with {@code 429}. Resources without
+ * a fixture (rockets, ships) are served as empty lists.
+ * <p>
+ * Run {@link #main} to start it standalone and point {@code spacex.api.base-url} at it.
+ */
+public class SpaceXApiSimulator extends Dispatcher implements AutoCloseable {
+
+    /**
+     * @param rateLimit requests per second before {@code 429}; {@code 0} for no limit
+     */
+    public record Behavior(Duration latency, Duration jitter, double errorRate, int rateLimit) {
+
+        public static Behavior of(Map<String, String> options) {
+            return new Behavior(
+                    LoadTest.duration(options.getOrDefault("latency", "50ms")),
+                    LoadTest.duration(options.getOrDefault("jitter", "25ms")),
+                    Double.parseDouble(options.getOrDefault("error-rate", "0")),
+                    Integer.parseInt(options.getOrDefault("rate-limit", "0")));
+        }
+    }
+
+    private static final String API_PREFIX = "/v4";
+
+    private final ObjectMapper objectMapper = Fixtures.objectMapper();
+    private final Behavior behavior;
+    private final MockWebServer server = new MockWebServer();
+    private final Map<String, String> bodies = new HashMap<>();
+    private final Map<String, String> launchesById = new HashMap<>();
+    private final Map<String, String> launchpadsById = new HashMap<>();
+    private final List<JsonNode> launches;
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicLong windowCount = new AtomicLong();
+
+    public SpaceXApiSimulator(Behavior behavior) throws IOException {
+        this.behavior = behavior;
+        ArrayNode launchArray = (ArrayNode) objectMapper.readTree(Fixtures.load(Fixtures.LAUNCHES));
+        ArrayNode launchpadArray = (ArrayNode) objectMapper.readTree(Fixtures.load(Fixtures.LAUNCHPADS));
+        this.launches = StreamSupport.stream(launchArray.spliterator(), false)
+                .sorted(Comparator.comparing(launch -> launch.path("date_utc").asText()))
+                .toList();
+        List<JsonNode> upcoming = launches.stream().filter(launch -> launch.path("upcoming").asBoolean()).toList();
+        List<JsonNode> past = launches.stream().filter(launch -> !launch.path("upcoming").asBoolean()).toList();
+
+        bodies.put("/launches", json(launches));
+        bodies.put("/launches/upcoming", json(upcoming));
+        bodies.put("/launches/past", json(past));
+        bodies.put("/launches/latest", json(past.get(past.size() - 1)));
+        bodies.put("/launches/next", json(upcoming.isEmpty() ? past.get(past.size() - 1) : upcoming.get(0)));
+        bodies.put("/launchpads", json(launchpadArray));
+        bodies.put("/rockets", "[]");
+        bodies.put("/ships", "[]");
+        for (JsonNode launch : launches) {
+            launchesById.put(launch.path("id").asText(), json(launch));
+        }
+        for (JsonNode launchpad : launchpadArray) {
+            launchpadsById.put(launchpad.path("id").asText(), json(launchpad));
+        }
+        server.setDispatcher(this);
+    }
+
+    public void start(int port) throws IOException {
+        server.start(port);
+    }
+
+    /**
+     * The value for {@code spacex.api.base-url}.
+     */
+    public String baseUrl() {
+        return server.url(API_PREFIX).toString();
+    }
+
+    /**
+     * Ids of the launches being served, for requests that look up a single launch.
+     */
+    public List<String> launchIds() {
+        return List.copyOf(launchesById.keySet());
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("served", served.get());
+        stats.put("failed", failed.get());
+        stats.put("rate_limited", rateLimited.get());
+        return stats;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        MockResponse response = respond(request);
+        long delay = behavior.latency().toMillis();
+        if (!behavior.jitter().isZero()) {
+            delay += ThreadLocalRandom.current().nextLong(behavior.jitter().toMillis() + 1);
+        }
+        return response.setHeadersDelay(delay, TimeUnit.MILLISECONDS);
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        if (overRateLimit()) {
+            rateLimited.incrementAndGet();
+            return new MockResponse().setResponseCode(429).setHeader("Retry-After", "1");
+        }
+        if (behavior.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < behavior.errorRate()) {
+            failed.incrementAndGet();
+            return new MockResponse().setResponseCode(503).setBody("Service Unavailable");
+        }
+
+        String path = request.getRequestUrl().encodedPath();
+        if (path.startsWith(API_PREFIX)) {
+            path = path.substring(API_PREFIX.length());
+        }
+        String body = bodies.get(path);
+        if (body == null && "POST".equals(request.getMethod()) && path.endsWith("/query")) {
+            body = query(path.substring(0, path.length() - "/query".length()), request.getBody().readUtf8());
+        }
+        if (body == null && path.startsWith("/launches/")) {
+            body = launchesById.get(path.substring("/launches/".length()));
+        }
+        if (body == null && path.startsWith("/launchpads/")) {
+            body = launchpadsById.get(path.substring("/launchpads/".length()));
+        }
+        if (body == null) {
+            return new MockResponse().setResponseCode(404).setBody("Not Found");
+        }
+        served.incrementAndGet();
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+
+    /**
+     * Answers {@code _id $in} lookups of launches and launchpads, and the {@code upcoming or
+     * date_utc >= since} query the launch store synchronizes with; any other launch query returns
+     * every launch, and other resources have no documents.
+     */
+    private String query(String resource, String requestBody) {
+        JsonNode query;
+        try {
+            query = objectMapper.readTree(requestBody).path("query");
+        } catch (IOException e) {
+            query = objectMapper.missingNode();
+        }
+        Map<String, String> byId = switch (resource) {
+            case "/launches" -> launchesById;
+            case "/launchpads" -> launchpadsById;
+            default -> Map.of();
+        };
+        List<JsonNode> docs;
+        if (query.path("_id").has("$in")) {
+            docs = StreamSupport.stream(query.path("_id").path("$in").spliterator(), false)
+                    .map(id -> byId.get(id.asText()))
+                    .filter(Objects::nonNull)
+                    .map(this::tree)
+                    .toList();
+        } else if (resource.equals("/launches")) {
+            String cutoff = query.findPath("$gte").asText(null);
+            docs = launches.stream()
+                    .filter(launch -> cutoff == null || launch.path("upcoming").asBoolean()
+                            || launch.path("date_utc").asText().compareTo(cutoff) >= 0)
+                    .toList();
+        } else {
+            docs = List.of();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("docs", docs);
+        result.put("totalDocs", docs.size());
+        result.put("page", 1);
+        result.put("totalPages", 1);
+        result.put("hasNextPage", false);
+        return json(result);
+    }
+
+    private JsonNode tree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean overRateLimit() {
+        if (behavior.rateLimit() <= 0) {
+            return false;
+        }
+        long second = System.nanoTime() / 1_000_000_000L;
+        long start = windowStart.get();
+        if (second != start && windowStart.compareAndSet(start, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() > behavior.rateLimit();
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Starts the simulator on {@code port} (default 8090) until interrupted. Options are
+     * {@code key=value} pairs: {@code latency}, {@code jitter}, {@code error-rate}, {@code rate-limit}.
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTest.options(args);
+        try (SpaceXApiSimulator simulator = new SpaceXApiSimulator(Behavior.of(options))) {
+            simulator.start(Integer.parseInt(options.getOrDefault("port", "8090")));
+            System.out.println("SpaceX API simulator listening on " + simulator.baseUrl());
+            Thread.currentThread().join();
+        }
+    }
+}
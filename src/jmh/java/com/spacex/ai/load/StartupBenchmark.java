@@ -0,0 +1,256 @@
+package com.spacex.ai.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spacex.ai.SpacexAiApplication;
+import com.spacex.ai.mcp.McpServerApplication;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long an MCP server process takes to become useful, the way an MCP client sees it:
+ * a new JVM is spawned per run, and the clock stops when the server has announced its
+ * capabilities ({@code ready}) and when it has answered a first {@code getLatestLaunch} call,
+ * sent on stdin right after spawning ({@code answered}). The SpaceX API is a local
+ * {@link SpaceXApiSimulator}.
+ * <p>
+ * Variants, run in this order:
+ * <ul>
+ *   <li>{@code full} - {@link SpacexAiApplication} in MCP mode, scanning the whole application</li>
+ *   <li>{@code slim} - {@link McpServerApplication}, which imports only the MCP beans</li>
+ *   <li>{@code slim-lazy} - the same with the {@code fast-start} profile (lazy initialization)</li>
+ *   <li>{@code slim-aot} - the same with {@code spring.aot.enabled}, if the classes were built with {@code -Paot}</li>
+ *   <li>{@code slim-cds}, {@code slim-aot-cds} - with a class data sharing archive, if {@code jar} is set</li>
+ * </ul>
+ * Options are {@code key=value} arguments:
+ * <ul>
+ *   <li>{@code runs} - measured starts per variant, after one unmeasured warm-up start (default 5)</li>
+ *   <li>{@code variants} - comma-separated subset of the variants above (default all that apply)</li>
+ *   <li>{@code jar} - an unpacked application jar ({@code java -Djarmode=tools -jar ... extract}) to run
+ *       from instead of the current classpath; CDS archives can only hold classes loaded from jars</li>
+ *   <li>{@code timeout} - per start (default 60s)</li>
+ *   <li>{@code report} - JSON report path (default {@code target/startup-result.json})</li>
+ * </ul>
+ */
+public final class StartupBenchmark {
+
+    private static final String FIRST_CALL = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"getLatestLaunch\"}";
+    private static final String AOT_INITIALIZER = McpServerApplication.class.getName() + "__ApplicationContextInitializer";
+
+    private final String classpath;
+    private final Path workDirectory;
+    private final Duration timeout;
+    private final List<String> applicationArgs;
+
+    private StartupBenchmark(String classpath, Path workDirectory, Duration timeout, String baseUrl) {
+        this.classpath = classpath;
+        this.workDirectory = workDirectory;
+        this.timeout = timeout;
+        this.applicationArgs = List.of("--spacex.api.base-url=" + baseUrl, "--spring.main.banner-mode=off");
+    }
+
+    private record Variant(String name, String mainClass, List<String> jvmArgs, List<String> args) {
+    }
+
+    private record Sample(long readyMillis, long answeredMillis) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadTest.options(args);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        String jar = options.get("jar");
+        Path workDirectory = Path.of("target").toAbsolutePath();
+        Files.createDirectories(workDirectory);
+
+        try (SpaceXApiSimulator simulator = new SpaceXApiSimulator(
+                new SpaceXApiSimulator.Behavior(Duration.ZERO, Duration.ZERO, 0, 0))) {
+            simulator.start(0);
+            StartupBenchmark benchmark = new StartupBenchmark(
+                    jar != null ? Path.of(jar).toAbsolutePath().toString() : currentClasspath(),
+                    workDirectory, LoadTest.duration(options.getOrDefault("timeout", "60s")), simulator.baseUrl());
+
+            List<Variant> variants = benchmark.variants(jar != null);
+            if (options.containsKey("variants")) {
+                List<String> selected = Arrays.asList(options.get("variants").split(","));
+                variants = variants.stream().filter(variant -> selected.contains(variant.name())).toList();
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("java", Runtime.version().toString());
+            report.put("processors", Runtime.getRuntime().availableProcessors());
+            report.put("runs", runs);
+            Map<String, Object> results = new LinkedHashMap<>();
+            System.out.printf("%-14s %10s %10s %10s %12s%n", "variant", "ready p50", "min", "max", "answered p50");
+            for (Variant variant : variants) {
+                List<Sample> samples = benchmark.measure(variant, runs);
+                long[] ready = samples.stream().mapToLong(Sample::readyMillis).sorted().toArray();
+                long[] answered = samples.stream().mapToLong(Sample::answeredMillis).sorted().toArray();
+                System.out.printf("%-14s %8d ms %7d ms %7d ms %9d ms%n", variant.name(), ready[ready.length / 2],
+                        ready[0], ready[ready.length - 1], answered[answered.length / 2]);
+                results.put(variant.name(), Map.of(
+                        "readyMillis", Map.of("p50", ready[ready.length / 2], "min", ready[0], "max", ready[ready.length - 1]),
+                        "answeredMillis", Map.of("p50", answered[answered.length / 2], "min", answered[0],
+                                "max", answered[answered.length - 1]),
+                        "samples", samples));
+            }
+            report.put("variants", results);
+
+            String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(report);
+            Path output = Path.of(options.getOrDefault("report", "target/startup-result.json"));
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            Files.writeString(output, json);
+            System.out.println("Report written to " + output.toAbsolutePath());
+        }
+    }
+
+    private List<Variant> variants(boolean fromJar) throws IOException, InterruptedException {
+        String slim = McpServerApplication.class.getName();
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("full", SpacexAiApplication.class.getName(), List.of(),
+                List.of("--spring.main.web-application-type=none", "--spacex.mcp.stdio.enabled=true",
+                        "--spring.ai.openai.api-key=benchmark")));
+        variants.add(new Variant("slim", slim, List.of(), List.of()));
+        variants.add(new Variant("slim-lazy", slim, List.of(), List.of("--spring.profiles.active=fast-start")));
+        boolean aot = aotProcessed();
+        if (aot) {
+            variants.add(new Variant("slim-aot", slim, List.of("-Dspring.aot.enabled=true"), List.of()));
+        }
+        if (fromJar) {
+            variants.add(new Variant("slim-cds", slim, List.of(archive("slim", List.of())), List.of()));
+            if (aot) {
+                List<String> aotEnabled = List.of("-Dspring.aot.enabled=true");
+                variants.add(new Variant("slim-aot-cds", slim,
+                        List.of(aotEnabled.get(0), archive("slim-aot", aotEnabled)), List.of()));
+            }
+        }
+        return variants;
+    }
+
+    private boolean aotProcessed() {
+        try {
+            Class.forName(AOT_INITIALIZER, false, StartupBenchmark.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a CDS archive from a training start that exits once the context is refreshed.
+     *
+     * @return the JVM option that uses the archive
+     */
+    private String archive(String name, List<String> jvmArgs) throws IOException, InterruptedException {
+        Path archive = workDirectory.resolve("startup-" + name + ".jsa");
+        Files.deleteIfExists(archive);
+        List<String> command = new ArrayList<>(List.of(javaExecutable(), "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"));
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", classpath, McpServerApplication.class.getName()));
+        command.addAll(applicationArgs);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        process.getOutputStream().close();
+        if (!process.waitFor(timeout.toMillis() * 2, TimeUnit.MILLISECONDS) || !Files.exists(archive)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("CDS training run for " + name + " did not produce " + archive);
+        }
+        return "-XX:SharedArchiveFile=" + archive;
+    }
+
+    private List<Sample> measure(Variant variant, int runs) throws IOException, InterruptedException {
+        List<Sample> samples = new ArrayList<>();
+        // The first start pays for cold OS file caches
+        start(variant);
+        for (int i = 0; i < runs; i++) {
+            samples.add(start(variant));
+        }
+        return samples;
+    }
+
+    private Sample start(Variant variant) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(javaExecutable());
+        command.addAll(variant.jvmArgs());
+        command.addAll(List.of("-cp", classpath, variant.mainClass()));
+        command.addAll(applicationArgs);
+        command.addAll(variant.args());
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        // Ends the read loop below if the server hangs
+        CompletableFuture.runAsync(process::destroyForcibly,
+                CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        try {
+            OutputStream stdin = process.getOutputStream();
+            stdin.write((FIRST_CALL + "\n").getBytes(StandardCharsets.UTF_8));
+            stdin.flush();
+
+            long ready = -1;
+            long answered = -1;
+            BufferedReader stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            // Application logs share stdout with the protocol; only JSON-RPC messages count
+            while (answered < 0 && (line = stdout.readLine()) != null) {
+                if (!line.startsWith("{")) {
+                    continue;
+                }
+                long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                if (ready < 0 && line.contains("\"capabilities\"")) {
+                    ready = elapsed;
+                } else if (line.contains("\"id\":1")) {
+                    answered = elapsed;
+                }
+            }
+            if (ready < 0 || answered < 0) {
+                throw new IllegalStateException(variant.name() + " did not answer within " + timeout);
+            }
+            stdin.close();
+            // McpServerApplication exits on end of input; the full application keeps running
+            process.waitFor(5, TimeUnit.SECONDS);
+            return new Sample(ready, answered);
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * The classpath this class was loaded from; under {@code exec:java} that is not {@code java.class.path}.
+     */
+    private static String currentClasspath() throws URISyntaxException {
+        if (Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : loader.getURLs()) {
+                entries.add(Path.of(url.toURI()).toString());
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.spacex.ai.load;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A chat model that behaves like a tool-calling LLM without calling one.
+ * <p>
+ * Each turn waits {@code thinkTime} to stand in for provider latency. The first turn picks tools
+ * from keywords in the question and has them executed by the application's
+ * {@link ToolCallingManager}, so tool calls hit the real {@code SpaceXClient}, caches and upstream;
+ * the second turn answers with the size of each tool result.
+ */
+public class StubChatModel implements ChatModel {
+
+    private final ToolCallingManager toolCallingManager;
+    private final Duration thinkTime;
+
+    public StubChatModel(ToolCallingManager toolCallingManager, Duration thinkTime) {
+        this.toolCallingManager = toolCallingManager;
+        this.thinkTime = thinkTime;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        think();
+        List<Message> messages = prompt.getInstructions();
+        if (!messages.isEmpty() && messages.get(messages.size() - 1) instanceof ToolResponseMessage toolResponses) {
+            StringBuilder answer = new StringBuilder("Based on the SpaceX data:");
+            for (ToolResponseMessage.ToolResponse response : toolResponses.getResponses()) {
+                answer.append(' ').append(response.name()).append(" returned ")
+                        .append(response.responseData().length()).append(" characters.");
+            }
+            return response(new AssistantMessage(answer.toString()));
+        }
+
+        String question = messages.stream()
+                .filter(UserMessage.class::isInstance)
+                .reduce((first, second) -> second)
+                .map(Message::getText)
+                .orElse("");
+        List<AssistantMessage.ToolCall> toolCalls = plan(question);
+        ChatResponse response = response(new AssistantMessage("", Map.of(), toolCalls));
+        if (toolCalls.isEmpty() || !ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions())) {
+            return response;
+        }
+        ToolExecutionResult result = toolCallingManager.executeToolCalls(prompt, response);
+        return call(new Prompt(result.conversationHistory(), prompt.getOptions()));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> Flux.just(call(prompt)));
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        // ChatClient only attaches tools to tool-calling options
+        return ToolCallingChatOptions.builder().build();
+    }
+
+    private static List<AssistantMessage.ToolCall> plan(String question) {
+        String text = question.toLowerCase(Locale.ROOT);
+        List<AssistantMessage.ToolCall> calls = new ArrayList<>();
+        if (text.contains("next")) {
+            calls.add(toolCall("getNextLaunch", "{}"));
+        }
+        if (text.contains("latest") || text.contains("last")) {
+            calls.add(toolCall("getLatestLaunch", "{}"));
+        }
+        if (text.contains("upcoming")) {
+            calls.add(toolCall("getUpcomingLaunches", "{\"limit\":10}"));
+        }
+        if (text.contains("pad") || text.contains("site")) {
+            calls.add(toolCall("getAllLaunchpads", "{}"));
+        }
+        if (text.contains("fail") || text.contains("success")) {
+            calls.add(toolCall("getPastLaunches", "{\"success\":false,\"fields\":[\"name\",\"date_utc\",\"details\"]}"));
+        }
+        return calls;
+    }
+
+    private static AssistantMessage.ToolCall toolCall(String name, String arguments) {
+        return new AssistantMessage.ToolCall(UUID.randomUUID().toString(), "function", name, arguments);
+    }
+
+    private static ChatResponse response(AssistantMessage message) {
+        return new ChatResponse(List.of(new Generation(message)));
+    }
+
+    private void think() {
+        if (thinkTime.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(thinkTime.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating", e);
+        }
+    }
+}
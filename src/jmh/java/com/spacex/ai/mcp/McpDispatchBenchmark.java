@@ -0,0 +1,83 @@
+package com.spacex.ai.mcp;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacex.ai.benchmark.Fixtures;
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.service.SerializedResults;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One MCP request through {@link McpToolServer}: parse the JSON-RPC line, dispatch to the tool
+ * and serialize the response, as the server does for every line read from stdin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class McpDispatchBenchmark {
+
+    @Param({"getLatestLaunch", "getLaunchById", "getAllLaunches"})
+    public String method;
+
+    private ObjectMapper objectMapper;
+    private McpToolServer server;
+    private String requestLine;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Fixtures.objectMapper();
+        List<Launch> launches = objectMapper.readValue(Fixtures.load(Fixtures.LAUNCHES), new TypeReference<>() {});
+        Map<String, Launch> byId = launches.stream().collect(Collectors.toMap(Launch::id, l -> l));
+        SpaceXClient spaceXClient = new SpaceXClient("http://localhost") {
+            @Override
+            public List<Launch> getAllLaunches() {
+                return launches;
+            }
+
+            @Override
+            public Launch getLaunchById(String id) {
+                return byId.get(id);
+            }
+
+            @Override
+            public Launch getLatestLaunch() {
+                return launches.get(launches.size() - 1);
+            }
+        };
+        server = new McpToolServer(spaceXClient, null, new SerializedResults(null), objectMapper, new SyncTaskExecutor(), ObservationRegistry.NOOP,
+                null);
+        requestLine = objectMapper.writeValueAsString(Map.of(
+                "jsonrpc", "2.0",
+                "id", 42,
+                "method", method,
+                "params", Map.of("id", launches.get(100).id())));
+    }
+
+    @Benchmark
+    public String roundTrip() throws Exception {
+        Map<String, Object> request = objectMapper.readValue(requestLine, Map.class);
+        return objectMapper.writeValueAsString(server.handleRequest(request));
+    }
+}
@@ -0,0 +1,92 @@
+package com.spacex.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacex.ai.benchmark.Fixtures;
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.config.ToolResultProperties;
+import com.spacex.ai.model.Launch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link SpaceXToolService} result serialization: the full object graph, a field projection,
+ * a filtered page, and a result compacted to the token budget. With {@code reuse} the results
+ * come from {@link SerializedResults} after the first call, as they do while the launch list
+ * is unchanged; without it every call is written again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolResultSerializationBenchmark {
+
+    @Param({"1000000", "4000"})
+    public int tokenBudget;
+
+    @Param({"false", "true"})
+    public boolean reuse;
+
+    private Function<SpaceXToolService.GetAllLaunchesRequest, String> getAllLaunches;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        List<Launch> launches = objectMapper.readValue(Fixtures.load(Fixtures.LAUNCHES), new TypeReference<>() {});
+        SpaceXClient spaceXClient = new SpaceXClient("http://localhost") {
+            @Override
+            public List<Launch> getAllLaunches() {
+                return launches;
+            }
+        };
+        ToolResultCompactor compactor = new ToolResultCompactor(objectMapper,
+                new ToolResultProperties(tokenBudget, 4, 200, List.of("links.patch", "capsules", "payloads")),
+                new SimpleMeterRegistry());
+        SerializedResults serializedResults = reuse ? new SerializedResults(null) : new SerializedResults(null) {
+            @Override
+            public <T> T get(String name, Object request, Version version, Writer<T> writer)
+                    throws JsonProcessingException {
+                return writer.write();
+            }
+        };
+        getAllLaunches = new SpaceXToolService(spaceXClient, compactor, new LaunchAnalytics(spaceXClient, null),
+                serializedResults).getAllLaunches();
+    }
+
+    @Benchmark
+    public String fullObjects() {
+        return getAllLaunches.apply(new SpaceXToolService.GetAllLaunchesRequest(
+                null, null, null, null, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public String projected() {
+        return getAllLaunches.apply(new SpaceXToolService.GetAllLaunchesRequest(
+                List.of("name", "date_utc", "success"), null, null, null, null, null, null, null, null));
+    }
+
+    @Benchmark
+    public String filteredPage() {
+        return getAllLaunches.apply(new SpaceXToolService.GetAllLaunchesRequest(
+                List.of("name", "date_utc", "success", "links.webcast"), "2018-01-01", "2020-12-31", true,
+                "5e9d0d95eda69973a809d1ec", null, "-date_utc", 10, 0));
+    }
+}
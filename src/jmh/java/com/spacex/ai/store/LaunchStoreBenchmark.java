@@ -0,0 +1,99 @@
+package com.spacex.ai.store;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.spacex.ai.benchmark.Fixtures;
+import com.spacex.ai.model.Launch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups against the columnar {@link LaunchStore}, each of which materializes the launches it
+ * returns, a tool call's filtered page on the columns and on the materialized launches, and a
+ * rebuild of the index with its aggregates as a full sync does. Run with
+ * {@code -prof gc} to see the allocation of materializing launches on read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LaunchStoreBenchmark {
+
+    private List<Launch> launches;
+    private LaunchStore launchStore;
+    private String rocketId;
+    private String launchId;
+    private LaunchFilter toolFilter;
+
+    @Setup
+    public void setUp() throws IOException {
+        launches = Fixtures.objectMapper().readValue(Fixtures.load(Fixtures.LAUNCHES), new TypeReference<>() {});
+        launchStore = new LaunchStore();
+        launchStore.replaceAll(launches);
+        launchId = launches.get(launches.size() / 2).id();
+        rocketId = launches.get(launches.size() - 1).rocket();
+        toolFilter = new LaunchFilter(LocalDateTime.of(2020, 1, 1, 0, 0), null, true, Set.of(rocketId), null);
+    }
+
+    @Benchmark
+    public Launch byId() {
+        return launchStore.byId(launchId);
+    }
+
+    @Benchmark
+    public void byRocket(Blackhole blackhole) {
+        launchStore.byRocket(rocketId).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void between(Blackhole blackhole) {
+        launchStore.between(LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 23, 59))
+                .forEach(blackhole::consume);
+    }
+
+    /**
+     * The filter of a tool call such as "Falcon 9 launches since 2020, ten at a time", run on the
+     * columns; only the page is materialized.
+     */
+    @Benchmark
+    public List<Launch> filteredPage() {
+        List<Launch> matching = LaunchStore.filter(launchStore.all(), toolFilter);
+        return List.copyOf(matching.subList(0, Math.min(10, matching.size())));
+    }
+
+    /**
+     * The same filter over the launches of the view, as tool calls ran it before.
+     */
+    @Benchmark
+    public List<Launch> filteredPageFromRecords() {
+        return launchStore.all().stream().filter(toolFilter::test).limit(10).toList();
+    }
+
+    @Benchmark
+    public void all(Blackhole blackhole) {
+        launchStore.all().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public LaunchStore replaceAll() {
+        LaunchStore store = new LaunchStore();
+        store.replaceAll(launches);
+        return store;
+    }
+}
@@ -0,0 +1,329 @@
+package com.spacex.ai.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.Launchpad;
+import com.spacex.ai.model.Payload;
+import com.spacex.ai.model.QueryResult;
+import com.spacex.ai.model.Rocket;
+import com.spacex.ai.model.Ship;
+import com.spacex.ai.config.SpaceXHttpConfiguration;
+import com.spacex.ai.config.SpaceXHttpProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Non-blocking access to the SpaceX API.
+ * <p>
+ * This is the transport that {@link SpaceXClient} blocks on; reactive callers can compose it
+ * directly without tying up a thread per request. Collections are returned as {@link Flux},
+ * single resources as {@link Mono}.
+ * <p>
+ * Collection endpoints answer with a top-level JSON array, which is decoded element by element
+ * as the body arrives: each launch is emitted as soon as its closing brace is read, so filters
+ * and projections run during the download, the codec's in-memory limit applies per element
+ * rather than to the whole payload, and cancelling (e.g. {@code take(n)}) closes the connection
+ * without reading the rest of the body.
+ * <p>
+ * GETs are revalidated: the last body of each URI is kept with the {@code ETag} and
+ * {@code Last-Modified} it came with, and the next request for the URI sends them as
+ * {@code If-None-Match} and {@code If-Modified-Since}. An unchanged resource is answered with
+ * 304 Not Modified and the kept elements are emitted again, which saves both the download and
+ * the decoding. Bodies are only kept once decoded to the end. Since the same data also sits in
+ * the response caches, the kept bodies are bounded to {@value #VALIDATED_ELEMENTS} elements in
+ * total (about 2 MB of decoded launches) and dropped {@link #VALIDATED_TTL} after the server
+ * last confirmed them.
+ * <p>
+ * Connection pooling and timeouts are set up in {@link SpaceXHttpConfiguration}; this class
+ * applies the per-resource response timeouts and guards every call with
+ * {@link SpaceXApiResilience}, using one circuit breaker per endpoint.
+ */
+@Component
+public class ReactiveSpaceXClient {
+
+    static final int VALIDATED_ELEMENTS = 1000;
+    static final Duration VALIDATED_TTL = Duration.ofHours(1);
+
+    private final WebClient webClient;
+    @Nullable
+    private final SpaceXHttpProperties properties;
+    @Nullable
+    private final SpaceXApiResilience resilience;
+    @Nullable
+    private final Cache<String, Validated> validated;
+
+    /**
+     * A client with {@link WebClient} defaults, for use outside the application context.
+     */
+    public ReactiveSpaceXClient(String baseUrl) {
+        this(WebClient.builder().baseUrl(baseUrl).build(), null, null);
+    }
+
+    @Autowired
+    public ReactiveSpaceXClient(@Qualifier(SpaceXHttpConfiguration.SPACEX_WEB_CLIENT) WebClient webClient,
+                                @Nullable SpaceXHttpProperties properties,
+                                @Nullable SpaceXApiResilience resilience) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.resilience = resilience;
+        this.validated = properties == null || properties.conditional()
+                ? Caffeine.newBuilder()
+                        .maximumWeight(VALIDATED_ELEMENTS)
+                        .weigher((String key, Validated body) -> Math.max(1, body.body().size()))
+                        .expireAfterWrite(VALIDATED_TTL)
+                        .build()
+                : null;
+    }
+
+    public Flux<Launch> getAllLaunches() {
+        return getList("/launches", Launch.class);
+    }
+
+    public Mono<Launch> getLaunchById(String id) {
+        return getOne("/launches/{id}", Launch.class, id);
+    }
+
+    public Flux<Launch> getUpcomingLaunches() {
+        return getList("/launches/upcoming", Launch.class);
+    }
+
+    public Flux<Launch> getPastLaunches() {
+        return getList("/launches/past", Launch.class);
+    }
+
+    public Mono<Launch> getLatestLaunch() {
+        return getOne("/launches/latest", Launch.class);
+    }
+
+    public Mono<Launch> getNextLaunch() {
+        return getOne("/launches/next", Launch.class);
+    }
+
+    /**
+     * Launches that are upcoming or dated at or after {@code since} (UTC), fetched in a single
+     * request against {@code /launches/query}.
+     */
+    public Flux<Launch> getLaunchesSince(LocalDateTime since) {
+        Map<String, Object> query = Map.of(
+                "query", Map.of("$or", List.of(
+                        Map.of("upcoming", true),
+                        Map.of("date_utc", Map.of("$gte", since.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z"))
+                )),
+                "options", Map.of("pagination", false)
+        );
+        // A read without side effects, so it is retried like the GET endpoints
+        Mono<QueryResult<Launch>> result = webClient.post()
+                .uri("/launches/query")
+                .httpRequest(responseTimeout("/launches/query"))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<>() {});
+        return guard("/launches/query", result).flatMapIterable(QueryResult::docs);
+    }
+
+    public Flux<Launch> getLaunchesByIds(Collection<String> ids) {
+        return queryByIds("/launches/query", Launch.class, ids);
+    }
+
+    public Flux<Rocket> getAllRockets() {
+        return getList("/rockets", Rocket.class);
+    }
+
+    public Mono<Rocket> getRocketById(String id) {
+        return getOne("/rockets/{id}", Rocket.class, id);
+    }
+
+    public Flux<Rocket> getRocketsByIds(Collection<String> ids) {
+        return queryByIds("/rockets/query", Rocket.class, ids);
+    }
+
+    public Flux<Ship> getAllShips() {
+        return getList("/ships", Ship.class);
+    }
+
+    public Mono<Ship> getShipById(String id) {
+        return getOne("/ships/{id}", Ship.class, id);
+    }
+
+    public Flux<Ship> getShipsByIds(Collection<String> ids) {
+        return queryByIds("/ships/query", Ship.class, ids);
+    }
+
+    public Flux<Launchpad> getAllLaunchpads() {
+        return getList("/launchpads", Launchpad.class);
+    }
+
+    public Mono<Launchpad> getLaunchpadById(String id) {
+        return getOne("/launchpads/{id}", Launchpad.class, id);
+    }
+
+    public Flux<Launchpad> getLaunchpadsByIds(Collection<String> ids) {
+        return queryByIds("/launchpads/query", Launchpad.class, ids);
+    }
+
+    public Mono<Payload> getPayloadById(String id) {
+        return getOne("/payloads/{id}", Payload.class, id);
+    }
+
+    public Flux<Payload> getPayloadsByIds(Collection<String> ids) {
+        return queryByIds("/payloads/query", Payload.class, ids);
+    }
+
+    /**
+     * The documents whose id is in {@code ids}, in one request against {@code /<resource>/query}.
+     * Unknown ids are skipped; the order of the result is the API's.
+     */
+    private <T> Flux<T> queryByIds(String uri, Class<T> type, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        Map<String, Object> query = Map.of(
+                "query", Map.of("_id", Map.of("$in", List.copyOf(ids))),
+                "options", Map.of("pagination", false)
+        );
+        ParameterizedTypeReference<QueryResult<T>> resultType = ParameterizedTypeReference.forType(
+                ResolvableType.forClassWithGenerics(QueryResult.class, type).getType());
+        Mono<QueryResult<T>> result = webClient.post()
+                .uri(uri)
+                .httpRequest(responseTimeout(uri))
+                .bodyValue(query)
+                .retrieve()
+                .bodyToMono(resultType);
+        return guard(uri, result).flatMapIterable(QueryResult::docs);
+    }
+
+    private <T> Flux<T> getList(String uri, Class<T> elementType) {
+        Flux<T> list = get(uri, response -> response.bodyToFlux(elementType), uri);
+        return resilience == null ? list : resilience.guard(endpoint(uri), list);
+    }
+
+    private <T> Mono<T> getOne(String uri, Class<T> type, Object... uriVariables) {
+        String key = UriComponentsBuilder.fromPath(uri).buildAndExpand(uriVariables).toUriString();
+        return guard(uri, get(key, response -> response.bodyToMono(type).flux(), uri, uriVariables).next());
+    }
+
+    /**
+     * A GET of {@code uri}, revalidating the body kept for {@code key}, the expanded URI. Error
+     * statuses fail with the same {@code WebClientResponseException} as {@code retrieve()}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Flux<T> get(String key, Function<ClientResponse, Flux<T>> decode, String uri, Object... uriVariables) {
+        return Flux.defer(() -> {
+            Validated previous = validated == null ? null : validated.getIfPresent(key);
+            return webClient.get()
+                    .uri(uri, uriVariables)
+                    .httpRequest(responseTimeout(uri))
+                    .headers(headers -> {
+                        if (previous != null) {
+                            previous.addTo(headers);
+                        }
+                    })
+                    .exchangeToFlux(response -> {
+                        if (previous != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            // Still current, so it is kept for another VALIDATED_TTL
+                            validated.put(key, previous);
+                            return Flux.fromIterable((List<T>) previous.body());
+                        }
+                        if (response.statusCode().isError()) {
+                            return response.<T>createError().flux();
+                        }
+                        return remember(key, response, decode.apply(response));
+                    });
+        });
+    }
+
+    /**
+     * Passes {@code elements} through and, once they are complete, keeps them for {@code key}
+     * if the response carries a validator.
+     */
+    private <T> Flux<T> remember(String key, ClientResponse response, Flux<T> elements) {
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        String etag = headers.getETag();
+        long lastModified = headers.getLastModified();
+        if (validated == null || (etag == null && lastModified < 0)) {
+            return elements;
+        }
+        // A body over the whole bound would be evicted right away, so it is not collected at all
+        List<T> body = new ArrayList<>();
+        return elements
+                .doOnNext(element -> {
+                    if (body.size() <= VALIDATED_ELEMENTS) {
+                        body.add(element);
+                    }
+                })
+                .doOnComplete(() -> {
+                    if (body.size() <= VALIDATED_ELEMENTS) {
+                        validated.put(key, new Validated(etag, lastModified, Collections.unmodifiableList(body)));
+                    }
+                });
+    }
+
+    private <T> Mono<T> guard(String uri, Mono<T> call) {
+        return resilience == null ? call : resilience.guard(endpoint(uri), call);
+    }
+
+    /**
+     * Circuit breaker name for a URI template, e.g. {@code launches.by-id} for {@code /launches/{id}}.
+     */
+    static String endpoint(String uri) {
+        return uri.substring(1).replace("/{id}", ".by-id").replace('/', '.');
+    }
+
+    /**
+     * Overrides the connector's default response timeout with the one configured for the
+     * resource, i.e. the first segment of {@code uri}.
+     */
+    private Consumer<ClientHttpRequest> responseTimeout(String uri) {
+        if (properties == null) {
+            return request -> {};
+        }
+        int end = uri.indexOf('/', 1);
+        Duration timeout = properties.responseTimeoutFor(uri.substring(1, end < 0 ? uri.length() : end));
+        return request -> {
+            if (request.getNativeRequest() instanceof HttpClientRequest nativeRequest) {
+                nativeRequest.responseTimeout(timeout);
+            }
+        };
+    }
+
+    /**
+     * A decoded body with the validators of the response it came from; {@code lastModified} is
+     * epoch milliseconds, or {@code -1} if absent.
+     */
+    private record Validated(@Nullable String etag, long lastModified, List<?> body) {
+
+        void addTo(HttpHeaders headers) {
+            if (etag != null) {
+                headers.setIfNoneMatch(etag);
+            }
+            if (lastModified >= 0) {
+                headers.setIfModifiedSince(lastModified);
+            }
+        }
+    }
+}
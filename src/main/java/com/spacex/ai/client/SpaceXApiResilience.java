@@ -0,0 +1,143 @@
+package com.spacex.ai.client;
+
+import com.spacex.ai.config.SpaceXResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Failure handling around the calls {@link ReactiveSpaceXClient} makes to the SpaceX API.
+ * <p>
+ * From the outside in, every call passes through:
+ * <ul>
+ *   <li>retries with jittered exponential backoff, for failures that may be transient: I/O errors,
+ *       timeouts, {@code 5xx} and {@code 429} responses. Calls rejected by a circuit breaker or the
+ *       bulkhead are not retried, and a list is only retried if it failed before its first element
+ *       so a partly streamed response is never emitted twice;</li>
+ *   <li>a circuit breaker per endpoint, which rejects calls immediately while the endpoint keeps
+ *       failing or answering slowly, and lets a few trial calls through after {@code open-duration};</li>
+ *   <li>a bulkhead shared by all endpoints that bounds the calls in flight.</li>
+ * </ul>
+ * Client errors such as {@code 404} pass straight through and do not count against the circuit.
+ * Circuit and bulkhead state is exported as {@code resilience4j.circuitbreaker.*} and
+ * {@code resilience4j.bulkhead.*}; retries are counted in {@code spacex.api.retries}, tagged by endpoint.
+ */
+public class SpaceXApiResilience {
+
+    private final SpaceXResilienceProperties.Retry retry;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
+
+    public SpaceXApiResilience(SpaceXResilienceProperties properties, MeterRegistry meterRegistry) {
+        SpaceXResilienceProperties.CircuitBreaker circuitBreaker = properties.circuitBreaker();
+        this.retry = properties.retry();
+        this.meterRegistry = meterRegistry;
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(circuitBreaker.failureRateThreshold())
+                .slowCallDurationThreshold(circuitBreaker.slowCallDuration())
+                .slowCallRateThreshold(circuitBreaker.slowCallRateThreshold())
+                .slidingWindowSize(circuitBreaker.slidingWindowSize())
+                .minimumNumberOfCalls(circuitBreaker.minimumCalls())
+                .waitDurationInOpenState(circuitBreaker.openDuration())
+                .permittedNumberOfCallsInHalfOpenState(circuitBreaker.halfOpenCalls())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(SpaceXApiResilience::isTransient)
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.bulkhead().maxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.bulkhead = bulkheads.bulkhead("spacex-api");
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    public <T> Mono<T> guard(String endpoint, Mono<T> call) {
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker(endpoint)))
+                .retryWhen(retrySpec(endpoint, failure -> true));
+    }
+
+    public <T> Flux<T> guard(String endpoint, Flux<T> call) {
+        CircuitBreaker circuitBreaker = circuitBreaker(endpoint);
+        return Flux.defer(() -> {
+            AtomicBoolean emitted = new AtomicBoolean();
+            return call
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .doOnNext(element -> emitted.set(true))
+                    .retryWhen(retrySpec(endpoint, failure -> !emitted.get()));
+        });
+    }
+
+    public CircuitBreaker circuitBreaker(String endpoint) {
+        return circuitBreakers.circuitBreaker(endpoint);
+    }
+
+    /**
+     * Whether {@code failure}, or any of its causes, means the API could not be reached or answer:
+     * a transient failure, an open circuit or a full bulkhead.
+     */
+    public static boolean isUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (isTransient(cause) || cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTransient(Throwable failure) {
+        if (failure instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return failure instanceof WebClientRequestException
+                || failure instanceof IOException
+                || failure instanceof TimeoutException
+                || failure instanceof io.netty.handler.timeout.TimeoutException;
+    }
+
+    private Retry retrySpec(String endpoint, Predicate<Throwable> retryable) {
+        if (retry.maxAttempts() <= 1) {
+            return Retry.max(0);
+        }
+        Counter retries = Counter.builder("spacex.api.retries")
+                .description("Retried SpaceX API calls")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        return Retry.backoff(retry.maxAttempts() - 1, retry.initialBackoff())
+                .maxBackoff(retry.maxBackoff())
+                .jitter(retry.jitter())
+                .filter(failure -> isTransient(failure) && retryable.test(failure))
+                .doBeforeRetry(signal -> retries.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+}
@@ -0,0 +1,198 @@
+package com.spacex.ai.client;
+
+import com.spacex.ai.config.SpaceXBatchProperties;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.LaunchDetails;
+import com.spacex.ai.model.Launchpad;
+import com.spacex.ai.model.Payload;
+import com.spacex.ai.model.Rocket;
+import com.spacex.ai.model.Ship;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * By-id lookups against the SpaceX API, coalesced into batched {@code /<resource>/query} requests.
+ * <p>
+ * Ids requested within {@code window} of the first pending one are collected per resource,
+ * deduplicated and resolved with a single {@code _id $in} query; a batch that reaches
+ * {@code max-size} ids is sent at once. Callers waiting for the same id share one result, and
+ * an id the API does not know completes empty rather than with an error. This turns the fan-out
+ * of resolving a launch's references (see {@link #expand}) into one request per resource.
+ * Batch sizes are recorded in {@code spacex.api.batch.size}, tagged by resource.
+ * <p>
+ * Without properties, or with batching disabled, every id is fetched with its own request.
+ */
+public class SpaceXBatchLoader {
+
+    private final Batcher<Launch> launches;
+    private final Batcher<Rocket> rockets;
+    private final Batcher<Ship> ships;
+    private final Batcher<Launchpad> launchpads;
+    private final Batcher<Payload> payloads;
+
+    public SpaceXBatchLoader(ReactiveSpaceXClient client, @Nullable SpaceXBatchProperties properties,
+                             @Nullable MeterRegistry meterRegistry) {
+        SpaceXBatchProperties batching = properties != null && properties.enabled() ? properties : null;
+        this.launches = new Batcher<>("launches", client::getLaunchById, client::getLaunchesByIds, Launch::id,
+                batching, meterRegistry);
+        this.rockets = new Batcher<>("rockets", client::getRocketById, client::getRocketsByIds, Rocket::id,
+                batching, meterRegistry);
+        this.ships = new Batcher<>("ships", client::getShipById, client::getShipsByIds, Ship::id,
+                batching, meterRegistry);
+        this.launchpads = new Batcher<>("launchpads", client::getLaunchpadById, client::getLaunchpadsByIds,
+                Launchpad::id, batching, meterRegistry);
+        this.payloads = new Batcher<>("payloads", client::getPayloadById, client::getPayloadsByIds, Payload::id,
+                batching, meterRegistry);
+    }
+
+    public Mono<Launch> launch(String id) {
+        return launches.load(id);
+    }
+
+    public Mono<Rocket> rocket(String id) {
+        return rockets.load(id);
+    }
+
+    public Mono<Ship> ship(String id) {
+        return ships.load(id);
+    }
+
+    public Mono<Launchpad> launchpad(String id) {
+        return launchpads.load(id);
+    }
+
+    public Mono<Payload> payload(String id) {
+        return payloads.load(id);
+    }
+
+    /**
+     * {@code launch} with its rocket, launchpad, ships and payloads resolved. All references are
+     * requested at once, so this costs at most one request per resource.
+     */
+    public Mono<LaunchDetails> expand(Launch launch) {
+        return Mono.zip(
+                optional(launch.rocket(), rockets),
+                optional(launch.launchpad(), launchpads),
+                ships.loadAll(launch.ships()),
+                payloads.loadAll(launch.payloads())
+        ).map(resolved -> new LaunchDetails(launch, resolved.getT1().orElse(null), resolved.getT2().orElse(null),
+                resolved.getT3(), resolved.getT4()));
+    }
+
+    private static <T> Mono<Optional<T>> optional(@Nullable String id, Batcher<T> batcher) {
+        if (id == null) {
+            return Mono.just(Optional.empty());
+        }
+        return batcher.load(id).map(Optional::of).defaultIfEmpty(Optional.empty());
+    }
+
+    private static final class Batcher<T> {
+
+        private final Function<String, Mono<T>> single;
+        private final Function<Collection<String>, Flux<T>> batch;
+        private final Function<T, String> idOf;
+        @Nullable
+        private final SpaceXBatchProperties properties;
+        @Nullable
+        private final DistributionSummary sizes;
+        private Map<String, Sinks.One<T>> pending = new LinkedHashMap<>();
+
+        Batcher(String resource, Function<String, Mono<T>> single, Function<Collection<String>, Flux<T>> batch,
+                Function<T, String> idOf, @Nullable SpaceXBatchProperties properties,
+                @Nullable MeterRegistry meterRegistry) {
+            this.single = single;
+            this.batch = batch;
+            this.idOf = idOf;
+            this.properties = properties;
+            this.sizes = meterRegistry == null || properties == null ? null : DistributionSummary
+                    .builder("spacex.api.batch.size")
+                    .description("Ids resolved per batched SpaceX API query")
+                    .tag("resource", resource)
+                    .register(meterRegistry);
+        }
+
+        Mono<T> load(String id) {
+            if (properties == null) {
+                return single.apply(id).onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+            }
+            return Mono.defer(() -> {
+                Sinks.One<T> sink;
+                Map<String, Sinks.One<T>> full = null;
+                boolean first = false;
+                synchronized (this) {
+                    sink = pending.get(id);
+                    if (sink == null) {
+                        sink = Sinks.one();
+                        pending.put(id, sink);
+                        first = pending.size() == 1;
+                        if (pending.size() >= properties.maxSize()) {
+                            full = drain();
+                        }
+                    }
+                }
+                if (full != null) {
+                    dispatch(full);
+                } else if (first) {
+                    Schedulers.parallel().schedule(this::flush, properties.window().toNanos(), TimeUnit.NANOSECONDS);
+                }
+                return sink.asMono();
+            });
+        }
+
+        /**
+         * The documents for {@code ids} in the order given, skipping unknown ones.
+         */
+        Mono<List<T>> loadAll(@Nullable List<String> ids) {
+            if (ids == null || ids.isEmpty()) {
+                return Mono.just(List.of());
+            }
+            return Flux.fromIterable(ids).distinct().flatMapSequential(this::load).collectList();
+        }
+
+        private void flush() {
+            Map<String, Sinks.One<T>> due;
+            synchronized (this) {
+                due = drain();
+            }
+            if (!due.isEmpty()) {
+                dispatch(due);
+            }
+        }
+
+        private Map<String, Sinks.One<T>> drain() {
+            Map<String, Sinks.One<T>> drained = pending;
+            pending = new LinkedHashMap<>();
+            return drained;
+        }
+
+        private void dispatch(Map<String, Sinks.One<T>> due) {
+            if (sizes != null) {
+                sizes.record(due.size());
+            }
+            batch.apply(List.copyOf(due.keySet()))
+                    .collectMap(idOf)
+                    .subscribe(found -> due.forEach((id, sink) -> {
+                        T value = found.get(id);
+                        if (value == null) {
+                            sink.tryEmitEmpty();
+                        } else {
+                            sink.tryEmitValue(value);
+                        }
+                    }), failure -> due.values().forEach(sink -> sink.tryEmitError(failure)));
+        }
+    }
+}
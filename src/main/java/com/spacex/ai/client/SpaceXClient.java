@@ -1,120 +1,207 @@
 package com.spacex.ai.client;
 
+import com.spacex.ai.config.CacheConfiguration;
 import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.LaunchDetails;
 import com.spacex.ai.model.Launchpad;
 import com.spacex.ai.model.Rocket;
 import com.spacex.ai.model.Ship;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import com.spacex.ai.store.LaunchStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Blocking SpaceX API client used by the tool functions and the MCP server.
+ * <p>
+ * Upstream calls go through {@link ReactiveSpaceXClient}; this class adds the read-through
+ * cache and, when enabled, answers launch lookups from the {@link LaunchStore}. By-id lookups
+ * that miss the cache are coalesced with concurrent ones by the {@link SpaceXBatchLoader}; the
+ * references it resolves for a launch's details are cached by id as well. While
+ * the API is unavailable, cached lookups may be answered with last-known-good data; see
+ * {@link #staleAsOf}.
+ */
 @Component
 public class SpaceXClient {
 
-    private final WebClient webClient;
+    private final ReactiveSpaceXClient reactiveClient;
+    private final SpaceXBatchLoader batchLoader;
+    private final LaunchStore launchStore;
+    private final StaleFallback staleFallback;
+    private final CacheManager cacheManager;
+
+    public SpaceXClient(String baseUrl) {
+        this(new ReactiveSpaceXClient(baseUrl), null);
+    }
+
+    public SpaceXClient(String baseUrl, @Nullable LaunchStore launchStore) {
+        this(new ReactiveSpaceXClient(baseUrl), launchStore);
+    }
 
-    public SpaceXClient(@Value("${spacex.api.base-url}") String baseUrl) {
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .build();
+    private SpaceXClient(ReactiveSpaceXClient reactiveClient, @Nullable LaunchStore launchStore) {
+        this(reactiveClient, new SpaceXBatchLoader(reactiveClient, null, null), launchStore, null, null);
     }
 
+    @Autowired
+    public SpaceXClient(ReactiveSpaceXClient reactiveClient, SpaceXBatchLoader batchLoader,
+                        @Nullable LaunchStore launchStore, @Nullable StaleFallback staleFallback,
+                        @Nullable CacheManager cacheManager) {
+        this.reactiveClient = reactiveClient;
+        this.batchLoader = batchLoader;
+        this.launchStore = launchStore;
+        this.staleFallback = staleFallback;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * When {@code value}, as returned by this client, was fetched, if it is last-known-good data
+     * served because the API was unavailable; empty for fresh data.
+     */
+    public Optional<Instant> staleAsOf(@Nullable Object value) {
+        return staleFallback == null ? Optional.empty() : staleFallback.staleAsOf(value);
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.LAUNCHES, sync = true)
     public List<Launch> getAllLaunches() {
-        return webClient.get()
-                .uri("/launches")
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Launch>>() {})
-                .block();
+        if (storeReady()) {
+            return launchStore.all();
+        }
+        return fetchAllLaunches();
+    }
+
+    /**
+     * Downloads the full launch list, bypassing the launch store and the cache.
+     */
+    public List<Launch> fetchAllLaunches() {
+        return reactiveClient.getAllLaunches().collectList().block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.LAUNCH, sync = true)
     public Launch getLaunchById(String id) {
-        return webClient.get()
-                .uri("/launches/{id}", id)
-                .retrieve()
-                .bodyToMono(Launch.class)
-                .block();
+        if (storeReady()) {
+            return launchStore.byId(id);
+        }
+        return batchLoader.launch(id).block();
     }
 
+    /**
+     * A launch with its rocket, launchpad, ships and payloads resolved, or {@code null} for an
+     * unknown id. The references are fetched together, one request per resource, and put in the
+     * caches of {@link #getRocketById}, {@link #getLaunchpadById} and {@link #getShipById}, so
+     * that looking them up again does not fetch them again, and evicting those caches covers them.
+     */
+    @Cacheable(cacheNames = CacheConfiguration.LAUNCH_DETAILS, sync = true)
+    public LaunchDetails getLaunchDetails(String id) {
+        Launch launch = storeReady() ? launchStore.byId(id) : batchLoader.launch(id).block();
+        LaunchDetails details = launch == null ? null : batchLoader.expand(launch).block();
+        if (details != null) {
+            cache(CacheConfiguration.ROCKET, details.rocket() == null ? List.of() : List.of(details.rocket()),
+                    Rocket::id);
+            cache(CacheConfiguration.LAUNCHPAD, details.launchpad() == null ? List.of() : List.of(details.launchpad()),
+                    Launchpad::id);
+            cache(CacheConfiguration.SHIP, details.ships(), Ship::id);
+        }
+        return details;
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.UPCOMING_LAUNCHES, sync = true)
     public List<Launch> getUpcomingLaunches() {
-        return webClient.get()
-                .uri("/launches/upcoming")
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Launch>>() {})
-                .block();
+        if (storeReady()) {
+            return launchStore.upcoming();
+        }
+        return reactiveClient.getUpcomingLaunches().collectList().block();
     }
 
+    /**
+     * Downloads the upcoming launches, bypassing the launch store and the cache. Used to watch
+     * the schedule for changes.
+     */
+    public List<Launch> fetchUpcomingLaunches() {
+        return reactiveClient.getUpcomingLaunches().collectList().block();
+    }
+
+    @Cacheable(cacheNames = CacheConfiguration.PAST_LAUNCHES, sync = true)
     public List<Launch> getPastLaunches() {
-        return webClient.get()
-                .uri("/launches/past")
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Launch>>() {})
-                .block();
+        if (storeReady()) {
+            return launchStore.past();
+        }
+        return reactiveClient.getPastLaunches().collectList().block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.LATEST_LAUNCH, sync = true)
     public Launch getLatestLaunch() {
-        return webClient.get()
-                .uri("/launches/latest")
-                .retrieve()
-                .bodyToMono(Launch.class)
-                .block();
+        if (storeReady()) {
+            return launchStore.latest();
+        }
+        return reactiveClient.getLatestLaunch().block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.NEXT_LAUNCH, sync = true)
     public Launch getNextLaunch() {
-        return webClient.get()
-                .uri("/launches/next")
-                .retrieve()
-                .bodyToMono(Launch.class)
-                .block();
+        if (storeReady()) {
+            return launchStore.next();
+        }
+        return reactiveClient.getNextLaunch().block();
+    }
+
+    /**
+     * Queries launches that are upcoming or dated at or after {@code since} (UTC) in a single
+     * request against {@code /launches/query}. Used for incremental launch store syncs.
+     */
+    public List<Launch> fetchLaunchesSince(LocalDateTime since) {
+        return reactiveClient.getLaunchesSince(since).collectList().block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.ROCKETS, sync = true)
     public List<Rocket> getAllRockets() {
-        return webClient.get()
-                .uri("/rockets")
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Rocket>>() {})
-                .block();
+        return reactiveClient.getAllRockets().collectList().block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.ROCKET, sync = true)
     public Rocket getRocketById(String id) {
-        return webClient.get()
-                .uri("/rockets/{id}", id)
-                .retrieve()
-                .bodyToMono(Rocket.class)
-                .block();
+        return batchLoader.rocket(id).block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.SHIPS, sync = true)
     public List<Ship> getAllShips() {
-        return webClient.get()
-                .uri("/ships")
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Ship>>() {})
-                .block();
+        return reactiveClient.getAllShips().collectList().block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.SHIP, sync = true)
     public Ship getShipById(String id) {
-        return webClient.get()
-                .uri("/ships/{id}", id)
-                .retrieve()
-                .bodyToMono(Ship.class)
-                .block();
+        return batchLoader.ship(id).block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.LAUNCHPADS, sync = true)
     public List<Launchpad> getAllLaunchpads() {
-        return webClient.get()
-                .uri("/launchpads")
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<List<Launchpad>>() {})
-                .block();
+        return reactiveClient.getAllLaunchpads().collectList().block();
     }
 
+    @Cacheable(cacheNames = CacheConfiguration.LAUNCHPAD, sync = true)
     public Launchpad getLaunchpadById(String id) {
-        return webClient.get()
-                .uri("/launchpads/{id}", id)
-                .retrieve()
-                .bodyToMono(Launchpad.class)
-                .block();
+        return batchLoader.launchpad(id).block();
+    }
+
+    private <T> void cache(String cacheName, @Nullable List<T> items, Function<T, String> idOf) {
+        Cache cache = cacheManager == null ? null : cacheManager.getCache(cacheName);
+        if (cache == null || items == null) {
+            return;
+        }
+        for (T item : items) {
+            cache.put(idOf.apply(item), item);
+        }
+    }
+
+    private boolean storeReady() {
+        return launchStore != null && launchStore.isLoaded();
     }
 }
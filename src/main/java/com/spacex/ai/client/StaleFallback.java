@@ -0,0 +1,86 @@
+package com.spacex.ai.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spacex.ai.config.SpaceXResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Last-known-good SpaceX API responses, served while the API is unavailable.
+ * <p>
+ * Every value loaded into one of the {@link com.spacex.ai.config.CacheConfiguration} caches is
+ * remembered for up to {@code max-staleness}. When a later load of the same key fails because
+ * the API is unreachable, erroring or rejected by a circuit breaker or the bulkhead (see
+ * {@link SpaceXApiResilience#isUnavailable}), the remembered value is returned instead of the
+ * error, and {@link StaleFallbackCache} keeps it out of the cache so the next call tries upstream
+ * again. {@link #staleAsOf} tells callers that a value came from here and how old it is.
+ * Values served this way are counted in {@code spacex.api.stale.responses}, tagged by cache.
+ */
+public class StaleFallback {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleFallback.class);
+
+    private final Cache<Key, Snapshot> snapshots;
+    // Weak keys compare by identity, so only the exact instances served stale are marked
+    private final Cache<Object, Instant> served = Caffeine.newBuilder().weakKeys().build();
+    private final MeterRegistry meterRegistry;
+
+    public StaleFallback(SpaceXResilienceProperties.Stale properties, MeterRegistry meterRegistry) {
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.maxStaleness())
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void remember(String cacheName, Object key, @Nullable Object value) {
+        if (value != null) {
+            snapshots.put(new Key(cacheName, key), new Snapshot(value, Instant.now()));
+        }
+    }
+
+    /**
+     * The last-known-good value for {@code key}, if the load failed because the API is unavailable
+     * and one is remembered.
+     */
+    public Optional<Object> recover(String cacheName, Object key, Throwable failure) {
+        if (!SpaceXApiResilience.isUnavailable(failure)) {
+            return Optional.empty();
+        }
+        Snapshot snapshot = snapshots.getIfPresent(new Key(cacheName, key));
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        served.put(snapshot.value(), snapshot.fetchedAt());
+        Counter.builder("spacex.api.stale.responses")
+                .description("SpaceX API responses served from last-known-good data")
+                .tag("cache", cacheName)
+                .register(meterRegistry)
+                .increment();
+        log.warn("SpaceX API unavailable for {} {}, serving data fetched at {}: {}",
+                cacheName, key, snapshot.fetchedAt(), failure.getMessage());
+        return Optional.of(snapshot.value());
+    }
+
+    /**
+     * When {@code value} was fetched, if it was served as last-known-good data; empty for fresh values.
+     */
+    public Optional<Instant> staleAsOf(@Nullable Object value) {
+        return value == null ? Optional.empty() : Optional.ofNullable(served.getIfPresent(value));
+    }
+
+    public org.springframework.cache.Cache wrap(org.springframework.cache.Cache cache) {
+        return new StaleFallbackCache(cache, this);
+    }
+
+    private record Key(String cacheName, Object key) {}
+
+    private record Snapshot(Object value, Instant fetchedAt) {}
+}
@@ -0,0 +1,113 @@
+package com.spacex.ai.client;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that applies {@link StaleFallback} to {@code @Cacheable(sync = true)} loads:
+ * successful loads are remembered, failed loads are answered with the remembered value without
+ * caching it. Every other operation goes straight to the target cache.
+ */
+public class StaleFallbackCache implements Cache {
+
+    private final Cache target;
+    private final StaleFallback fallback;
+
+    public StaleFallbackCache(Cache target, StaleFallback fallback) {
+        this.target = target;
+        this.fallback = fallback;
+    }
+
+    public Cache getTargetCache() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        try {
+            return target.get(key, () -> {
+                T value = valueLoader.call();
+                fallback.remember(getName(), key, value);
+                return value;
+            });
+        } catch (RuntimeException e) {
+            return (T) fallback.recover(getName(), key, e).orElseThrow(() -> e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public CompletableFuture<?> retrieve(Object key) {
+        return target.retrieve(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return target.retrieve(key, () -> valueLoader.get().thenApply(value -> {
+            fallback.remember(getName(), key, value);
+            return value;
+        })).exceptionallyCompose(failure -> fallback.recover(getName(), key, failure)
+                .map(value -> CompletableFuture.completedFuture((T) value))
+                .orElseGet(() -> CompletableFuture.failedFuture(failure)));
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        target.put(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        return target.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return target.invalidate();
+    }
+}
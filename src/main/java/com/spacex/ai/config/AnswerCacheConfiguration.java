@@ -0,0 +1,33 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.service.AnswerCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+
+/**
+ * Wires the {@link AnswerCache} in front of the {@code /api/ask} endpoints.
+ * Disable with {@code spacex.answer-cache.enabled=false} to send every question to the model.
+ */
+@Configuration
+@EnableConfigurationProperties(AnswerCacheProperties.class)
+public class AnswerCacheConfiguration {
+
+    @Bean
+    public AnswerCache answerCache(AnswerCacheProperties properties, SpaceXCacheProperties cacheProperties,
+                                   ObjectProvider<EmbeddingModel> embeddingModel, MeterRegistry meterRegistry) {
+        Function<String, float[]> embedder = null;
+        if (properties.similarity().enabled()) {
+            embedder = switch (properties.similarity().embedding()) {
+                case LOCAL -> AnswerCache.localEmbedder();
+                case MODEL -> embeddingModel.getObject()::embed;
+            };
+        }
+        return new AnswerCache(properties, cacheProperties, embedder, meterRegistry);
+    }
+}
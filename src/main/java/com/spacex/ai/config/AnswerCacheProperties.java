@@ -0,0 +1,39 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the {@code /api/ask} answer cache.
+ *
+ * @param enabled     serve repeated questions from the cache
+ * @param maximumSize maximum number of cached answers
+ * @param defaultTtl  lifetime of answers that did not use any SpaceX data
+ * @param similarity  optional near-duplicate matching
+ */
+@ConfigurationProperties(prefix = "spacex.answer-cache")
+public record AnswerCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1000") long maximumSize,
+    @DefaultValue("10m") Duration defaultTtl,
+    @DefaultValue Similarity similarity
+) {
+
+    /**
+     * @param enabled   also answer questions whose embedding is close to a cached one
+     * @param threshold minimum cosine similarity for a match
+     * @param embedding {@code local} hashes question terms in-process; {@code model} uses the
+     *                  configured Spring AI embedding model (better recall, one extra call per lookup)
+     */
+    public record Similarity(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.9") double threshold,
+        @DefaultValue("local") Embedding embedding
+    ) {}
+
+    public enum Embedding {
+        LOCAL, MODEL
+    }
+}
@@ -1,14 +1,71 @@
 package com.spacex.ai.config;
 
+import com.spacex.ai.service.SpaceXToolCallingManager;
+import com.spacex.ai.service.SpaceXToolService;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
 
 @Configuration
+@EnableConfigurationProperties(ToolResultProperties.class)
 public class AnthropicConfiguration {
 
     @Bean
-    public ChatClient chatClient(ChatClient.Builder builder) {
-        return builder.build();
+    public ChatClient chatClient(ChatClient.Builder builder, SpaceXToolService toolService) {
+        return builder
+                .defaultTools(toolService.toolCallbacks().toArray(FunctionCallback[]::new))
+                .build();
+    }
+
+    @Bean
+    public ToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver,
+                                                 ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
+                                                 ObjectProvider<ObservationRegistry> observationRegistry,
+                                                 @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                                 AsyncTaskExecutor toolExecutor,
+                                                 @Value("${spacex.tools.call-timeout:30s}") Duration callTimeout) {
+        ObservationRegistry registry = observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP);
+        return new SpaceXToolCallingManager(ToolCallingManager.builder()
+                .observationRegistry(registry)
+                .toolCallbackResolver(toolCallbackResolver)
+                .toolExecutionExceptionProcessor(toolExecutionExceptionProcessor)
+                .build(), toolExecutor, callTimeout, registry);
+    }
+
+    /**
+     * Moves streamed model responses off the Reactor Netty event loop. Spring AI executes the tool
+     * calls of a streamed completion inside the response stream, and {@link SpaceXToolCallingManager}
+     * waits for them; on an event loop that would stall every connection the loop serves, including
+     * the SpaceX API requests the tools make. Other responses, such as the SpaceX API's JSON, are
+     * left on the event loop.
+     */
+    @Bean
+    public WebClientCustomizer modelStreamOffloading() {
+        return builder -> builder.filter(offloadEventStreams(Schedulers.boundedElastic()));
+    }
+
+    static ExchangeFilterFunction offloadEventStreams(Scheduler scheduler) {
+        return (request, next) -> next.exchange(request).map(response -> response.headers().contentType()
+                .filter(MediaType.TEXT_EVENT_STREAM::isCompatibleWith)
+                .map(eventStream -> response.mutate().body(body -> body.publishOn(scheduler)).build())
+                .orElse(response));
     }
 }
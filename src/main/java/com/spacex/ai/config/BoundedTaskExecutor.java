@@ -0,0 +1,53 @@
+package com.spacex.ai.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the tasks of an unbounded executor that run at once, rejecting the ones over the limit.
+ * <p>
+ * {@link org.springframework.core.task.SimpleAsyncTaskExecutor#setConcurrencyLimit(int)} makes
+ * {@code execute} wait for a free slot instead, which stalls the thread submitting the tasks.
+ * Here a full executor throws {@link TaskRejectedException} right away, as a thread pool with a
+ * full queue does, so the submitter can answer "busy" and keep serving.
+ */
+public class BoundedTaskExecutor implements TaskExecutor, AutoCloseable {
+
+    private final TaskExecutor delegate;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    public BoundedTaskExecutor(TaskExecutor delegate, int maxConcurrency) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException("Executor " + delegate + " already runs " + maxConcurrency + " tasks");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.spacex.ai.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spacex.ai.client.StaleFallback;
+import com.spacex.ai.client.StaleFallbackCache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+
+/**
+ * Read-through caching for {@link com.spacex.ai.client.SpaceXClient}.
+ * <p>
+ * Every upstream resource gets its own bounded Caffeine cache so that fast-moving data
+ * (next/upcoming launches) can expire quickly while rockets and launchpads stay cached
+ * for hours. Statistics are recorded so that hit, miss and eviction counts show up
+ * under the {@code cache.*} meters of the actuator {@code metrics} endpoint.
+ * <p>
+ * With virtual threads enabled the caches run in async mode and load on virtual threads:
+ * a synchronous Caffeine load executes inside {@code ConcurrentHashMap.compute}, which holds a
+ * monitor for the whole upstream round trip and pins the carrier thread.
+ * <p>
+ * When {@link StaleFallback} is enabled each cache is wrapped in a {@link StaleFallbackCache},
+ * so a failed load can be answered with the last value fetched for its key.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(SpaceXCacheProperties.class)
+public class CacheConfiguration {
+
+    public static final String LAUNCHES = "launches";
+    public static final String LAUNCH = "launch";
+    public static final String LAUNCH_DETAILS = "launch-details";
+    public static final String UPCOMING_LAUNCHES = "launches-upcoming";
+    public static final String PAST_LAUNCHES = "launches-past";
+    public static final String LATEST_LAUNCH = "launch-latest";
+    public static final String NEXT_LAUNCH = "launch-next";
+    public static final String ROCKETS = "rockets";
+    public static final String ROCKET = "rocket";
+    public static final String SHIPS = "ships";
+    public static final String SHIP = "ship";
+    public static final String LAUNCHPADS = "launchpads";
+    public static final String LAUNCHPAD = "launchpad";
+
+    public static final List<String> CACHE_NAMES = List.of(
+            LAUNCHES, LAUNCH, LAUNCH_DETAILS, UPCOMING_LAUNCHES, PAST_LAUNCHES, LATEST_LAUNCH, NEXT_LAUNCH,
+            ROCKETS, ROCKET, SHIPS, SHIP, LAUNCHPADS, LAUNCHPAD
+    );
+
+    @Bean
+    public CacheManager cacheManager(SpaceXCacheProperties properties, Environment environment,
+                                     ObjectProvider<StaleFallback> staleFallback) {
+        StaleFallback fallback = staleFallback.getIfAvailable();
+        CaffeineCacheManager cacheManager = fallback == null ? new CaffeineCacheManager() : new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return fallback.wrap(super.adaptCaffeineCache(name, cache));
+            }
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                return fallback.wrap(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        SimpleAsyncTaskExecutor loader = null;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            loader = new SimpleAsyncTaskExecutor("spacex-cache-");
+            loader.setVirtualThreads(true);
+        }
+
+        for (String name : CACHE_NAMES) {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumSize(properties.maximumSize())
+                    .expireAfterWrite(properties.ttlFor(name))
+                    .recordStats();
+            if (loader != null) {
+                cacheManager.registerCustomCache(name, builder.executor(loader).buildAsync());
+            } else {
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Keeps the {@code cache.*} meters for caches wrapped in a {@link StaleFallbackCache}.
+     */
+    @Bean
+    public CacheMeterBinderProvider<StaleFallbackCache> staleFallbackCacheMeterBinderProvider() {
+        CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+        return (cache, tags) -> cache.getTargetCache() instanceof CaffeineCache target
+                ? caffeine.getMeterBinder(target, tags)
+                : null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.store.LaunchStore;
+import com.spacex.ai.store.LaunchStoreSynchronizer;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Wires the in-process {@link LaunchStore} and its background sync.
+ * Disable with {@code spacex.store.enabled=false} to send every launch lookup upstream.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(LaunchStoreProperties.class)
+@ConditionalOnProperty(prefix = "spacex.store", name = "enabled", matchIfMissing = true)
+public class LaunchStoreConfiguration {
+
+    @Bean
+    public LaunchStore launchStore() {
+        return new LaunchStore();
+    }
+
+    @Bean
+    public LaunchStoreSynchronizer launchStoreSynchronizer(LaunchStore launchStore, SpaceXClient spaceXClient,
+                                                           CacheManager cacheManager,
+                                                           LaunchStoreProperties properties,
+                                                           ApplicationEventPublisher eventPublisher) {
+        return new LaunchStoreSynchronizer(launchStore, spaceXClient, cacheManager, properties, eventPublisher);
+    }
+
+    /**
+     * Created even with lazy initialization, since it schedules itself rather than waiting to be called.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter launchStoreSynchronizerEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(LaunchStoreSynchronizer.class);
+    }
+}
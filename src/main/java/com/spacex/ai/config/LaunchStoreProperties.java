@@ -0,0 +1,22 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process launch store.
+ *
+ * @param enabled           serve launch lookups from the local store instead of separate upstream calls
+ * @param refreshInterval   delay between background syncs
+ * @param incrementalWindow how far back an incremental sync re-reads past launches
+ * @param fullSyncInterval  how often the whole dataset is re-downloaded instead of an incremental sync
+ */
+@ConfigurationProperties(prefix = "spacex.store")
+public record LaunchStoreProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("5m") Duration refreshInterval,
+    @DefaultValue("7d") Duration incrementalWindow,
+    @DefaultValue("6h") Duration fullSyncInterval
+) {}
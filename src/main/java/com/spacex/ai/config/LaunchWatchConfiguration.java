@@ -0,0 +1,41 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.store.LaunchStoreSynchronizer;
+import com.spacex.ai.store.UpcomingLaunchWatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Wires the {@link UpcomingLaunchWatcher}, which syncs the launch store when there is one.
+ * Disable with {@code spacex.watch.enabled=false} to stop polling the upcoming schedule.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(LaunchWatchProperties.class)
+@ConditionalOnProperty(prefix = "spacex.watch", name = "enabled", matchIfMissing = true)
+public class LaunchWatchConfiguration {
+
+    @Bean
+    public UpcomingLaunchWatcher upcomingLaunchWatcher(SpaceXClient spaceXClient, CacheManager cacheManager,
+                                                       ApplicationEventPublisher eventPublisher,
+                                                       ObjectProvider<LaunchStoreSynchronizer> launchStoreSynchronizer) {
+        return new UpcomingLaunchWatcher(spaceXClient, cacheManager, eventPublisher,
+                launchStoreSynchronizer.getIfAvailable());
+    }
+
+    /**
+     * Created even with lazy initialization, since it schedules itself rather than waiting to be called.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter upcomingLaunchWatcherEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(UpcomingLaunchWatcher.class);
+    }
+}
@@ -0,0 +1,18 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for watching the upcoming launch schedule for changes.
+ *
+ * @param enabled  poll {@code /launches/upcoming} and push changes to SSE and MCP subscribers
+ * @param interval delay between polls
+ */
+@ConfigurationProperties(prefix = "spacex.watch")
+public record LaunchWatchProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1m") Duration interval
+) {}
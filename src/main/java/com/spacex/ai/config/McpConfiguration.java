@@ -0,0 +1,52 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for {@link com.spacex.ai.mcp.McpToolServer} tool calls.
+ * <p>
+ * The stdio reader hands every request to this executor and goes straight back to reading, so
+ * the executor bounds how many upstream calls one MCP client can have in flight. Requests over
+ * the bound are rejected and answered as busy in both modes.
+ */
+@Configuration
+@EnableConfigurationProperties(McpProperties.class)
+public class McpConfiguration {
+
+    public static final String MCP_TOOL_EXECUTOR = "mcpToolExecutor";
+
+    @Bean(name = MCP_TOOL_EXECUTOR)
+    public TaskExecutor mcpToolExecutor(McpProperties properties, Environment environment) {
+        McpProperties.Executor settings = properties.executor();
+        boolean virtual = switch (settings.mode()) {
+            case VIRTUAL -> true;
+            case BOUNDED -> false;
+            case AUTO -> Threading.VIRTUAL.isActive(environment);
+        };
+
+        if (virtual) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mcp-tool-");
+            executor.setVirtualThreads(true);
+            executor.setTaskTerminationTimeout(5_000);
+            // Rejects over the limit rather than blocking the reader, which must stay free for cancellations
+            return new BoundedTaskExecutor(executor, settings.maxConcurrency());
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("mcp-tool-");
+        executor.setCorePoolSize(settings.maxConcurrency());
+        executor.setMaxPoolSize(settings.maxConcurrency());
+        executor.setQueueCapacity(settings.queueCapacity());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(5);
+        return executor;
+    }
+}
@@ -0,0 +1,31 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the MCP tool server.
+ *
+ * @param executor how concurrently dispatched tool calls are executed
+ */
+@ConfigurationProperties(prefix = "spacex.mcp")
+public record McpProperties(
+    @DefaultValue Executor executor
+) {
+
+    /**
+     * @param mode           {@code virtual} runs every call on its own virtual thread, {@code bounded} on a
+     *                       fixed platform-thread pool, {@code auto} follows {@code spring.threads.virtual.enabled}
+     * @param maxConcurrency maximum number of tool calls running at once
+     * @param queueCapacity  calls waiting for a {@code bounded} pool thread before new requests are rejected
+     */
+    public record Executor(
+        @DefaultValue("auto") Mode mode,
+        @DefaultValue("16") int maxConcurrency,
+        @DefaultValue("256") int queueCapacity
+    ) {}
+
+    public enum Mode {
+        AUTO, VIRTUAL, BOUNDED
+    }
+}
@@ -0,0 +1,22 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.client.ReactiveSpaceXClient;
+import com.spacex.ai.client.SpaceXBatchLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Batched by-id lookups against the SpaceX API; see {@link SpaceXBatchLoader}.
+ */
+@Configuration
+@EnableConfigurationProperties(SpaceXBatchProperties.class)
+public class SpaceXBatchConfiguration {
+
+    @Bean
+    public SpaceXBatchLoader spaceXBatchLoader(ReactiveSpaceXClient reactiveClient, SpaceXBatchProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new SpaceXBatchLoader(reactiveClient, properties, meterRegistry);
+    }
+}
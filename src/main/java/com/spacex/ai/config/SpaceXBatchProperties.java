@@ -0,0 +1,21 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Coalescing of by-id lookups into {@code /<resource>/query} requests; see
+ * {@link com.spacex.ai.client.SpaceXBatchLoader}.
+ *
+ * @param enabled batch lookups; when off every id is fetched with its own request
+ * @param window  how long the first id of a batch waits for others to join it
+ * @param maxSize ids per batch; a full batch is sent without waiting for the window
+ */
+@ConfigurationProperties(prefix = "spacex.api.batch")
+public record SpaceXBatchProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("2ms") Duration window,
+    @DefaultValue("100") int maxSize
+) {}
@@ -0,0 +1,28 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the in-memory cache in front of the SpaceX API.
+ *
+ * @param maximumSize maximum number of entries held per cache
+ * @param defaultTtl  time-to-live for caches without an explicit entry in {@code ttl}
+ * @param ttl         per-cache time-to-live, keyed by cache name (see {@link CacheConfiguration})
+ */
+@ConfigurationProperties(prefix = "spacex.cache")
+public record SpaceXCacheProperties(
+    @DefaultValue("500") long maximumSize,
+    @DefaultValue("10m") Duration defaultTtl,
+    Map<String, Duration> ttl
+) {
+    public Duration ttlFor(String cacheName) {
+        if (ttl == null) {
+            return defaultTtl;
+        }
+        return ttl.getOrDefault(cacheName, defaultTtl);
+    }
+}
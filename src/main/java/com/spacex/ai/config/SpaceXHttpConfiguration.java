@@ -0,0 +1,113 @@
+package com.spacex.ai.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The HTTP connection layer for {@link com.spacex.ai.client.ReactiveSpaceXClient}.
+ * <p>
+ * Connections come from a dedicated, bounded Reactor Netty pool: requests beyond
+ * {@code pool.max-connections} wait for a connection, at most {@code pool.max-pending} of them
+ * and for at most {@code pool.acquire-timeout}, so a slow upstream fails fast instead of
+ * collecting unbounded waiters. Idle connections are kept alive and reused, which saves a TLS
+ * handshake per request, and are evicted in the background before the server would drop them.
+ * <p>
+ * The client is built from the Boot-configured {@link WebClient.Builder}, so requests are
+ * recorded in {@code http.client.requests}; pool usage (active, idle, pending connections and
+ * acquire time) is exported as {@code reactor.netty.connection.provider.*}. Response body sizes,
+ * after decompression, are recorded in {@code spacex.api.response.size}, tagged with the same
+ * {@code uri} template.
+ */
+@Configuration
+@EnableConfigurationProperties(SpaceXHttpProperties.class)
+public class SpaceXHttpConfiguration {
+
+    public static final String SPACEX_WEB_CLIENT = "spaceXWebClient";
+    public static final String RESPONSE_SIZE = "spacex.api.response.size";
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider spaceXConnectionProvider(SpaceXHttpProperties properties) {
+        SpaceXHttpProperties.Pool pool = properties.pool();
+        return ConnectionProvider.builder("spacex-api")
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.maxPending())
+                .pendingAcquireTimeout(pool.acquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictInterval())
+                .metrics(pool.metrics())
+                .build();
+    }
+
+    @Bean(SPACEX_WEB_CLIENT)
+    public WebClient spaceXWebClient(WebClient.Builder builder, ConnectionProvider spaceXConnectionProvider,
+                                     SpaceXHttpProperties properties, ObjectProvider<MeterRegistry> meterRegistry,
+                                     @Value("${spacex.api.base-url}") String baseUrl) {
+        long readTimeoutMillis = properties.readTimeout().toMillis();
+        HttpClient httpClient = HttpClient.create(spaceXConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.connectTimeout().toMillis()))
+                .responseTimeout(properties.responseTimeout())
+                // Per request rather than per connection: pooled connections are reused, and the
+                // handler is removed again when the connection goes back to the pool
+                .doOnRequest((request, connection) -> connection.addHandlerLast(
+                        new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS)))
+                .compress(properties.compression());
+        if (properties.http2() && baseUrl.startsWith("https:")) {
+            // Negotiated through ALPN; servers without HTTP/2 get HTTP/1.1 on the same pool
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        WebClient.Builder configured = builder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            configured.filter(responseSize(registry));
+        }
+        return configured.build();
+    }
+
+    /**
+     * Counts the body bytes of each response as they are decoded; bodies that are not read to the
+     * end are not recorded.
+     */
+    static ExchangeFilterFunction responseSize(MeterRegistry registry) {
+        return (request, next) -> next.exchange(request).map(response -> {
+            String uri = request.attribute(URI_TEMPLATE_ATTRIBUTE).map(String::valueOf).orElse("none");
+            AtomicLong bytes = new AtomicLong();
+            // exchangeToFlux subscribes to the body once more to release it after it was read
+            AtomicBoolean recorded = new AtomicBoolean();
+            return response.mutate()
+                    .body(body -> body
+                            .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                            .doOnComplete(() -> {
+                                if (recorded.compareAndSet(false, true)) {
+                                    DistributionSummary.builder(RESPONSE_SIZE)
+                                            .baseUnit("bytes")
+                                            .tag("uri", uri)
+                                            .register(registry)
+                                            .record(bytes.get());
+                                }
+                            }))
+                    .build();
+        });
+    }
+}
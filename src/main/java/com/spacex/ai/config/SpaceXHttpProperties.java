@@ -0,0 +1,61 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * HTTP connection settings for the SpaceX API client.
+ *
+ * @param connectTimeout   time allowed to establish a TCP (and TLS) connection
+ * @param responseTimeout  time allowed between sending a request and receiving the response headers,
+ *                         for resources without an entry in {@code responseTimeouts}
+ * @param responseTimeouts per-resource response timeout, keyed by the first path segment
+ *                         ({@code launches}, {@code rockets}, {@code ships}, {@code launchpads})
+ * @param readTimeout      maximum time without receiving any bytes on an open connection
+ * @param compression      request gzip-compressed responses and decompress them
+ * @param http2            negotiate HTTP/2 over TLS, falling back to HTTP/1.1
+ * @param conditional      revalidate GETs with {@code If-None-Match} / {@code If-Modified-Since}, keeping the
+ *                         last body of each so a 304 Not Modified answer is served from it
+ * @param pool             connection pool sizing and eviction
+ */
+@ConfigurationProperties(prefix = "spacex.api.http")
+public record SpaceXHttpProperties(
+    @DefaultValue("2s") Duration connectTimeout,
+    @DefaultValue("10s") Duration responseTimeout,
+    Map<String, Duration> responseTimeouts,
+    @DefaultValue("30s") Duration readTimeout,
+    @DefaultValue("true") boolean compression,
+    @DefaultValue("true") boolean http2,
+    @DefaultValue("true") boolean conditional,
+    @DefaultValue Pool pool
+) {
+
+    public Duration responseTimeoutFor(String resource) {
+        if (responseTimeouts == null) {
+            return responseTimeout;
+        }
+        return responseTimeouts.getOrDefault(resource, responseTimeout);
+    }
+
+    /**
+     * @param maxConnections  connections open to the API at once
+     * @param maxPending      requests waiting for a connection before new ones fail fast
+     * @param acquireTimeout  time a request may wait for a connection
+     * @param maxIdleTime     idle connections are closed after this long, before the server drops them
+     * @param maxLifeTime     connections are retired after this long, so DNS changes are picked up
+     * @param evictInterval   how often idle and expired connections are closed in the background
+     * @param metrics         export {@code reactor.netty.connection.provider.*} pool meters
+     */
+    public record Pool(
+        @DefaultValue("50") int maxConnections,
+        @DefaultValue("100") int maxPending,
+        @DefaultValue("5s") Duration acquireTimeout,
+        @DefaultValue("30s") Duration maxIdleTime,
+        @DefaultValue("10m") Duration maxLifeTime,
+        @DefaultValue("30s") Duration evictInterval,
+        @DefaultValue("true") boolean metrics
+    ) {}
+}
@@ -0,0 +1,29 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.client.SpaceXApiResilience;
+import com.spacex.ai.client.StaleFallback;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Retries, circuit breakers, bulkhead and stale-on-error serving for SpaceX API calls; see
+ * {@link SpaceXApiResilience} and {@link StaleFallback}.
+ */
+@Configuration
+@EnableConfigurationProperties(SpaceXResilienceProperties.class)
+public class SpaceXResilienceConfiguration {
+
+    @Bean
+    public SpaceXApiResilience spaceXApiResilience(SpaceXResilienceProperties properties, MeterRegistry meterRegistry) {
+        return new SpaceXApiResilience(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "spacex.api.resilience.stale", name = "enabled", matchIfMissing = true)
+    public StaleFallback staleFallback(SpaceXResilienceProperties properties, MeterRegistry meterRegistry) {
+        return new StaleFallback(properties.stale(), meterRegistry);
+    }
+}
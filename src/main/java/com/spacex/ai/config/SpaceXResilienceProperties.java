@@ -0,0 +1,73 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Failure handling for SpaceX API calls.
+ *
+ * @param retry          retries of failed reads
+ * @param circuitBreaker per-endpoint circuit breakers
+ * @param bulkhead       limit on concurrent upstream calls
+ * @param stale          serving last-known-good data while the API is unavailable
+ */
+@ConfigurationProperties(prefix = "spacex.api.resilience")
+public record SpaceXResilienceProperties(
+    @DefaultValue Retry retry,
+    @DefaultValue CircuitBreaker circuitBreaker,
+    @DefaultValue Bulkhead bulkhead,
+    @DefaultValue Stale stale
+) {
+
+    /**
+     * @param maxAttempts    attempts per call including the first; {@code 1} disables retries
+     * @param initialBackoff delay before the first retry, doubled for each further one
+     * @param maxBackoff     upper bound for the delay
+     * @param jitter         random share of each delay, from {@code 0} (none) to {@code 1}
+     */
+    public record Retry(
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("200ms") Duration initialBackoff,
+        @DefaultValue("2s") Duration maxBackoff,
+        @DefaultValue("0.5") double jitter
+    ) {}
+
+    /**
+     * @param failureRateThreshold  percentage of failed calls that opens the circuit
+     * @param slowCallDuration      calls slower than this count as slow
+     * @param slowCallRateThreshold percentage of slow calls that opens the circuit
+     * @param slidingWindowSize     number of recent calls the rates are computed over
+     * @param minimumCalls          calls needed before the rates are evaluated
+     * @param openDuration          time an open circuit rejects calls before letting trial calls through
+     * @param halfOpenCalls         trial calls that decide whether the circuit closes again
+     */
+    public record CircuitBreaker(
+        @DefaultValue("50") float failureRateThreshold,
+        @DefaultValue("5s") Duration slowCallDuration,
+        @DefaultValue("80") float slowCallRateThreshold,
+        @DefaultValue("20") int slidingWindowSize,
+        @DefaultValue("10") int minimumCalls,
+        @DefaultValue("30s") Duration openDuration,
+        @DefaultValue("3") int halfOpenCalls
+    ) {}
+
+    /**
+     * @param maxConcurrentCalls upstream calls in flight at once; further calls fail immediately
+     */
+    public record Bulkhead(
+        @DefaultValue("50") int maxConcurrentCalls
+    ) {}
+
+    /**
+     * @param enabled      answer from the last successful response when a call fails
+     * @param maxStaleness how old that response may be
+     * @param maximumSize  maximum number of responses kept
+     */
+    public record Stale(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("24h") Duration maxStaleness,
+        @DefaultValue("1000") long maximumSize
+    ) {}
+}
@@ -0,0 +1,63 @@
+package com.spacex.ai.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacex.ai.client.ReactiveSpaceXClient;
+import com.spacex.ai.store.LaunchStore;
+import com.spacex.ai.store.SpaceXSnapshotter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Warm startup: the on-disk {@link SpaceXSnapshotter}, enabled by setting
+ * {@code spacex.snapshot.path}, and the {@code launchStore} health indicator that keeps the
+ * readiness probe down until launches are loaded, from a snapshot or the first sync.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SpaceXSnapshotProperties.class)
+public class SpaceXSnapshotConfiguration {
+
+    /**
+     * Always defined, and idle without a path, rather than conditional on the property: AOT-processed
+     * builds fix bean conditions at build time, and the path is usually only known at runtime.
+     */
+    @Bean
+    public SpaceXSnapshotter spaceXSnapshotter(SpaceXSnapshotProperties properties, ObjectMapper objectMapper,
+                                               ObjectProvider<LaunchStore> launchStore,
+                                               ReactiveSpaceXClient reactiveClient, CacheManager cacheManager) {
+        return new SpaceXSnapshotter(properties.path(), properties.maxAge(), objectMapper,
+                launchStore.getIfAvailable(), reactiveClient, cacheManager);
+    }
+
+    @Bean
+    public HealthIndicator launchStoreHealthIndicator(ObjectProvider<LaunchStore> launchStore) {
+        return () -> {
+            LaunchStore store = launchStore.getIfAvailable();
+            if (store == null) {
+                return Health.up().withDetail("enabled", false).build();
+            }
+            if (!store.isLoaded()) {
+                return Health.outOfService().withDetail("launches", "not loaded yet").build();
+            }
+            return Health.up()
+                    .withDetail("launches", store.size())
+                    .withDetail("lastSync", String.valueOf(store.lastSync()))
+                    .build();
+        };
+    }
+
+    /**
+     * Created even with lazy initialization, since the snapshot is restored during startup.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter spaceXSnapshotterEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SpaceXSnapshotter.class);
+    }
+}
@@ -0,0 +1,21 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the on-disk snapshot of the SpaceX datasets.
+ *
+ * @param path     snapshot file; snapshots are off unless this is set
+ * @param interval how often the snapshot is rewritten, if the data changed
+ * @param maxAge   older snapshots are not restored
+ */
+@ConfigurationProperties(prefix = "spacex.snapshot")
+public record SpaceXSnapshotProperties(
+    Path path,
+    @DefaultValue("10m") Duration interval,
+    @DefaultValue("7d") Duration maxAge
+) {}
@@ -0,0 +1,22 @@
+package com.spacex.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings for compacting AI tool results before they are added to the prompt.
+ *
+ * @param tokenBudget     estimated tokens a single tool result may use before it is compacted
+ * @param charsPerToken   characters of JSON counted as one token when estimating
+ * @param maxStringLength longer strings (such as launch {@code details}) are cut when compacting
+ * @param lowValueFields  JSON properties, dotted for nested values, dropped when compacting
+ */
+@ConfigurationProperties(prefix = "spacex.tools.result")
+public record ToolResultProperties(
+    @DefaultValue("4000") int tokenBudget,
+    @DefaultValue("4") int charsPerToken,
+    @DefaultValue("200") int maxStringLength,
+    @DefaultValue({"links.patch", "capsules", "payloads"}) List<String> lowValueFields
+) {}
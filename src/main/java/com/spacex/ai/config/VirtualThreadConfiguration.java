@@ -0,0 +1,49 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.diagnostics.PinningEndpoint;
+import com.spacex.ai.diagnostics.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Pinning diagnostics for the virtual-thread execution mode.
+ * <p>
+ * The mode itself is Spring Boot's {@code spring.threads.virtual.enabled=true} (Java 21+): Tomcat
+ * request handling, the MCP tool executor (in {@code auto} mode) and the cache loaders
+ * then all run on virtual threads. This configuration adds the runtime detection of code that
+ * pins carriers or contends on monitors; disable it with
+ * {@code spacex.diagnostics.pinning.enabled=false}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "spacex.diagnostics.pinning", name = "enabled", matchIfMissing = true)
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${spacex.diagnostics.pinning.threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+
+    @Bean
+    public PinningEndpoint pinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        return new PinningEndpoint(monitor);
+    }
+
+    /**
+     * Created even with lazy initialization, since it starts recording when created rather than waiting to be called.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter pinningMonitorEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(VirtualThreadPinningMonitor.class);
+    }
+}
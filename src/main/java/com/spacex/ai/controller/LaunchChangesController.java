@@ -0,0 +1,43 @@
+package com.spacex.ai.controller;
+
+import com.spacex.ai.store.UpcomingLaunchWatcher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Pushes changes to the upcoming launch schedule to {@code /api/launches/changes} as Server-Sent
+ * Events of type {@code launches}, one per poll that found changes (see
+ * {@link com.spacex.ai.store.LaunchChanges}). A comment is sent every {@value #KEEPALIVE_SECONDS}
+ * seconds so proxies do not close the idle connection.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "spacex.watch", name = "enabled", matchIfMissing = true)
+public class LaunchChangesController {
+
+    static final long KEEPALIVE_SECONDS = 30;
+
+    private final UpcomingLaunchWatcher upcomingLaunchWatcher;
+
+    public LaunchChangesController(UpcomingLaunchWatcher upcomingLaunchWatcher) {
+        this.upcomingLaunchWatcher = upcomingLaunchWatcher;
+    }
+
+    @GetMapping(value = "/launches/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> changes() {
+        Flux<ServerSentEvent<Object>> changes = upcomingLaunchWatcher.changes()
+                .map(detected -> ServerSentEvent.builder((Object) detected).event("launches").build());
+        Flux<ServerSentEvent<Object>> keepalive = Flux.interval(Duration.ofSeconds(KEEPALIVE_SECONDS))
+                .map(tick -> ServerSentEvent.builder().comment("keepalive").build());
+        return Flux.merge(changes, keepalive);
+    }
+}
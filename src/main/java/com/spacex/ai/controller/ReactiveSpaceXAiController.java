@@ -0,0 +1,104 @@
+package com.spacex.ai.controller;
+
+import com.spacex.ai.controller.SpaceXAiController.AskRequest;
+import com.spacex.ai.service.AnswerCache;
+import com.spacex.ai.service.AskMetrics;
+import com.spacex.ai.service.ToolCallMemo;
+import com.spacex.ai.service.ToolCallProgress;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux variant of {@link SpaceXAiController}, active when the application runs as a reactive
+ * server ({@code spring.main.web-application-type=reactive}, see the {@code reactive} profile).
+ * The model response is consumed through the ChatClient streaming API, so no thread is held
+ * while the completion is generated. The answer cache lookup and the tool calls the model asks
+ * for run off the event loop, see
+ * {@link com.spacex.ai.config.AnthropicConfiguration#modelStreamOffloading()} for the latter.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSpaceXAiController {
+
+    private final ChatClient chatClient;
+    private final AnswerCache answerCache;
+    private final AskMetrics askMetrics;
+
+    public ReactiveSpaceXAiController(ChatClient chatClient, AnswerCache answerCache, AskMetrics askMetrics) {
+        this.chatClient = chatClient;
+        this.answerCache = answerCache;
+        this.askMetrics = askMetrics;
+    }
+
+    @PostMapping("/ask")
+    public Mono<ResponseEntity<Map<String, Object>>> ask(@RequestBody AskRequest request) {
+        if (request == null || request.question() == null || request.question().isBlank()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of(
+                            "error", "Question must be provided",
+                            "status", 400
+                    )));
+        }
+        AskMetrics.Ask ask = askMetrics.start("reactive");
+        // The lookup may embed the question through a blocking model call (similarity.embedding: model)
+        return Mono.fromCallable(() -> answerCache.get(request.question()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(cached -> {
+                    if (cached.isPresent()) {
+                        ask.cached();
+                        return Mono.just(ResponseEntity.ok(Map.<String, Object>of(
+                                "question", request.question(),
+                                "answer", cached.get(),
+                                "cached", true
+                        )));
+                    }
+                    return answer(request, ask);
+                })
+                .doOnCancel(ask::cancelled);
+    }
+
+    private Mono<ResponseEntity<Map<String, Object>>> answer(AskRequest request, AskMetrics.Ask ask) {
+        Set<String> toolsUsed = ConcurrentHashMap.newKeySet();
+        return Mono.defer(() -> chatClient
+                        .prompt()
+                        .user(request.question())
+                        .toolContext(Map.of(ToolCallProgress.CONTEXT_KEY,
+                                ToolCallProgress.completedTools(toolsUsed).andThen(ask),
+                                ToolCallMemo.CONTEXT_KEY, ask.toolCallMemo()))
+                        .stream()
+                        .content()
+                        .collect(Collectors.joining()))
+                .doOnNext(answer -> {
+                    ask.answered(answer);
+                    answerCache.put(request.question(), answer, toolsUsed);
+                })
+                .doOnError(e -> ask.failed())
+                .map(answer -> ResponseEntity.ok(Map.<String, Object>of(
+                        "question", request.question(),
+                        "answer", answer,
+                        "cached", false
+                )))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                        .body(Map.of(
+                                "error", "Failed to get response from AI provider",
+                                "details", String.valueOf(e.getMessage()),
+                                "status", 502
+                        ))));
+    }
+
+    @GetMapping("/health")
+    public Mono<Map<String, String>> health() {
+        return Mono.just(Map.of("status", "UP"));
+    }
+}
@@ -1,20 +1,33 @@
 package com.spacex.ai.controller;
 
+import com.spacex.ai.service.AnswerCache;
+import com.spacex.ai.service.AskMetrics;
+import com.spacex.ai.service.ToolCallMemo;
+import com.spacex.ai.service.ToolCallProgress;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @RestController
 @RequestMapping("/api")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SpaceXAiController {
 
     private final ChatClient chatClient;
+    private final AnswerCache answerCache;
+    private final AskMetrics askMetrics;
 
-    public SpaceXAiController(ChatClient chatClient) {
+    public SpaceXAiController(ChatClient chatClient, AnswerCache answerCache, AskMetrics askMetrics) {
         this.chatClient = chatClient;
+        this.answerCache = answerCache;
+        this.askMetrics = askMetrics;
     }
 
     @PostMapping("/ask")
@@ -26,18 +39,36 @@ public class SpaceXAiController {
                             "status", 400
                     ));
         }
+        AskMetrics.Ask ask = askMetrics.start("ask");
+        Optional<String> cached = answerCache.get(request.question());
+        if (cached.isPresent()) {
+            ask.cached();
+            return ResponseEntity.ok(Map.of(
+                    "question", request.question(),
+                    "answer", cached.get(),
+                    "cached", true
+            ));
+        }
         try {
             // Use Spring AI ChatClient chaining API to get the content string
+            Set<String> toolsUsed = ConcurrentHashMap.newKeySet();
             String answer = chatClient
                     .prompt()
                     .user(request.question())
+                    .toolContext(Map.of(ToolCallProgress.CONTEXT_KEY,
+                            ToolCallProgress.completedTools(toolsUsed).andThen(ask),
+                            ToolCallMemo.CONTEXT_KEY, ask.toolCallMemo()))
                     .call()
                     .content();
+            ask.answered(answer);
+            answerCache.put(request.question(), answer, toolsUsed);
             return ResponseEntity.ok(Map.of(
                     "question", request.question(),
-                    "answer", answer
+                    "answer", answer,
+                    "cached", false
             ));
         } catch (Exception e) {
+            ask.failed();
             // Map common issues (e.g., missing/invalid API key, network) to 502
             return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
                     .body(Map.of(
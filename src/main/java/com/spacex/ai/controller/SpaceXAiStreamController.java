@@ -0,0 +1,120 @@
+package com.spacex.ai.controller;
+
+import com.spacex.ai.controller.SpaceXAiController.AskRequest;
+import com.spacex.ai.service.AnswerCache;
+import com.spacex.ai.service.AskMetrics;
+import com.spacex.ai.service.ToolCallMemo;
+import com.spacex.ai.service.ToolCallProgress;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams answers to {@code /api/ask/stream} as Server-Sent Events while the model generates them.
+ * <p>
+ * Event types: {@code token} (a chunk of answer text), {@code tool} (a tool call started,
+ * completed or failed), {@code done} (the answer is complete) and {@code error}. Demand from the
+ * HTTP connection propagates to the model stream, and a client disconnect cancels the
+ * subscription, which aborts the upstream generation. Works on both the servlet and the reactive
+ * stack. Questions answered by the {@link AnswerCache} are replayed as a single {@code token}
+ * event followed by {@code done}; the lookup runs off the request thread, which on the reactive
+ * stack is an event loop.
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnWebApplication
+public class SpaceXAiStreamController {
+
+    private static final Sinks.EmitFailureHandler RETRY_ON_CONCURRENT_EMIT =
+            Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100));
+
+    private final ChatClient chatClient;
+    private final AnswerCache answerCache;
+    private final AskMetrics askMetrics;
+
+    public SpaceXAiStreamController(ChatClient chatClient, AnswerCache answerCache, AskMetrics askMetrics) {
+        this.chatClient = chatClient;
+        this.answerCache = answerCache;
+        this.askMetrics = askMetrics;
+    }
+
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Object>>> askStream(@RequestBody AskRequest request) {
+        if (request == null || request.question() == null || request.question().isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Flux.just(event("error", Map.of(
+                            "error", "Question must be provided",
+                            "status", 400
+                    ))));
+        }
+        return ResponseEntity.ok(stream(request.question()));
+    }
+
+    private Flux<ServerSentEvent<Object>> stream(String question) {
+        return Flux.defer(() -> {
+            AskMetrics.Ask ask = askMetrics.start("stream");
+            // The lookup may embed the question through a blocking model call (similarity.embedding: model)
+            return Mono.fromCallable(() -> answerCache.get(question))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapMany(cached -> {
+                        if (cached.isPresent()) {
+                            ask.cached();
+                            return Flux.just(event("token", cached.get()),
+                                    event("done", Map.of("question", question, "cached", true)));
+                        }
+                        return answer(question, ask);
+                    })
+                    .doOnCancel(ask::cancelled);
+        });
+    }
+
+    private Flux<ServerSentEvent<Object>> answer(String question, AskMetrics.Ask ask) {
+        Sinks.Many<ServerSentEvent<Object>> toolEvents = Sinks.many().unicast().onBackpressureBuffer();
+        Set<String> toolsUsed = ConcurrentHashMap.newKeySet();
+        ToolCallProgress progress = ToolCallProgress.completedTools(toolsUsed)
+                .andThen(ask)
+                .andThen(toolEvent -> toolEvents.emitNext(event("tool", toolEvent), RETRY_ON_CONCURRENT_EMIT));
+        StringBuilder fullAnswer = new StringBuilder();
+
+        Flux<ServerSentEvent<Object>> answer = chatClient
+                .prompt()
+                .user(question)
+                .toolContext(Map.of(ToolCallProgress.CONTEXT_KEY, progress,
+                        ToolCallMemo.CONTEXT_KEY, ask.toolCallMemo()))
+                .stream()
+                .content()
+                .doOnNext(fullAnswer::append)
+                .doOnComplete(() -> {
+                    ask.answered(fullAnswer.toString());
+                    answerCache.put(question, fullAnswer.toString(), toolsUsed);
+                })
+                .doOnError(e -> ask.failed())
+                .map(token -> event("token", token))
+                .concatWith(Flux.just(event("done", Map.of("question", question))))
+                .onErrorResume(e -> Flux.just(event("error", Map.of(
+                        "error", "Failed to get response from AI provider",
+                        "details", String.valueOf(e.getMessage()),
+                        "status", 502
+                ))))
+                .doFinally(signal -> toolEvents.emitComplete(RETRY_ON_CONCURRENT_EMIT));
+
+        return Flux.merge(toolEvents.asFlux(), answer);
+    }
+
+    private static ServerSentEvent<Object> event(String type, Object data) {
+        return ServerSentEvent.builder(data).event(type).build();
+    }
+}
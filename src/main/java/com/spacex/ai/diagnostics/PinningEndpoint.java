@@ -0,0 +1,28 @@
+package com.spacex.ai.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/pinning}) listing the pinning and monitor-contention hot
+ * spots recorded by {@link VirtualThreadPinningMonitor}.
+ */
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    public PinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> pinning() {
+        return Map.of(
+                "thresholdMs", monitor.threshold().toMillis(),
+                "hotSpots", monitor.hotSpots()
+        );
+    }
+}
@@ -0,0 +1,18 @@
+package com.spacex.ai.diagnostics;
+
+/**
+ * Aggregated pinning or monitor-contention events recorded at one code location.
+ *
+ * @param kind        {@code pinned} for carrier-pinning, {@code monitor} for contended {@code synchronized}
+ * @param frame       first application frame of the recorded stack, or the top frame if there is none
+ * @param count       number of events above the threshold
+ * @param totalMillis summed event duration
+ * @param maxMillis   longest single event
+ */
+public record PinningHotSpot(
+    String kind,
+    String frame,
+    long count,
+    long totalMillis,
+    long maxMillis
+) {}
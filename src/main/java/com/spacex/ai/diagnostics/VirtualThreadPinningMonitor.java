@@ -0,0 +1,139 @@
+package com.spacex.ai.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports code locations that pin virtual threads to their carrier or contend on
+ * {@code synchronized} monitors, using an in-process JFR stream.
+ * <p>
+ * Listens to {@code jdk.VirtualThreadPinned} (a virtual thread blocked while it could not
+ * unmount, e.g. inside a {@code synchronized} block or a native frame) and
+ * {@code jdk.JavaMonitorEnter} (a thread waited to enter a contended monitor). Events longer than
+ * the threshold are grouped by their first {@code com.spacex} frame, logged once per location,
+ * counted in the {@code spacex.threads.pinning} meter and listed by the {@code pinning}
+ * actuator endpoint.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String MONITOR_ENTER_EVENT = "jdk.JavaMonitorEnter";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String APPLICATION_PACKAGE = "com.spacex.";
+
+    private final Duration threshold;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, HotSpot> hotSpots = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.enable(MONITOR_ENTER_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, event -> record("pinned", event));
+        recording.onEvent(MONITOR_ENTER_EVENT, event -> record("monitor", event));
+        recording.startAsync();
+        stream = recording;
+        log.info("Virtual thread pinning diagnostics active (threshold {} ms)", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public Duration threshold() {
+        return threshold;
+    }
+
+    /**
+     * Recorded hot spots, most frequent first.
+     */
+    public List<PinningHotSpot> hotSpots() {
+        return hotSpots.values().stream()
+                .map(HotSpot::snapshot)
+                .sorted(Comparator.comparingLong(PinningHotSpot::count).reversed())
+                .toList();
+    }
+
+    void record(String kind, RecordedEvent event) {
+        String frame = locate(event.getStackTrace());
+        HotSpot hotSpot = hotSpots.computeIfAbsent(kind + " " + frame, key -> new HotSpot(kind, frame));
+        long millis = event.getDuration().toMillis();
+        if (hotSpot.record(millis) == 1) {
+            log.warn("Thread {} at {} for {} ms (event {}); further occurrences are counted in the pinning endpoint",
+                    "pinned".equals(kind) ? "pinned to its carrier" : "blocked on a contended monitor",
+                    frame, millis, event.getEventType().getName());
+        }
+        meterRegistry.counter("spacex.threads.pinning", "kind", kind).increment();
+    }
+
+    private static String locate(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame match = frames.stream()
+                .filter(f -> f.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return match.getMethod().getType().getName() + "." + match.getMethod().getName()
+                + ":" + match.getLineNumber();
+    }
+
+    private static final class HotSpot {
+
+        private final String kind;
+        private final String frame;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        HotSpot(String kind, String frame) {
+            this.kind = kind;
+            this.frame = frame;
+        }
+
+        long record(long millis) {
+            count.increment();
+            totalMillis.add(millis);
+            maxMillis.accumulateAndGet(millis, Math::max);
+            return count.sum();
+        }
+
+        PinningHotSpot snapshot() {
+            return new PinningHotSpot(kind, frame, count.sum(), totalMillis.sum(), maxMillis.get());
+        }
+    }
+}
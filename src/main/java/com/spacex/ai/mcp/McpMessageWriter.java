@@ -0,0 +1,69 @@
+package com.spacex.ai.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Serializes concurrent JSON-RPC messages onto one output stream.
+ * <p>
+ * Callers encode their message on their own thread and enqueue the resulting line; a single
+ * writer thread owns the stream, so lines never interleave and no caller blocks on stdout.
+ * Nothing else may write to the stream: {@link McpToolServer#start()} moves {@code System.out}
+ * to stderr while serving, and the MCP application logs to stderr (see {@code logback-mcp.xml}).
+ */
+class McpMessageWriter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(McpMessageWriter.class);
+    private static final String END = "\u0000end";
+
+    private final ObjectMapper objectMapper;
+    private final PrintWriter out;
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private final Thread thread;
+
+    McpMessageWriter(ObjectMapper objectMapper, OutputStream out) {
+        this.objectMapper = objectMapper;
+        this.out = new PrintWriter(out, false, StandardCharsets.UTF_8);
+        this.thread = new Thread(this::drain, "mcp-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void send(Object message) throws JsonProcessingException {
+        lines.add(objectMapper.writeValueAsString(message));
+    }
+
+    /**
+     * Writes everything queued so far and stops the writer thread.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        lines.add(END);
+        thread.join();
+    }
+
+    private void drain() {
+        try {
+            String line;
+            while (!(line = lines.take()).equals(END)) {
+                out.println(line);
+                if (lines.isEmpty()) {
+                    out.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.debug("MCP writer interrupted with {} queued messages", lines.size());
+        } finally {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.spacex.ai.mcp;
+
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.LaunchDetails;
+import com.spacex.ai.model.Launchpad;
+import com.spacex.ai.model.Payload;
+import com.spacex.ai.model.QueryResult;
+import com.spacex.ai.model.Rocket;
+import com.spacex.ai.model.Ship;
+import com.spacex.ai.service.LaunchAnalytics;
+import com.spacex.ai.store.LaunchChanges;
+import com.spacex.ai.store.SpaceXSnapshot;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Reachability metadata for running {@link McpServerApplication} as a GraalVM native image.
+ * <p>
+ * Spring AOT cannot see which types Jackson maps at runtime: the records that the SpaceX API
+ * responses are decoded into, including their nested records and the by-id query envelope, the
+ * tool results written from them, the launch statistics, the launch change notifications, and the snapshot file. JSON-RPC
+ * requests are read as an untyped {@code Map}, whose containers Jackson instantiates reflectively.
+ * The logging configuration that keeps logs off stdout is loaded as a resource.
+ */
+public class McpRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> BOUND_TYPES = List.of(
+            Launch.class, Rocket.class, Ship.class, Launchpad.class, Payload.class, LaunchDetails.class,
+            QueryResult.class, SpaceXSnapshot.class, LaunchAnalytics.LaunchStats.class, LaunchChanges.class);
+
+    static final String LOGGING_CONFIG = "logback-mcp.xml";
+
+    private static final List<Class<?>> JSON_RPC_CONTAINERS = List.of(
+            LinkedHashMap.class, HashMap.class, ArrayList.class);
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, @Nullable ClassLoader classLoader) {
+        bindingRegistrar.registerReflectionHints(hints.reflection(), BOUND_TYPES.toArray(Class<?>[]::new));
+        for (Class<?> container : JSON_RPC_CONTAINERS) {
+            hints.reflection().registerType(container, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern(LOGGING_CONFIG);
+    }
+}
@@ -1,28 +1,103 @@
 package com.spacex.ai.mcp;
 
+import com.spacex.ai.client.ReactiveSpaceXClient;
 import com.spacex.ai.client.SpaceXClient;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.config.LaunchStoreConfiguration;
+import com.spacex.ai.config.LaunchWatchConfiguration;
+import com.spacex.ai.config.McpConfiguration;
+import com.spacex.ai.config.SpaceXBatchConfiguration;
+import com.spacex.ai.config.SpaceXHttpConfiguration;
+import com.spacex.ai.config.SpaceXResilienceConfiguration;
+import com.spacex.ai.config.SpaceXSnapshotConfiguration;
+import com.spacex.ai.service.LaunchAnalytics;
+import com.spacex.ai.service.SerializedResults;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication
-@ComponentScan(basePackages = "com.spacex.ai")
+/**
+ * Stand-alone MCP server: JSON-RPC over stdin/stdout, without the web stack or the chat model.
+ * <p>
+ * MCP clients spawn one of these per session, so startup time is on the critical path. Instead of
+ * scanning {@code com.spacex.ai} and applying every auto-configuration, only the beans behind
+ * {@link McpToolServer} are imported: the SpaceX client with its HTTP, resilience, batching and
+ * cache setup, the launch store and its analytics, the serialized result cache, the upcoming launch
+ * watcher, and the snapshot. Spring AI, the servlet container and the controllers are never
+ * initialized. The process exits once the client closes stdin.
+ * <p>
+ * stdout is reserved for the JSON-RPC frames written by {@link McpToolServer}. Console logging,
+ * including that of the scheduled store sync, upcoming launch poll and snapshotter, goes to stderr
+ * through {@code logback-mcp.xml}, whatever the configured log levels.
+ * <p>
+ * This is also the entry point of the native image built with {@code -Pnative}; see
+ * {@link McpRuntimeHints}.
+ */
+@SpringBootConfiguration(proxyBeanMethods = false)
+@ImportAutoConfiguration({
+        PropertyPlaceholderAutoConfiguration.class,
+        ConfigurationPropertiesAutoConfiguration.class,
+        JacksonAutoConfiguration.class,
+        CodecsAutoConfiguration.class,
+        WebClientAutoConfiguration.class,
+        TaskSchedulingAutoConfiguration.class,
+        MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class,
+        CompositeMeterRegistryAutoConfiguration.class,
+        ObservationAutoConfiguration.class
+})
+@Import({
+        McpToolServer.class,
+        McpConfiguration.class,
+        LaunchAnalytics.class,
+        SerializedResults.class,
+        SpaceXClient.class,
+        ReactiveSpaceXClient.class,
+        SpaceXHttpConfiguration.class,
+        SpaceXResilienceConfiguration.class,
+        SpaceXBatchConfiguration.class,
+        CacheConfiguration.class,
+        LaunchStoreConfiguration.class,
+        LaunchWatchConfiguration.class,
+        SpaceXSnapshotConfiguration.class
+})
+@ImportRuntimeHints(McpRuntimeHints.class)
 public class McpServerApplication {
 
+    static final String LOGGING_CONFIG = "classpath:" + McpRuntimeHints.LOGGING_CONFIG;
+
     public static void main(String[] args) {
         // Disable web server for MCP mode
         System.setProperty("spring.main.web-application-type", "none");
-        SpringApplication.run(McpServerApplication.class, args);
+        // Only this entry point talks JSON-RPC over stdin/stdout
+        System.setProperty("spacex.mcp.stdio.enabled", "true");
+        // stdout carries nothing but JSON-RPC frames: logs go to stderr, and the banner is off
+        System.setProperty("logging.config", LOGGING_CONFIG);
+        System.setProperty("spring.main.banner-mode", "off");
+        ConfigurableApplicationContext context = SpringApplication.run(McpServerApplication.class, args);
+        // The client closed stdin: end the session rather than idling on the scheduler and pool threads
+        System.exit(SpringApplication.exit(context));
     }
 
     @Bean
-    public CommandLineRunner mcpRunner(SpaceXClient spaceXClient, ObjectMapper objectMapper) {
-        return args -> {
-            McpToolServer server = new McpToolServer(spaceXClient, objectMapper);
-            server.start();
-        };
+    @ConditionalOnProperty(name = "spacex.mcp.stdio.enabled", havingValue = "true")
+    public CommandLineRunner mcpRunner(McpToolServer server) {
+        return args -> server.start();
     }
 }
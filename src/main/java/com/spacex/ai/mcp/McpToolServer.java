@@ -1,20 +1,47 @@
 package com.spacex.ai.mcp;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.config.McpConfiguration;
 import com.spacex.ai.model.Launch;
 import com.spacex.ai.model.Launchpad;
 import com.spacex.ai.model.Rocket;
 import com.spacex.ai.model.Ship;
+import com.spacex.ai.service.LaunchAnalytics;
+import com.spacex.ai.service.SerializedResults;
+import com.spacex.ai.service.SerializedResults.Version;
+import com.spacex.ai.store.LaunchChanges;
+import com.spacex.ai.store.UpcomingLaunchWatcher;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Phaser;
 
 /**
  * MCP (Model Context Protocol) Tool Server
@@ -23,41 +50,222 @@ import java.util.Map;
 @Component
 public class McpToolServer {
 
+    static final String NOTIFICATION_PREFIX = "notifications/";
+    static final String CANCELLED_NOTIFICATION = NOTIFICATION_PREFIX + "cancelled";
+    static final String LAUNCHES_CHANGED_NOTIFICATION = "notifications/launches/changed";
+    static final String REQUESTS_OBSERVATION = "spacex.mcp.requests";
+
+    private static final Map<String, String> STATS_PARAMETERS = Map.of(
+            "groupBy", "string", "rocket", "string", "launchpad", "string", "from", "string", "to", "string",
+            "limit", "integer");
+
+    private static final Set<String> METHODS = Set.of(
+            "getAllLaunches", "getLaunchById", "getLaunchDetails", "getUpcomingLaunches", "getPastLaunches",
+            "getLatestLaunch", "getNextLaunch", "getAllRockets", "getRocketById", "getAllShips", "getShipById",
+            "getAllLaunchpads", "getLaunchpadById", "getLaunchStats");
+
+    private static final Logger log = LoggerFactory.getLogger(McpToolServer.class);
+
     private final SpaceXClient spaceXClient;
+    private final LaunchAnalytics launchAnalytics;
+    private final SerializedResults serializedResults;
     private final ObjectMapper objectMapper;
+    private final TaskExecutor toolExecutor;
+    private final ObservationRegistry observationRegistry;
+    private final UpcomingLaunchWatcher upcomingLaunchWatcher;
+    private final ConcurrentMap<Object, InFlightRequest> inFlight = new ConcurrentHashMap<>();
+    private final Phaser pending = new Phaser(1);
 
-    public McpToolServer(SpaceXClient spaceXClient, ObjectMapper objectMapper) {
+    public McpToolServer(SpaceXClient spaceXClient, LaunchAnalytics launchAnalytics,
+                         SerializedResults serializedResults, ObjectMapper objectMapper,
+                         @Qualifier(McpConfiguration.MCP_TOOL_EXECUTOR) TaskExecutor toolExecutor,
+                         ObservationRegistry observationRegistry,
+                         @Nullable UpcomingLaunchWatcher upcomingLaunchWatcher) {
         this.spaceXClient = spaceXClient;
+        this.launchAnalytics = launchAnalytics;
+        this.serializedResults = serializedResults;
         this.objectMapper = objectMapper;
+        this.toolExecutor = toolExecutor;
+        this.observationRegistry = observationRegistry;
+        this.upcomingLaunchWatcher = upcomingLaunchWatcher;
     }
 
     /**
-     * Start the MCP server and listen for tool requests on stdin/stdout
+     * Start the MCP server and listen for tool requests on stdin/stdout.
+     * <p>
+     * For the length of the session {@code System.out} is pointed at stderr, so the JSON-RPC
+     * writer is the only one left on stdout: a log appender or a library printing to
+     * {@code System.out} cannot put a line between two frames, whatever the log levels.
      */
-    public void start() throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
-        PrintWriter writer = new PrintWriter(System.out, true);
+    public void start() throws IOException, InterruptedException {
+        PrintStream stdout = System.out;
+        System.setOut(System.err);
+        try {
+            serve(System.in, stdout);
+        } finally {
+            System.setOut(stdout);
+        }
+    }
 
-        // Send initial capabilities
-        sendCapabilities(writer);
+    /**
+     * Serves JSON-RPC requests from {@code in} until end of stream.
+     * <p>
+     * Each request is dispatched to the tool executor as soon as it is read, so slow tools do not
+     * hold up the requests behind them. Responses are written as they complete, possibly out of
+     * order, and are correlated by their JSON-RPC {@code id}. A {@code notifications/cancelled}
+     * message interrupts the matching in-flight call and suppresses its response; other
+     * notifications, such as {@code notifications/initialized}, are ignored. Returns once
+     * every dispatched request has been answered.
+     * <p>
+     * Each call is observed as {@code spacex.mcp.requests}, tagged with the {@code method} and an
+     * {@code outcome} of {@code success}, {@code error} or {@code cancelled}.
+     * <p>
+     * While the session lasts, changes to the upcoming launch schedule are pushed as
+     * {@code notifications/launches/changed} with the {@link LaunchChanges} as {@code params}.
+     */
+    public void serve(InputStream in, OutputStream out) throws IOException, InterruptedException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try (McpMessageWriter writer = new McpMessageWriter(objectMapper, out)) {
+            Disposable notifications = notifyLaunchChanges(writer);
+            // Send initial capabilities
+            sendCapabilities(writer);
 
-        String line;
-        while ((line = reader.readLine()) != null) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    Map<String, Object> request = objectMapper.readValue(line, Map.class);
+                    Object method = request.get("method");
+                    if (CANCELLED_NOTIFICATION.equals(method)) {
+                        cancel(request);
+                    } else if (isNotification(request)) {
+                        // Notifications must never be answered, not even with an error
+                        log.debug("Ignoring MCP notification {}", method);
+                    } else {
+                        dispatch(request, writer);
+                    }
+                } catch (Exception e) {
+                    writer.send(error(null, e));
+                }
+            }
+            awaitInFlight();
+            notifications.dispose();
+        }
+    }
+
+    private Disposable notifyLaunchChanges(McpMessageWriter writer) {
+        if (upcomingLaunchWatcher == null) {
+            return () -> { };
+        }
+        return upcomingLaunchWatcher.changes().subscribe(changes -> {
+            Map<String, Object> notification = new LinkedHashMap<>();
+            notification.put("jsonrpc", "2.0");
+            notification.put("method", LAUNCHES_CHANGED_NOTIFICATION);
+            notification.put("params", changes);
             try {
-                Map<String, Object> request = objectMapper.readValue(line, Map.class);
-                Map<String, Object> response = handleRequest(request);
-                writer.println(objectMapper.writeValueAsString(response));
+                writer.send(notification);
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to encode launch change notification: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void dispatch(Map<String, Object> request, McpMessageWriter writer) throws JsonProcessingException {
+        Object id = request.get("id");
+        InFlightRequest call = new InFlightRequest();
+        if (id != null && inFlight.putIfAbsent(id, call) != null) {
+            writer.send(error(id, new IllegalArgumentException("Duplicate request id: " + id)));
+            return;
+        }
+        pending.register();
+        try {
+            toolExecutor.execute(() -> respond(request, call, writer));
+        } catch (TaskRejectedException e) {
+            release(id, call);
+            writer.send(error(id, new IllegalStateException("Server busy, request rejected")));
+        }
+    }
+
+    private void respond(Map<String, Object> request, InFlightRequest call, McpMessageWriter writer) {
+        Object id = request.get("id");
+        try {
+            if (!call.begin()) {
+                return;
+            }
+            Observation observation = observe(request);
+            Map<String, Object> response;
+            String outcome = "success";
+            try (Observation.Scope scope = observation.openScope()) {
+                response = handleRequest(request);
             } catch (Exception e) {
-                Map<String, Object> error = Map.of(
-                        "error", e.getMessage(),
-                        "type", "processing_error"
-                );
-                writer.println(objectMapper.writeValueAsString(error));
+                observation.error(e);
+                response = error(id, e);
+                outcome = "error";
+            } finally {
+                call.end();
             }
+            if (call.cancelled) {
+                observation.lowCardinalityKeyValue("outcome", "cancelled").stop();
+                log.debug("Dropping response for cancelled MCP request {}", id);
+                return;
+            }
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+            writer.send(response);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to encode response for MCP request {}: {}", id, e.getMessage());
+        } finally {
+            release(id, call);
         }
     }
 
-    private void sendCapabilities(PrintWriter writer) throws IOException {
+    private Observation observe(Map<String, Object> request) {
+        Object method = request.get("method");
+        // Unknown methods come from the client and would otherwise make the tag unbounded
+        String tag = METHODS.contains(method) ? (String) method : "unknown";
+        return Observation.createNotStarted(REQUESTS_OBSERVATION, observationRegistry)
+                .contextualName("mcp " + tag)
+                .lowCardinalityKeyValue("method", tag)
+                .highCardinalityKeyValue("request.id", String.valueOf(request.get("id")))
+                .start();
+    }
+
+    private static boolean isNotification(Map<String, Object> message) {
+        return !message.containsKey("id") && message.get("method") instanceof String method
+                && method.startsWith(NOTIFICATION_PREFIX);
+    }
+
+    private void cancel(Map<String, Object> notification) {
+        Map<String, Object> params = (Map<String, Object>) notification.getOrDefault("params", Map.of());
+        InFlightRequest call = inFlight.get(params.get("requestId"));
+        if (call != null) {
+            call.cancel();
+            log.debug("Cancelled MCP request {} ({})", params.get("requestId"), params.getOrDefault("reason", "no reason"));
+        }
+    }
+
+    private void release(Object id, InFlightRequest call) {
+        if (id != null) {
+            inFlight.remove(id, call);
+        }
+        pending.arriveAndDeregister();
+    }
+
+    private void awaitInFlight() {
+        pending.arriveAndAwaitAdvance();
+    }
+
+    private Map<String, Object> error(Object id, Exception e) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("jsonrpc", "2.0");
+        error.put("id", id);
+        error.put("error", e.getMessage());
+        error.put("type", "processing_error");
+        return error;
+    }
+
+    private void sendCapabilities(McpMessageWriter writer) throws IOException {
         Map<String, Object> capabilities = Map.of(
                 "protocolVersion", "1.0",
                 "serverInfo", Map.of(
@@ -68,6 +276,8 @@ public class McpToolServer {
                         "tools", List.of(
                                 createToolDefinition("getAllLaunches", "Get all SpaceX launches", Map.of()),
                                 createToolDefinition("getLaunchById", "Get a specific launch by ID", Map.of("id", "string")),
+                                createToolDefinition("getLaunchDetails", "Get a launch by ID with its rocket, launchpad, "
+                                        + "ships and payloads", Map.of("id", "string")),
                                 createToolDefinition("getUpcomingLaunches", "Get upcoming launches", Map.of()),
                                 createToolDefinition("getPastLaunches", "Get past launches", Map.of()),
                                 createToolDefinition("getLatestLaunch", "Get the latest launch", Map.of()),
@@ -77,32 +287,43 @@ public class McpToolServer {
                                 createToolDefinition("getAllShips", "Get all SpaceX ships", Map.of()),
                                 createToolDefinition("getShipById", "Get a specific ship by ID", Map.of("id", "string")),
                                 createToolDefinition("getAllLaunchpads", "Get all SpaceX launchpads", Map.of()),
-                                createToolDefinition("getLaunchpadById", "Get a specific launchpad by ID", Map.of("id", "string"))
-                        )
+                                createToolDefinition("getLaunchpadById", "Get a specific launchpad by ID", Map.of("id", "string")),
+                                createToolDefinition("getLaunchStats", "Get launch counts, success rate and average "
+                                        + "days between launches, grouped by rocket, launchpad, year or month",
+                                        STATS_PARAMETERS, List.of())
+                        ),
+                        "notifications", upcomingLaunchWatcher == null
+                                ? List.of() : List.of(LAUNCHES_CHANGED_NOTIFICATION)
                 )
         );
-        writer.println(objectMapper.writeValueAsString(capabilities));
+        writer.send(capabilities);
     }
 
     private Map<String, Object> createToolDefinition(String name, String description, Map<String, String> parameters) {
+        return createToolDefinition(name, description, parameters, parameters.keySet());
+    }
+
+    private Map<String, Object> createToolDefinition(String name, String description, Map<String, String> parameters,
+                                                     Collection<String> required) {
         Map<String, Object> tool = new HashMap<>();
         tool.put("name", name);
         tool.put("description", description);
         tool.put("inputSchema", Map.of(
                 "type", "object",
                 "properties", parameters,
-                "required", parameters.keySet()
+                "required", required
         ));
         return tool;
     }
 
-    private Map<String, Object> handleRequest(Map<String, Object> request) throws Exception {
+    Map<String, Object> handleRequest(Map<String, Object> request) throws Exception {
         String method = (String) request.get("method");
         Map<String, Object> params = (Map<String, Object>) request.getOrDefault("params", Map.of());
 
         Object result = switch (method) {
             case "getAllLaunches" -> spaceXClient.getAllLaunches();
             case "getLaunchById" -> spaceXClient.getLaunchById((String) params.get("id"));
+            case "getLaunchDetails" -> spaceXClient.getLaunchDetails((String) params.get("id"));
             case "getUpcomingLaunches" -> spaceXClient.getUpcomingLaunches();
             case "getPastLaunches" -> spaceXClient.getPastLaunches();
             case "getLatestLaunch" -> spaceXClient.getLatestLaunch();
@@ -113,13 +334,70 @@ public class McpToolServer {
             case "getShipById" -> spaceXClient.getShipById((String) params.get("id"));
             case "getAllLaunchpads" -> spaceXClient.getAllLaunchpads();
             case "getLaunchpadById" -> spaceXClient.getLaunchpadById((String) params.get("id"));
+            case "getLaunchStats" -> launchAnalytics.stats((String) params.get("groupBy"),
+                    (String) params.get("rocket"), (String) params.get("launchpad"), (String) params.get("from"),
+                    (String) params.get("to"), integerParam(params, "limit"));
             default -> throw new IllegalArgumentException("Unknown method: " + method);
         };
 
-        return Map.of(
-                "jsonrpc", "2.0",
-                "id", request.getOrDefault("id", null),
-                "result", result
-        );
+        // Written once per version of the data and embedded as is, rather than serialized per call
+        String json = serializedResults.get("mcp." + method, params, result == null ? null : Version.of(result),
+                () -> objectMapper.writeValueAsString(result));
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jsonrpc", "2.0");
+        response.put("id", request.get("id"));
+        response.put("result", new RawValue(json));
+        spaceXClient.staleAsOf(result).ifPresent(asOf -> response.put("stale_as_of", asOf.toString()));
+        return response;
+    }
+
+    /**
+     * Reads an integer argument. JSON clients may send {@code 10}, {@code 10.0} or {@code "10"},
+     * which Jackson hands over as an Integer, Long, Double or String.
+     */
+    static Integer integerParam(Map<String, Object> params, String name) {
+        Object value = params.get(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            if (value instanceof Number || value instanceof String) {
+                return new BigDecimal(value.toString().trim()).intValueExact();
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException(name + " must be an integer, got: " + value);
+    }
+
+    /**
+     * Tracks the worker thread of one request so a cancellation can interrupt exactly that call
+     * and never a later task that happens to reuse the pooled thread.
+     */
+    private static final class InFlightRequest {
+
+        private volatile boolean cancelled;
+        private Thread worker;
+
+        synchronized boolean begin() {
+            if (cancelled) {
+                return false;
+            }
+            worker = Thread.currentThread();
+            return true;
+        }
+
+        synchronized void end() {
+            worker = null;
+            // Swallow an interrupt that raced with completion
+            Thread.interrupted();
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
     }
 }
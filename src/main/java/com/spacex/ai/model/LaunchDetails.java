@@ -0,0 +1,15 @@
+package com.spacex.ai.model;
+
+import java.util.List;
+
+/**
+ * A launch together with the rocket, launchpad, ships and payloads it references by id.
+ * References the API no longer knows are left out.
+ */
+public record LaunchDetails(
+    Launch launch,
+    Rocket rocket,
+    Launchpad launchpad,
+    List<Ship> ships,
+    List<Payload> payloads
+) {}
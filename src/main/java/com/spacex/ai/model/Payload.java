@@ -0,0 +1,21 @@
+package com.spacex.ai.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Payload(
+    String id,
+    String name,
+    String type,
+    Boolean reused,
+    String launch,
+    List<String> customers,
+    List<String> nationalities,
+    List<String> manufacturers,
+    @JsonProperty("mass_kg") Double massKg,
+    String orbit,
+    String regime
+) {}
@@ -0,0 +1,17 @@
+package com.spacex.ai.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Envelope returned by the SpaceX API {@code POST /<resource>/query} endpoints.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record QueryResult<T>(
+    List<T> docs,
+    Integer totalDocs,
+    Integer page,
+    Integer totalPages,
+    Boolean hasNextPage
+) {}
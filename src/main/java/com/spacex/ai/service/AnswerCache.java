@@ -0,0 +1,257 @@
+package com.spacex.ai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.spacex.ai.config.AnswerCacheProperties;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.config.SpaceXCacheProperties;
+import com.spacex.ai.store.SpaceXDataChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Caches answers to {@code /api/ask} questions.
+ * <p>
+ * Questions are matched on their normalized text (case, punctuation, contractions and filler
+ * words removed); with the similarity tier enabled, a miss falls back to the cached question
+ * with the closest embedding above the configured threshold.
+ * <p>
+ * An answer lives as long as the freshest data it was built from: the tools the model called
+ * are mapped to their {@link CacheConfiguration} caches and the shortest of their TTLs applies.
+ * When a {@link SpaceXDataChangedEvent} reports one of those caches as stale, the answer is
+ * dropped. Lookups are counted in {@code spacex.answers.cache.requests}, tagged with
+ * {@code result} = {@code exact}, {@code similar} or {@code miss}.
+ */
+public class AnswerCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AnswerCache.class);
+
+    /**
+     * Upstream data read by each tool, as cache names.
+     */
+    static final Map<String, String> TOOL_DATA = Map.ofEntries(
+            Map.entry("getAllLaunches", CacheConfiguration.LAUNCHES),
+            Map.entry("getLaunchById", CacheConfiguration.LAUNCH),
+            Map.entry("getLaunchDetails", CacheConfiguration.LAUNCH_DETAILS),
+            Map.entry("getUpcomingLaunches", CacheConfiguration.UPCOMING_LAUNCHES),
+            Map.entry("getPastLaunches", CacheConfiguration.PAST_LAUNCHES),
+            Map.entry("getLatestLaunch", CacheConfiguration.LATEST_LAUNCH),
+            Map.entry("getNextLaunch", CacheConfiguration.NEXT_LAUNCH),
+            Map.entry("getAllRockets", CacheConfiguration.ROCKETS),
+            Map.entry("getRocketById", CacheConfiguration.ROCKET),
+            Map.entry("getAllShips", CacheConfiguration.SHIPS),
+            Map.entry("getShipById", CacheConfiguration.SHIP),
+            Map.entry("getAllLaunchpads", CacheConfiguration.LAUNCHPADS),
+            Map.entry("getLaunchpadById", CacheConfiguration.LAUNCHPAD),
+            Map.entry("getLaunchStats", CacheConfiguration.LAUNCHES)
+    );
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> FILLER = Set.of(
+            "a", "an", "the", "is", "are", "was", "were", "be", "do", "does", "did", "of", "for", "to", "by",
+            "please", "tell", "me", "can", "could", "you", "i", "spacex", "s");
+    private static final int LOCAL_DIMENSIONS = 512;
+
+    private final AnswerCacheProperties properties;
+    private final SpaceXCacheProperties cacheProperties;
+    private final Cache<String, Entry> answers;
+    @Nullable
+    private final Function<String, float[]> embedder;
+    private final Counter exactHits;
+    private final Counter similarHits;
+    private final Counter misses;
+
+    /**
+     * @param embedder question embedding for the similarity tier, or {@code null} to match exact
+     *                 normalized text only
+     */
+    public AnswerCache(AnswerCacheProperties properties, SpaceXCacheProperties cacheProperties,
+                       @Nullable Function<String, float[]> embedder, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cacheProperties = cacheProperties;
+        this.embedder = embedder;
+        this.answers = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        this.exactHits = requests(meterRegistry, "exact");
+        this.similarHits = requests(meterRegistry, "similar");
+        this.misses = requests(meterRegistry, "miss");
+        Gauge.builder("spacex.answers.cache.size", answers, Cache::estimatedSize)
+                .description("Cached /api/ask answers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the in-process embedding used when {@code similarity.embedding} is {@code local}:
+     * normalized terms and term pairs hashed into a fixed-size, L2-normalized vector. It catches
+     * rephrasings that reuse the same words (word order, plurals, filler) at no cost per lookup.
+     */
+    public static Function<String, float[]> localEmbedder() {
+        return AnswerCache::localEmbedding;
+    }
+
+    public Optional<String> get(String question) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        String key = normalize(question);
+        Entry exact = answers.getIfPresent(key);
+        if (exact != null) {
+            exactHits.increment();
+            return Optional.of(exact.answer());
+        }
+
+        if (embedder != null && properties.similarity().enabled()) {
+            float[] embedding = embedder.apply(key);
+            Entry best = null;
+            double bestScore = properties.similarity().threshold();
+            for (Entry candidate : answers.asMap().values()) {
+                double score = cosine(embedding, candidate.embedding());
+                if (score >= bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            if (best != null) {
+                similarHits.increment();
+                log.debug("Answering '{}' with the cached answer to '{}' (similarity {})", question, best.question(), bestScore);
+                return Optional.of(best.answer());
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * @param toolsUsed names of the tools that completed while the answer was generated
+     */
+    public void put(String question, String answer, Collection<String> toolsUsed) {
+        if (!properties.enabled() || answer == null || answer.isBlank()) {
+            return;
+        }
+        Set<String> dataUsed = toolsUsed.stream()
+                .map(TOOL_DATA::get)
+                .filter(name -> name != null)
+                .collect(Collectors.toUnmodifiableSet());
+        Duration ttl = dataUsed.stream()
+                .map(cacheProperties::ttlFor)
+                .min(Duration::compareTo)
+                .orElse(properties.defaultTtl());
+        String key = normalize(question);
+        float[] embedding = embedder != null && properties.similarity().enabled() ? embedder.apply(key) : null;
+        answers.put(key, new Entry(question, answer, dataUsed, ttl, embedding));
+    }
+
+    @EventListener
+    public void onDataChanged(SpaceXDataChangedEvent event) {
+        int before = answers.asMap().size();
+        answers.asMap().values().removeIf(entry -> entry.dataUsed().stream().anyMatch(event.cacheNames()::contains));
+        int removed = before - answers.asMap().size();
+        if (removed > 0) {
+            log.debug("Dropped {} cached answers after changes to {}", removed, event.cacheNames());
+        }
+    }
+
+    public void clear() {
+        answers.invalidateAll();
+    }
+
+    static String normalize(String question) {
+        String text = question.toLowerCase(Locale.ROOT).replace("n't", " not");
+        StringBuilder normalized = new StringBuilder();
+        for (String term : NON_WORD.split(text)) {
+            if (term.isEmpty() || FILLER.contains(term)) {
+                continue;
+            }
+            if (!normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(stem(term));
+        }
+        return normalized.toString();
+    }
+
+    private static String stem(String term) {
+        return term.length() > 3 && term.endsWith("s") && !term.endsWith("ss") ? term.substring(0, term.length() - 1) : term;
+    }
+
+    private static float[] localEmbedding(String normalized) {
+        float[] vector = new float[LOCAL_DIMENSIONS];
+        String[] terms = normalized.isEmpty() ? new String[0] : normalized.split(" ");
+        for (int i = 0; i < terms.length; i++) {
+            vector[Math.floorMod(terms[i].hashCode(), LOCAL_DIMENSIONS)] += 1f;
+            if (i > 0) {
+                vector[Math.floorMod((terms[i - 1] + ' ' + terms[i]).hashCode(), LOCAL_DIMENSIONS)] += 0.5f;
+            }
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float scale = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= scale;
+            }
+        }
+        return vector;
+    }
+
+    private static double cosine(float[] a, @Nullable float[] b) {
+        if (b == null || a.length != b.length) {
+            return 0;
+        }
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return normA == 0 || normB == 0 ? 0 : dot / Math.sqrt(normA * normB);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("spacex.answers.cache.requests")
+                .description("Answer cache lookups for /api/ask")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(String question, String answer, Set<String> dataUsed, Duration ttl,
+                         @Nullable float[] embedding) {}
+}
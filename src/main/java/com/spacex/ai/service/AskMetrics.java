@@ -0,0 +1,128 @@
+package com.spacex.ai.service;
+
+import com.spacex.ai.service.ToolCallProgress.Status;
+import com.spacex.ai.service.ToolCallProgress.ToolCallEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records one measurement per question asked on the {@code /api/ask} endpoints:
+ * <ul>
+ *   <li>{@code spacex.ask} - time to answer, tagged by {@code endpoint} and {@code outcome}
+ *       ({@code answered}, {@code cached}, {@code error} or {@code cancelled})</li>
+ *   <li>{@code spacex.ask.tool.calls} - tool calls the model made for the question</li>
+ *   <li>{@code spacex.ask.tool.calls.duplicate} - of those, repeats answered by the question's
+ *       {@link ToolCallMemo}</li>
+ *   <li>{@code spacex.ask.answer.size} - answer length in characters</li>
+ * </ul>
+ * Token usage is recorded by Spring AI per model call in {@code gen_ai.client.token.usage}.
+ */
+@Component
+public class AskMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public AskMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts timing a question.
+     *
+     * @param endpoint {@code ask}, {@code stream} or {@code reactive}
+     */
+    public Ask start(String endpoint) {
+        return new Ask(endpoint);
+    }
+
+    /**
+     * A question being answered. As a {@link ToolCallProgress} listener in the tool context, it
+     * counts the tool calls made for the question, and its {@link #toolCallMemo()} counts the
+     * repeats. Only the first outcome reported is recorded.
+     */
+    public final class Ask implements ToolCallProgress {
+
+        private final String endpoint;
+        private final Timer.Sample sample = Timer.start(meterRegistry);
+        private final AtomicInteger toolCalls = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final ToolCallMemo toolCallMemo = new ToolCallMemo(meterRegistry);
+
+        private Ask(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * The memo for the tool calls made for this question, to pass in the tool context under
+         * {@link ToolCallMemo#CONTEXT_KEY}.
+         */
+        public ToolCallMemo toolCallMemo() {
+            return toolCallMemo;
+        }
+
+        @Override
+        public void onEvent(ToolCallEvent event) {
+            if (event.status() == Status.STARTED) {
+                toolCalls.incrementAndGet();
+            }
+        }
+
+        public void cached() {
+            stop("cached");
+        }
+
+        public void answered(String answer) {
+            if (stop("answered")) {
+                DistributionSummary.builder("spacex.ask.answer.size")
+                        .description("Length of generated answers")
+                        .baseUnit("characters")
+                        .tag("endpoint", endpoint)
+                        .register(meterRegistry)
+                        .record(answer == null ? 0 : answer.length());
+                recordToolCalls();
+            }
+        }
+
+        public void failed() {
+            if (stop("error")) {
+                recordToolCalls();
+            }
+        }
+
+        public void cancelled() {
+            if (stop("cancelled")) {
+                recordToolCalls();
+            }
+        }
+
+        private boolean stop(String outcome) {
+            if (!stopped.compareAndSet(false, true)) {
+                return false;
+            }
+            sample.stop(Timer.builder("spacex.ask")
+                    .description("Time to answer a question")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            return true;
+        }
+
+        private void recordToolCalls() {
+            DistributionSummary.builder("spacex.ask.tool.calls")
+                    .description("Tool calls made by the model per question")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(toolCalls.get());
+            DistributionSummary.builder("spacex.ask.tool.calls.duplicate")
+                    .description("Tool calls per question answered from an identical earlier call")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(toolCallMemo.duplicates());
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.spacex.ai.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.Launchpad;
+import com.spacex.ai.model.Rocket;
+import com.spacex.ai.store.LaunchAggregates;
+import com.spacex.ai.store.LaunchAggregates.Cell;
+import com.spacex.ai.store.LaunchAggregates.Counts;
+import com.spacex.ai.store.LaunchStore;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Launch counts, success rates and cadence, grouped by rocket, launchpad, year or month.
+ * <p>
+ * Answers come from {@link LaunchAggregates} rather than from the launches themselves: the
+ * launch store keeps them current as it syncs, and without the store they are counted once per
+ * version of the cached launch list. A question like "Falcon 9 success rate by year" returns a
+ * few hundred bytes instead of the whole launch history for the model to count.
+ */
+@Service
+public class LaunchAnalytics {
+
+    public static final List<String> GROUP_BY = List.of("rocket", "launchpad", "year", "month");
+
+    private final SpaceXClient spaceXClient;
+    private final LaunchStore launchStore;
+    private volatile Counted counted;
+
+    public LaunchAnalytics(SpaceXClient spaceXClient, @Nullable LaunchStore launchStore) {
+        this.spaceXClient = spaceXClient;
+        this.launchStore = launchStore;
+    }
+
+    /**
+     * @param groupBy   one of {@link #GROUP_BY}, or {@code null} for the totals only
+     * @param rocket    rocket id or name to restrict to
+     * @param launchpad launchpad id, name or full name to restrict to
+     * @param from      first year or month included, {@code yyyy} or {@code yyyy-MM}
+     * @param to        last year or month included, {@code yyyy} or {@code yyyy-MM}
+     * @param limit     maximum number of groups; rockets and launchpads are ranked by launches
+     */
+    public LaunchStats stats(String groupBy, String rocket, String launchpad, String from, String to, Integer limit) {
+        String grouping = groupBy == null || groupBy.isBlank() ? null : groupBy.trim().toLowerCase();
+        if (grouping != null && !GROUP_BY.contains(grouping)) {
+            throw new IllegalArgumentException("Unsupported groupBy: " + groupBy + ", expected one of " + GROUP_BY);
+        }
+        if (limit != null && limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        YearMonth first = parseMonth(from, false);
+        YearMonth last = parseMonth(to, true);
+        Set<String> rockets = SpaceXToolService.resolve(rocket, spaceXClient::getAllRockets,
+                r -> Stream.of(r.id(), r.name()));
+        Set<String> launchpads = SpaceXToolService.resolve(launchpad, spaceXClient::getAllLaunchpads,
+                l -> Stream.of(l.id(), l.name(), l.fullName()));
+
+        Map<String, Counts> groups = new HashMap<>();
+        Counts total = Counts.ZERO;
+        for (Map.Entry<Cell, Counts> entry : aggregates().cells().entrySet()) {
+            Cell cell = entry.getKey();
+            if ((rockets != null && !rockets.contains(cell.rocket()))
+                    || (launchpads != null && !launchpads.contains(cell.launchpad()))
+                    || (first != null && (cell.month() == null || cell.month().isBefore(first)))
+                    || (last != null && (cell.month() == null || cell.month().isAfter(last)))) {
+                continue;
+            }
+            total = total.plus(entry.getValue());
+            if (grouping != null) {
+                groups.merge(key(grouping, cell), entry.getValue(), Counts::plus);
+            }
+        }
+
+        List<Group> rows = new ArrayList<>();
+        if (grouping != null) {
+            Function<String, String> names = names(grouping);
+            groups.forEach((key, counts) -> rows.add(Group.of(key, names.apply(key), counts)));
+            rows.sort(grouping.equals("year") || grouping.equals("month")
+                    ? Comparator.comparing(Group::key)
+                    : Comparator.comparingInt(Group::launches).reversed().thenComparing(Group::key));
+        }
+        List<Group> limited = limit == null || limit >= rows.size() ? rows : rows.subList(0, limit);
+        return new LaunchStats(grouping, Group.of(null, null, total), grouping == null ? null : List.copyOf(limited));
+    }
+
+    /**
+     * The launch list the aggregates were counted from, for staleness reporting.
+     */
+    List<Launch> source() {
+        return spaceXClient.getAllLaunches();
+    }
+
+    private LaunchAggregates aggregates() {
+        if (launchStore != null && launchStore.isLoaded()) {
+            return launchStore.aggregates();
+        }
+        List<Launch> launches = spaceXClient.getAllLaunches();
+        Counted current = counted;
+        if (current == null || current.launches() != launches) {
+            current = new Counted(launches, LaunchAggregates.of(launches == null ? List.of() : launches));
+            counted = current;
+        }
+        return current.aggregates();
+    }
+
+    private static String key(String grouping, Cell cell) {
+        return switch (grouping) {
+            case "rocket" -> String.valueOf(cell.rocket());
+            case "launchpad" -> String.valueOf(cell.launchpad());
+            case "year" -> cell.month() == null ? "unknown" : String.valueOf(cell.month().getYear());
+            default -> cell.month() == null ? "unknown" : cell.month().toString();
+        };
+    }
+
+    /**
+     * Rocket and launchpad ids are named from the cached reference lists; dates name themselves.
+     */
+    private Function<String, String> names(String grouping) {
+        Map<String, String> names = new HashMap<>();
+        if (grouping.equals("rocket")) {
+            for (Rocket rocket : spaceXClient.getAllRockets()) {
+                names.put(rocket.id(), rocket.name());
+            }
+        } else if (grouping.equals("launchpad")) {
+            for (Launchpad launchpad : spaceXClient.getAllLaunchpads()) {
+                names.put(launchpad.id(), launchpad.name());
+            }
+        }
+        return names::get;
+    }
+
+    private static YearMonth parseMonth(String value, boolean upperBound) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            if (text.length() == 4) {
+                return YearMonth.of(Integer.parseInt(text), upperBound ? 12 : 1);
+            }
+            return YearMonth.parse(text.length() > 7 ? text.substring(0, 7) : text);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid year or month: " + value);
+        }
+    }
+
+    private record Counted(List<Launch> launches, LaunchAggregates aggregates) {
+    }
+
+    /**
+     * @param groupBy the grouping applied, or {@code null}
+     * @param total   all launches matching the filters
+     * @param groups  the matching launches per group, absent without a grouping
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record LaunchStats(@JsonProperty("group_by") String groupBy, Group total, List<Group> groups) {
+    }
+
+    /**
+     * @param successRate         successful launches out of those with a known outcome, in percent
+     * @param daysBetweenLaunches average days between flown launches
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Group(
+            String key,
+            String name,
+            int launches,
+            int flown,
+            int upcoming,
+            int successes,
+            int failures,
+            @JsonProperty("success_rate") Double successRate,
+            @JsonProperty("days_between_launches") Double daysBetweenLaunches,
+            @JsonProperty("first_launch") String firstLaunch,
+            @JsonProperty("last_launch") String lastLaunch
+    ) {
+
+        static Group of(String key, String name, Counts counts) {
+            int outcomes = counts.successes() + counts.failures();
+            Double successRate = outcomes == 0 ? null : round(100.0 * counts.successes() / outcomes);
+            Double cadence = null;
+            if (counts.flown() > 1 && counts.firstFlown() != null) {
+                long hours = Duration.between(counts.firstFlown(), counts.lastFlown()).toHours();
+                cadence = round(hours / 24.0 / (counts.flown() - 1));
+            }
+            return new Group(key, name, counts.launches(), counts.flown(), counts.upcoming(), counts.successes(),
+                    counts.failures(), successRate, cadence,
+                    counts.firstFlown() == null ? null : counts.firstFlown().toLocalDate().toString(),
+                    counts.lastFlown() == null ? null : counts.lastFlown().toLocalDate().toString());
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 10) / 10.0;
+        }
+    }
+}
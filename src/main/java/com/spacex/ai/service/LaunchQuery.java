@@ -0,0 +1,35 @@
+package com.spacex.ai.service;
+
+import java.util.List;
+
+/**
+ * Filter, sort, paging and projection parameters shared by the launch list tools.
+ * <p>
+ * Everything is optional; an empty query returns every launch with all fields in date order.
+ */
+public interface LaunchQuery {
+
+    /** JSON property names (dotted for nested values, e.g. {@code links.webcast}) to keep; all when empty. */
+    List<String> fields();
+
+    /** Earliest launch date (UTC), inclusive; ISO date or date-time. */
+    String from();
+
+    /** Latest launch date (UTC), inclusive; a plain date covers the whole day. */
+    String to();
+
+    Boolean success();
+
+    /** Rocket id or name. */
+    String rocket();
+
+    /** Launchpad id, name or full name. */
+    String launchpad();
+
+    /** {@code date_utc}, {@code flight_number} or {@code name}, prefixed with {@code -} for descending. */
+    String sort();
+
+    Integer limit();
+
+    Integer offset();
+}
@@ -0,0 +1,125 @@
+package com.spacex.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized tool and MCP results, reused while the data they were written from is unchanged.
+ * <p>
+ * The launch list behind most results only changes on a launch store sync or a cache refresh,
+ * yet every call would otherwise filter and serialize it again. Each entry remembers the
+ * {@link Version} of the data it was written from and is reused while the current data has the
+ * same version. A version is the launch store version for lists read from the store, plus the
+ * instances of any other data the result was computed from, such as the cached rocket and
+ * launchpad lists that names are resolved against. Instances are compared by identity only:
+ * a refreshed list is a new version even if it is equal, since comparing whole lists would
+ * cost more than serializing the result again.
+ * <p>
+ * Lookups are counted in {@code spacex.serialized.results}, tagged with the tool and a
+ * {@code result} of {@code hit} or {@code miss}.
+ */
+@Component
+public class SerializedResults {
+
+    public static final String METRIC = "spacex.serialized.results";
+
+    private static final int MAXIMUM_SIZE = 256;
+
+    private final Cache<Key, Entry> entries = Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+    private final MeterRegistry meterRegistry;
+
+    public SerializedResults(@Nullable MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The result of {@code name} for {@code request}, written by {@code writer} unless it was
+     * already written from data of the same {@code version}. A {@code null} version is never cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name, Object request, @Nullable Version version, Writer<T> writer)
+            throws JsonProcessingException {
+        if (version == null) {
+            return writer.write();
+        }
+        Key key = new Key(name, request);
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.version().sameAs(version)) {
+            count(name, "hit");
+            return (T) entry.value();
+        }
+        count(name, "miss");
+        T value = writer.write();
+        entries.put(key, new Entry(version, value));
+        return value;
+    }
+
+    private void count(String name, String result) {
+        if (meterRegistry != null) {
+            Counter.builder(METRIC)
+                    .description("Tool results served from or written to the serialized result cache")
+                    .tag("tool", name)
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Writer<T> {
+
+        T write() throws JsonProcessingException;
+    }
+
+    /**
+     * Identifies the data a result is written from.
+     */
+    public static final class Version {
+
+        private final long store;
+        private final Object[] sources;
+
+        private Version(long store, Object[] sources) {
+            this.store = store;
+            this.sources = sources;
+        }
+
+        /**
+         * @param store   the launch store version the result was read from, or a negative number if none
+         * @param sources the other data the result was computed from; {@code null}s stand for data not used
+         */
+        public static Version of(long store, Object... sources) {
+            return new Version(store, sources.clone());
+        }
+
+        /**
+         * The version of {@code source}, data not read from the launch store.
+         */
+        public static Version of(Object source) {
+            return of(-1, source);
+        }
+
+        boolean sameAs(Version other) {
+            if (store != other.store || sources.length != other.sources.length) {
+                return false;
+            }
+            for (int i = 0; i < sources.length; i++) {
+                if (sources[i] != other.sources[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Key(String name, Object request) {
+    }
+
+    private record Entry(Version version, Object value) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.spacex.ai.service;
+
+import com.spacex.ai.service.ToolCallProgress.Status;
+import com.spacex.ai.service.ToolCallProgress.ToolCallEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage.ToolResponse;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * {@link ToolCallingManager} used by the chat model.
+ * <p>
+ * When the model requests several tools in one turn, each call is executed through the Spring AI
+ * default manager on its own task, so the turn takes as long as the slowest call instead of the
+ * sum of all of them. A call that exceeds the per-call timeout is interrupted and answered with
+ * an error message the model can react to. Results are returned in the order the model asked
+ * for them. Progress of every call is reported to the {@link ToolCallProgress} listener found in
+ * the tool context, so that streaming clients can see which tools the model is waiting on.
+ * <p>
+ * The caller waits for the calls to finish. For streamed completions Spring AI calls this from
+ * the response stream, which is therefore moved off the Reactor Netty event loop, see
+ * {@link com.spacex.ai.config.AnthropicConfiguration#modelStreamOffloading()}.
+ * <p>
+ * Every call is observed as {@code spacex.tool.call}, tagged by {@code tool} and {@code outcome}
+ * ({@code success}, {@code error}, {@code timeout}, or {@code cancelled} when another call of
+ * the turn failed): a timer and, with tracing, a span that is
+ * a child of the chat request and the parent of the SpaceX API requests the tool makes.
+ */
+public class SpaceXToolCallingManager implements ToolCallingManager {
+
+    private static final Logger log = LoggerFactory.getLogger(SpaceXToolCallingManager.class);
+
+    private static final String OUTCOME = "outcome";
+
+    private final ToolCallingManager delegate;
+    private final AsyncTaskExecutor executor;
+    private final Duration callTimeout;
+    private final ObservationRegistry observationRegistry;
+
+    public SpaceXToolCallingManager(ToolCallingManager delegate, AsyncTaskExecutor executor, Duration callTimeout,
+                                    ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.callTimeout = callTimeout;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        ToolCallProgress progress = ToolCallProgress.from(prompt.getOptions());
+        AssistantMessage assistantMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(AssistantMessage::hasToolCalls)
+                .findFirst()
+                .orElse(null);
+        if (assistantMessage == null) {
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        long deadline = System.nanoTime() + callTimeout.toNanos();
+        List<PendingCall> pending = new ArrayList<>(toolCalls.size());
+        for (AssistantMessage.ToolCall call : toolCalls) {
+            ChatResponse single = new ChatResponse(
+                    List.of(new Generation(new AssistantMessage(assistantMessage.getText(),
+                            assistantMessage.getMetadata(), List.of(call)))),
+                    chatResponse.getMetadata());
+            PendingCall pendingCall = new PendingCall(call, progress, observationRegistry);
+            pendingCall.future = executor.submit(() -> pendingCall.run(() -> delegate.executeToolCalls(prompt, single)));
+            pending.add(pendingCall);
+        }
+
+        List<ToolResponse> responses = new ArrayList<>(toolCalls.size());
+        boolean returnDirect = true;
+        RuntimeException failure = null;
+        for (PendingCall pendingCall : pending) {
+            AssistantMessage.ToolCall call = pendingCall.call;
+            if (failure != null) {
+                pendingCall.cancel("cancelled");
+                continue;
+            }
+            try {
+                ToolExecutionResult result = pendingCall.future.get(
+                        Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                responses.addAll(toolResponses(result));
+                returnDirect &= result.returnDirect();
+            } catch (TimeoutException e) {
+                pendingCall.cancel("timeout");
+                log.warn("Tool call {} ({}) timed out after {}", call.name(), call.id(), callTimeout);
+                responses.add(new ToolResponse(call.id(), call.name(),
+                        "Error: " + call.name() + " did not complete within " + callTimeout.toSeconds() + "s"));
+                returnDirect = false;
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+            } catch (CancellationException e) {
+                failure = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pendingCall.cancel("cancelled");
+                failure = new IllegalStateException("Interrupted while waiting for tool " + call.name(), e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        List<Message> conversationHistory = new ArrayList<>(prompt.getInstructions());
+        conversationHistory.add(assistantMessage);
+        conversationHistory.add(new ToolResponseMessage(responses));
+        return ToolExecutionResult.builder()
+                .conversationHistory(conversationHistory)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    private static List<ToolResponse> toolResponses(ToolExecutionResult result) {
+        List<Message> history = result.conversationHistory();
+        if (!history.isEmpty() && history.get(history.size() - 1) instanceof ToolResponseMessage message) {
+            return message.getResponses();
+        }
+        return List.of();
+    }
+
+    /**
+     * One tool call in flight. Its completion event is reported exactly once: by the task when it
+     * finishes, or by the caller when it gives up on it.
+     */
+    private static final class PendingCall {
+
+        private final AssistantMessage.ToolCall call;
+        private final ToolCallProgress progress;
+        private final Observation observation;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean reported = new AtomicBoolean();
+        private volatile Future<ToolExecutionResult> future;
+
+        PendingCall(AssistantMessage.ToolCall call, ToolCallProgress progress, ObservationRegistry observationRegistry) {
+            this.call = call;
+            this.progress = progress;
+            // Started on the calling thread, so its parent is the chat request being served
+            this.observation = Observation.createNotStarted("spacex.tool.call", observationRegistry)
+                    .contextualName("tool " + call.name())
+                    .lowCardinalityKeyValue("tool", call.name())
+                    .highCardinalityKeyValue("tool.call.id", call.id())
+                    .start();
+            progress.onEvent(new ToolCallEvent(call.id(), call.name(), Status.STARTED, 0));
+        }
+
+        ToolExecutionResult run(Supplier<ToolExecutionResult> execution) {
+            ToolExecutionResult result;
+            try (Observation.Scope scope = observation.openScope()) {
+                result = execution.get();
+            } catch (RuntimeException e) {
+                observation.error(e);
+                report(Status.FAILED, "error");
+                throw e;
+            }
+            report(Status.COMPLETED, "success");
+            return result;
+        }
+
+        void cancel(String outcome) {
+            report(Status.FAILED, outcome);
+            future.cancel(true);
+        }
+
+        // Synchronized so that a caller giving up on the call returns only after the task's own
+        // report, if that came first, has reached the listener
+        private synchronized void report(Status status, String outcome) {
+            if (reported.compareAndSet(false, true)) {
+                observation.lowCardinalityKeyValue(OUTCOME, outcome).stop();
+                progress.onEvent(new ToolCallEvent(call.id(), call.name(), status, (System.nanoTime() - start) / 1_000_000));
+            }
+        }
+    }
+}
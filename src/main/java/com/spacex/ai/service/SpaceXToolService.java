@@ -1,34 +1,76 @@
 package com.spacex.ai.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spacex.ai.client.SpaceXClient;
 import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.LaunchDetails;
 import com.spacex.ai.model.Launchpad;
 import com.spacex.ai.model.Rocket;
 import com.spacex.ai.model.Ship;
+import com.spacex.ai.service.SerializedResults.Version;
+import com.spacex.ai.store.LaunchFilter;
+import com.spacex.ai.store.LaunchStore;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.model.function.FunctionCallback;
+import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @Service
 public class SpaceXToolService {
 
+    private static final String FIELDS = "JSON property names to return, e.g. [\"name\", \"date_utc\", \"success\"] or "
+            + "[\"links.webcast\"] for a nested value. Omit to return every field";
+    private static final String FROM = "Only launches on or after this UTC date (yyyy-MM-dd or ISO date-time)";
+    private static final String TO = "Only launches on or before this UTC date (yyyy-MM-dd or ISO date-time)";
+    private static final String SUCCESS = "Only successful (true) or failed (false) launches";
+    private static final String ROCKET = "Rocket id or name, e.g. Falcon 9";
+    private static final String LAUNCHPAD = "Launchpad id, name or full name, e.g. KSC LC 39A";
+    private static final String SORT = "date_utc, flight_number or name; prefix with - for descending, e.g. -date_utc";
+    private static final String LIMIT = "Maximum number of launches to return";
+    private static final String OFFSET = "Number of matching launches to skip";
+    private static final String GROUP_BY = "rocket, launchpad, year or month. Omit for totals only";
+    private static final String FROM_MONTH = "First year or month included (yyyy or yyyy-MM)";
+    private static final String TO_MONTH = "Last year or month included (yyyy or yyyy-MM)";
+    private static final String GROUP_LIMIT = "Maximum number of groups; rockets and launchpads are ranked by launches";
+
+    private static final Pattern OBJECT_ID = Pattern.compile("[0-9a-f]{24}");
+
     private final SpaceXClient spaceXClient;
-    private final ObjectMapper objectMapper;
+    private final ToolResultCompactor compactor;
+    private final LaunchAnalytics launchAnalytics;
+    private final SerializedResults serializedResults;
 
-    public SpaceXToolService(SpaceXClient spaceXClient, ObjectMapper objectMapper) {
+    public SpaceXToolService(SpaceXClient spaceXClient, ToolResultCompactor compactor,
+                             LaunchAnalytics launchAnalytics, SerializedResults serializedResults) {
         this.spaceXClient = spaceXClient;
-        this.objectMapper = objectMapper;
+        this.compactor = compactor;
+        this.launchAnalytics = launchAnalytics;
+        this.serializedResults = serializedResults;
     }
 
     public Function<GetAllLaunchesRequest, String> getAllLaunches() {
         return request -> {
             try {
-                List<Launch> launches = spaceXClient.getAllLaunches();
-                return objectMapper.writeValueAsString(launches);
-            } catch (JsonProcessingException e) {
+                List<Launch> source = spaceXClient.getAllLaunches();
+                return write("getAllLaunches", request, source,
+                        version(source, request.rocket(), request.launchpad(), null),
+                        () -> select(source, request), request.fields(), pageOffset(request));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
                 return "Error retrieving launches: " + e.getMessage();
             }
         };
@@ -38,19 +80,34 @@ public class SpaceXToolService {
         return request -> {
             try {
                 Launch launch = spaceXClient.getLaunchById(request.id());
-                return objectMapper.writeValueAsString(launch);
+                return write("getLaunchById", request, launch, Version.of(launch), () -> launch,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving launch: " + e.getMessage();
             }
         };
     }
 
-    public Function<GetUpcomingLaunchesRequest, String> getUpcomingLaunches() {
+    public Function<GetLaunchDetailsRequest, String> getLaunchDetails() {
         return request -> {
             try {
-                List<Launch> launches = spaceXClient.getUpcomingLaunches();
-                return objectMapper.writeValueAsString(launches);
+                LaunchDetails details = spaceXClient.getLaunchDetails(request.id());
+                return write("getLaunchDetails", request, details, Version.of(details), () -> details,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
+                return "Error retrieving launch details: " + e.getMessage();
+            }
+        };
+    }
+
+    public Function<GetUpcomingLaunchesRequest, String> getUpcomingLaunches() {
+        return request -> {
+            try {
+                List<Launch> source = spaceXClient.getUpcomingLaunches();
+                return write("getUpcomingLaunches", request, source,
+                        version(source, request.rocket(), request.launchpad(), null),
+                        () -> select(source, request), request.fields(), pageOffset(request));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
                 return "Error retrieving upcoming launches: " + e.getMessage();
             }
         };
@@ -59,9 +116,11 @@ public class SpaceXToolService {
     public Function<GetPastLaunchesRequest, String> getPastLaunches() {
         return request -> {
             try {
-                List<Launch> launches = spaceXClient.getPastLaunches();
-                return objectMapper.writeValueAsString(launches);
-            } catch (JsonProcessingException e) {
+                List<Launch> source = spaceXClient.getPastLaunches();
+                return write("getPastLaunches", request, source,
+                        version(source, request.rocket(), request.launchpad(), null),
+                        () -> select(source, request), request.fields(), pageOffset(request));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
                 return "Error retrieving past launches: " + e.getMessage();
             }
         };
@@ -71,7 +130,8 @@ public class SpaceXToolService {
         return request -> {
             try {
                 Launch launch = spaceXClient.getLatestLaunch();
-                return objectMapper.writeValueAsString(launch);
+                return write("getLatestLaunch", request, launch, Version.of(launch), () -> launch,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving latest launch: " + e.getMessage();
             }
@@ -82,7 +142,8 @@ public class SpaceXToolService {
         return request -> {
             try {
                 Launch launch = spaceXClient.getNextLaunch();
-                return objectMapper.writeValueAsString(launch);
+                return write("getNextLaunch", request, launch, Version.of(launch), () -> launch,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving next launch: " + e.getMessage();
             }
@@ -93,7 +154,8 @@ public class SpaceXToolService {
         return request -> {
             try {
                 List<Rocket> rockets = spaceXClient.getAllRockets();
-                return objectMapper.writeValueAsString(rockets);
+                return write("getAllRockets", request, rockets, Version.of(rockets), () -> rockets,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving rockets: " + e.getMessage();
             }
@@ -104,7 +166,8 @@ public class SpaceXToolService {
         return request -> {
             try {
                 Rocket rocket = spaceXClient.getRocketById(request.id());
-                return objectMapper.writeValueAsString(rocket);
+                return write("getRocketById", request, rocket, Version.of(rocket), () -> rocket,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving rocket: " + e.getMessage();
             }
@@ -115,7 +178,8 @@ public class SpaceXToolService {
         return request -> {
             try {
                 List<Ship> ships = spaceXClient.getAllShips();
-                return objectMapper.writeValueAsString(ships);
+                return write("getAllShips", request, ships, Version.of(ships), () -> ships,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving ships: " + e.getMessage();
             }
@@ -126,7 +190,8 @@ public class SpaceXToolService {
         return request -> {
             try {
                 Ship ship = spaceXClient.getShipById(request.id());
-                return objectMapper.writeValueAsString(ship);
+                return write("getShipById", request, ship, Version.of(ship), () -> ship,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving ship: " + e.getMessage();
             }
@@ -137,7 +202,8 @@ public class SpaceXToolService {
         return request -> {
             try {
                 List<Launchpad> launchpads = spaceXClient.getAllLaunchpads();
-                return objectMapper.writeValueAsString(launchpads);
+                return write("getAllLaunchpads", request, launchpads, Version.of(launchpads), () -> launchpads,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving launchpads: " + e.getMessage();
             }
@@ -148,24 +214,273 @@ public class SpaceXToolService {
         return request -> {
             try {
                 Launchpad launchpad = spaceXClient.getLaunchpadById(request.id());
-                return objectMapper.writeValueAsString(launchpad);
+                return write("getLaunchpadById", request, launchpad, Version.of(launchpad), () -> launchpad,
+                        request.fields(), null);
             } catch (JsonProcessingException e) {
                 return "Error retrieving launchpad: " + e.getMessage();
             }
         };
     }
 
+    public Function<GetLaunchStatsRequest, String> getLaunchStats() {
+        return request -> {
+            try {
+                List<Launch> source = launchAnalytics.source();
+                return write("getLaunchStats", request, source,
+                        version(source, request.rocket(), request.launchpad(), request.groupBy()),
+                        () -> launchAnalytics.stats(
+                        request.groupBy(), request.rocket(), request.launchpad(), request.from(), request.to(),
+                        request.limit()), null, null);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                return "Error computing launch statistics: " + e.getMessage();
+            }
+        };
+    }
+
+    /**
+     * The offset a launch list result starts at; a query without one starts at the first launch,
+     * so a truncated first page still tells the model where to continue.
+     */
+    private static int pageOffset(LaunchQuery query) {
+        return query.offset() == null ? 0 : query.offset();
+    }
+
+    /**
+     * The version of the data a result for a launch list is computed from: the store version of
+     * {@code launches}, or the list itself if it did not come from the store, and the cached
+     * rocket and launchpad lists when the query matches names against them or groups by them.
+     */
+    private Version version(List<Launch> launches, String rocket, String launchpad, String groupBy) {
+        long store = LaunchStore.versionOf(launches);
+        boolean rocketNames = byName(rocket) || "rocket".equalsIgnoreCase(trim(groupBy));
+        boolean launchpadNames = byName(launchpad) || "launchpad".equalsIgnoreCase(trim(groupBy));
+        return Version.of(store, store < 0 ? launches : null,
+                rocketNames ? spaceXClient.getAllRockets() : null,
+                launchpadNames ? spaceXClient.getAllLaunchpads() : null);
+    }
+
+    private static boolean byName(String value) {
+        return value != null && !value.isBlank() && !OBJECT_ID.matcher(value.trim()).matches();
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    /**
+     * Writes a tool result, wrapped with its age when {@code source} is last-known-good data
+     * served because the SpaceX API was unavailable. The result is computed from the data of
+     * {@code version} and {@code request} alone, so it is written once per version; see
+     * {@link SerializedResults}.
+     */
+    private String write(String tool, Object request, Object source, Version version, Supplier<?> value,
+                         List<String> fields, Integer offset) throws JsonProcessingException {
+        ToolResultCompactor.Written written = serializedResults.get(tool, request,
+                source == null ? null : version,
+                () -> compactor.serialize(tool, value.get(), fields, offset));
+        compactor.record(tool, written);
+        String json = written.json();
+        return spaceXClient.staleAsOf(source)
+                .map(asOf -> "{\"stale_as_of\":\"" + asOf + "\",\"note\":\"The SpaceX API is currently unavailable; "
+                        + "this is the last data fetched\",\"result\":" + json + "}")
+                .orElse(json);
+    }
+
+    /**
+     * The tool functions as callbacks for {@code ChatClient.Builder.defaultTools}, with the
+     * descriptions the model uses to choose between them.
+     */
+    public List<FunctionCallback> toolCallbacks() {
+        return List.of(
+                tool("getAllLaunches", "All SpaceX launches, past and upcoming. Prefer filters, limit and fields "
+                        + "over fetching everything", getAllLaunches(), GetAllLaunchesRequest.class),
+                tool("getLaunchById", "A single launch by its id", getLaunchById(), GetLaunchByIdRequest.class),
+                tool("getLaunchDetails", "A single launch by its id with its rocket, launchpad, ships and payloads "
+                        + "included. Prefer this over looking up each reference separately",
+                        getLaunchDetails(), GetLaunchDetailsRequest.class),
+                tool("getUpcomingLaunches", "Scheduled launches that have not flown yet",
+                        getUpcomingLaunches(), GetUpcomingLaunchesRequest.class),
+                tool("getPastLaunches", "Launches that have already flown, with their outcome",
+                        getPastLaunches(), GetPastLaunchesRequest.class),
+                tool("getLatestLaunch", "The most recent launch", getLatestLaunch(), GetLatestLaunchRequest.class),
+                tool("getNextLaunch", "The next scheduled launch", getNextLaunch(), GetNextLaunchRequest.class),
+                tool("getAllRockets", "All SpaceX rockets with specifications", getAllRockets(), GetAllRocketsRequest.class),
+                tool("getRocketById", "A single rocket by its id, e.g. the rocket of a launch",
+                        getRocketById(), GetRocketByIdRequest.class),
+                tool("getAllShips", "All recovery and support ships", getAllShips(), GetAllShipsRequest.class),
+                tool("getShipById", "A single ship by its id", getShipById(), GetShipByIdRequest.class),
+                tool("getAllLaunchpads", "All launch sites", getAllLaunchpads(), GetAllLaunchpadsRequest.class),
+                tool("getLaunchpadById", "A single launch site by its id, e.g. the launchpad of a launch",
+                        getLaunchpadById(), GetLaunchpadByIdRequest.class),
+                tool("getLaunchStats", "Launch counts, success rate and average days between launches, optionally "
+                        + "grouped by rocket, launchpad, year or month and filtered by rocket, launchpad and date "
+                        + "range. Use this for counting, ranking and rate questions instead of fetching launches",
+                        getLaunchStats(), GetLaunchStatsRequest.class)
+        );
+    }
+
+    /**
+     * Repeats of a call within one question are answered by the {@link ToolCallMemo} in the tool
+     * context, when there is one.
+     */
+    private static <I> FunctionCallback tool(String name, String description, Function<I, String> function,
+                                             Class<I> inputType) {
+        BiFunction<I, ToolContext, String> memoized = (request, toolContext) -> {
+            ToolCallMemo memo = ToolCallMemo.from(toolContext);
+            return memo == null ? function.apply(request) : memo.call(name, request, () -> function.apply(request));
+        };
+        return FunctionCallback.builder()
+                .function(name, memoized)
+                .description(description)
+                .inputType(inputType)
+                // Results are already JSON; the default converter would encode them as a JSON string again
+                .responseConverter(String::valueOf)
+                .build();
+    }
+
+    /**
+     * Applies the filters, sort order and paging of {@code query} before anything is serialized,
+     * so only the launches the model asked for reach the prompt. On launch store lists the filters
+     * run over the store's columns, and only the launches of the page are created; see
+     * {@link LaunchStore#filter}. Sorting creates the matching launches, unless they are wanted
+     * in the date order the store keeps anyway.
+     */
+    List<Launch> select(List<Launch> launches, LaunchQuery query) {
+        LocalDateTime from = parseDate(query.from(), false);
+        LocalDateTime to = parseDate(query.to(), true);
+        Set<String> rockets = resolve(query.rocket(), spaceXClient::getAllRockets,
+                rocket -> Stream.of(rocket.id(), rocket.name()));
+        Set<String> launchpads = resolve(query.launchpad(), spaceXClient::getAllLaunchpads,
+                launchpad -> Stream.of(launchpad.id(), launchpad.name(), launchpad.fullName()));
+        String sort = query.sort() == null || query.sort().isBlank() ? null : query.sort().trim();
+        Comparator<Launch> comparator = sort == null ? null : comparator(sort);
+        if (query.offset() != null && query.offset() < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        if (query.limit() != null && query.limit() < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+
+        List<Launch> selected = LaunchStore.filter(launches,
+                new LaunchFilter(from, to, query.success(), rockets, launchpads));
+        boolean presorted = LaunchStore.inDateOrder(selected) && ("date_utc".equals(sort) || "date".equals(sort));
+        if (comparator != null && !presorted) {
+            selected = selected.stream().sorted(comparator).toList();
+        }
+        int first = query.offset() == null ? 0 : Math.min(query.offset(), selected.size());
+        int last = query.limit() == null ? selected.size() : (int) Math.min(selected.size(), (long) first + query.limit());
+        return List.copyOf(selected.subList(first, last));
+    }
+
+    private static Comparator<Launch> comparator(String sort) {
+        boolean descending = sort.startsWith("-");
+        String key = descending ? sort.substring(1) : sort;
+        Comparator<Launch> comparator = switch (key) {
+            case "date_utc", "date" -> Comparator.comparing(Launch::dateUtc, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "flight_number" -> Comparator.comparing(Launch::flightNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "name" -> Comparator.comparing(Launch::name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+            default -> throw new IllegalArgumentException("Unsupported sort: " + sort);
+        };
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * Upper bounds are exclusive internally: a plain date for {@code to} includes that whole day.
+     */
+    private static LocalDateTime parseDate(String value, boolean upperBound) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            if (text.length() == 10) {
+                LocalDate date = LocalDate.parse(text);
+                return (upperBound ? date.plusDays(1) : date).atStartOfDay();
+            }
+            LocalDateTime dateTime;
+            try {
+                dateTime = OffsetDateTime.parse(text).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            } catch (DateTimeParseException e) {
+                dateTime = LocalDateTime.parse(text);
+            }
+            return upperBound ? dateTime.plusNanos(1) : dateTime;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + value);
+        }
+    }
+
+    /**
+     * Accepts an id or a name; names are matched case-insensitively against the (cached)
+     * reference list so the model does not need a lookup round trip first.
+     */
+    static <T> Set<String> resolve(String value, Supplier<List<T>> all, Function<T, Stream<String>> keys) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String wanted = value.trim();
+        if (OBJECT_ID.matcher(wanted).matches()) {
+            return Set.of(wanted);
+        }
+        Set<String> ids = new HashSet<>();
+        for (T item : all.get()) {
+            List<String> names = keys.apply(item).toList();
+            if (names.stream().anyMatch(wanted::equalsIgnoreCase)) {
+                ids.add(names.get(0));
+            }
+        }
+        return ids;
+    }
+
     // Request records
-    public record GetAllLaunchesRequest() {}
-    public record GetLaunchByIdRequest(String id) {}
-    public record GetUpcomingLaunchesRequest() {}
-    public record GetPastLaunchesRequest() {}
-    public record GetLatestLaunchRequest() {}
-    public record GetNextLaunchRequest() {}
-    public record GetAllRocketsRequest() {}
-    public record GetRocketByIdRequest(String id) {}
-    public record GetAllShipsRequest() {}
-    public record GetShipByIdRequest(String id) {}
-    public record GetAllLaunchpadsRequest() {}
-    public record GetLaunchpadByIdRequest(String id) {}
+    public record GetAllLaunchesRequest(
+        @ToolParam(required = false, description = FIELDS) List<String> fields,
+        @ToolParam(required = false, description = FROM) String from,
+        @ToolParam(required = false, description = TO) String to,
+        @ToolParam(required = false, description = SUCCESS) Boolean success,
+        @ToolParam(required = false, description = ROCKET) String rocket,
+        @ToolParam(required = false, description = LAUNCHPAD) String launchpad,
+        @ToolParam(required = false, description = SORT) String sort,
+        @ToolParam(required = false, description = LIMIT) Integer limit,
+        @ToolParam(required = false, description = OFFSET) Integer offset
+    ) implements LaunchQuery {}
+    public record GetLaunchByIdRequest(String id, @ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetLaunchDetailsRequest(String id, @ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetUpcomingLaunchesRequest(
+        @ToolParam(required = false, description = FIELDS) List<String> fields,
+        @ToolParam(required = false, description = FROM) String from,
+        @ToolParam(required = false, description = TO) String to,
+        @ToolParam(required = false, description = SUCCESS) Boolean success,
+        @ToolParam(required = false, description = ROCKET) String rocket,
+        @ToolParam(required = false, description = LAUNCHPAD) String launchpad,
+        @ToolParam(required = false, description = SORT) String sort,
+        @ToolParam(required = false, description = LIMIT) Integer limit,
+        @ToolParam(required = false, description = OFFSET) Integer offset
+    ) implements LaunchQuery {}
+    public record GetPastLaunchesRequest(
+        @ToolParam(required = false, description = FIELDS) List<String> fields,
+        @ToolParam(required = false, description = FROM) String from,
+        @ToolParam(required = false, description = TO) String to,
+        @ToolParam(required = false, description = SUCCESS) Boolean success,
+        @ToolParam(required = false, description = ROCKET) String rocket,
+        @ToolParam(required = false, description = LAUNCHPAD) String launchpad,
+        @ToolParam(required = false, description = SORT) String sort,
+        @ToolParam(required = false, description = LIMIT) Integer limit,
+        @ToolParam(required = false, description = OFFSET) Integer offset
+    ) implements LaunchQuery {}
+    public record GetLatestLaunchRequest(@ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetNextLaunchRequest(@ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetAllRocketsRequest(@ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetRocketByIdRequest(String id, @ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetAllShipsRequest(@ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetShipByIdRequest(String id, @ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetAllLaunchpadsRequest(@ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetLaunchpadByIdRequest(String id, @ToolParam(required = false, description = FIELDS) List<String> fields) {}
+    public record GetLaunchStatsRequest(
+        @ToolParam(required = false, description = GROUP_BY) String groupBy,
+        @ToolParam(required = false, description = ROCKET) String rocket,
+        @ToolParam(required = false, description = LAUNCHPAD) String launchpad,
+        @ToolParam(required = false, description = FROM_MONTH) String from,
+        @ToolParam(required = false, description = TO_MONTH) String to,
+        @ToolParam(required = false, description = GROUP_LIMIT) Integer limit
+    ) {}
 }
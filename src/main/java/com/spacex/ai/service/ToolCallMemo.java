@@ -0,0 +1,112 @@
+package com.spacex.ai.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Results of the tool calls made while answering one question.
+ * <p>
+ * The model often repeats a call with the same arguments, e.g. {@code getRocketById} for each
+ * launch of the same rocket. The repeats are answered with the first result instead of being
+ * looked up and serialized again, which also keeps the data consistent within one answer even
+ * if a cache refresh happens in between. A repeat that arrives while the first call is still
+ * running waits for it, and fails with it. Calls that throw are not remembered.
+ * <p>
+ * A memo is passed to the model call through the tool context under {@link #CONTEXT_KEY} and
+ * applied by {@link SpaceXToolService}. Calls are counted in {@code spacex.tool.calls.memo},
+ * tagged with the {@code tool} and a {@code result} of {@code first} or {@code duplicate}.
+ */
+public final class ToolCallMemo {
+
+    public static final String CONTEXT_KEY = "spacex.toolCallMemo";
+    public static final String METRIC = "spacex.tool.calls.memo";
+
+    private final ConcurrentMap<Key, CompletableFuture<String>> results = new ConcurrentHashMap<>();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+
+    public ToolCallMemo(@Nullable MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The result of {@code tool} for {@code request}, made by {@code call} unless an equal
+     * request was already made to the same tool.
+     */
+    public String call(String tool, Object request, Supplier<String> call) {
+        Key key = new Key(tool, request);
+        CompletableFuture<String> result = new CompletableFuture<>();
+        CompletableFuture<String> first = results.putIfAbsent(key, result);
+        if (first != null) {
+            duplicates.incrementAndGet();
+            count(tool, "duplicate");
+            return await(first);
+        }
+        count(tool, "first");
+        try {
+            String value = call.get();
+            result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Errors too, or the repeats waiting for this call would wait forever
+            results.remove(key, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Calls answered from an earlier call so far.
+     */
+    public int duplicates() {
+        return duplicates.get();
+    }
+
+    /**
+     * The memo carried by the tool context, or {@code null} if calls are not to be memoized.
+     */
+    @Nullable
+    static ToolCallMemo from(@Nullable ToolContext toolContext) {
+        if (toolContext != null && toolContext.getContext().get(CONTEXT_KEY) instanceof ToolCallMemo memo) {
+            return memo;
+        }
+        return null;
+    }
+
+    private static String await(CompletableFuture<String> first) {
+        try {
+            return first.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical tool call", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void count(String tool, String result) {
+        if (meterRegistry != null) {
+            Counter.builder(METRIC)
+                    .description("Tool calls made for a question, and repeats of them answered from the first")
+                    .tag("tool", tool)
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private record Key(String tool, Object request) {
+    }
+}
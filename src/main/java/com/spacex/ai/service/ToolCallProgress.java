@@ -0,0 +1,65 @@
+package com.spacex.ai.service;
+
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.model.function.FunctionCallingOptions;
+
+import java.util.Collection;
+
+/**
+ * Receives progress events for the tool calls made while answering one question.
+ * <p>
+ * A listener is passed to the model call through the tool context under {@link #CONTEXT_KEY}
+ * and notified by {@link SpaceXToolCallingManager}. Implementations must be thread-safe.
+ */
+@FunctionalInterface
+public interface ToolCallProgress {
+
+    String CONTEXT_KEY = "spacex.toolCallProgress";
+
+    ToolCallProgress NONE = event -> {};
+
+    void onEvent(ToolCallEvent event);
+
+    /**
+     * A listener that notifies this listener, then {@code next}.
+     */
+    default ToolCallProgress andThen(ToolCallProgress next) {
+        return event -> {
+            onEvent(event);
+            next.onEvent(event);
+        };
+    }
+
+    /**
+     * A listener that adds the name of every successfully completed tool to {@code tools}.
+     */
+    static ToolCallProgress completedTools(Collection<String> tools) {
+        return event -> {
+            if (event.status() == Status.COMPLETED) {
+                tools.add(event.tool());
+            }
+        };
+    }
+
+    /**
+     * The listener carried by the prompt options, or {@link #NONE}.
+     */
+    static ToolCallProgress from(ChatOptions options) {
+        if (options instanceof FunctionCallingOptions functionOptions
+                && functionOptions.getToolContext() != null
+                && functionOptions.getToolContext().get(CONTEXT_KEY) instanceof ToolCallProgress progress) {
+            return progress;
+        }
+        return NONE;
+    }
+
+    enum Status { STARTED, COMPLETED, FAILED }
+
+    /**
+     * @param id         tool call id assigned by the model
+     * @param tool       tool name
+     * @param status     lifecycle stage
+     * @param durationMs time spent executing, {@code 0} for {@link Status#STARTED}
+     */
+    record ToolCallEvent(String id, String tool, Status status, long durationMs) {}
+}
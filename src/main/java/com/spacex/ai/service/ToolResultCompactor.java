@@ -0,0 +1,287 @@
+package com.spacex.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spacex.ai.config.ToolResultProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps tool results inside a per-call token budget.
+ * <p>
+ * Results that fit the budget are passed through unchanged. Larger results are compacted in
+ * stages until they fit: null and empty values, low-value fields and long strings are dropped
+ * or cut; lists of objects are re-encoded as a table ({@code columns} + {@code rows}) so that
+ * property names are written once; finally the rows are truncated and the envelope reports
+ * {@code total}, {@code returned} and, for pageable tools, the {@code next_offset} to continue from.
+ * Single objects, such as a launch with its payloads and crew, have the lists nested in them
+ * truncated the same way.
+ * <p>
+ * Token counts are estimated from the JSON length and recorded in the
+ * {@code spacex.tools.result.tokens} summary, tagged by tool and whether the result was compacted.
+ */
+@Component
+public class ToolResultCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(ToolResultCompactor.class);
+
+    private final ObjectMapper objectMapper;
+    private final ToolResultProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ToolResultCompactor(ObjectMapper objectMapper, ToolResultProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Serializes {@code value} reduced to {@code fields}, compacted to the token budget.
+     *
+     * @param offset the offset the result starts at for tools that accept one, otherwise {@code null}
+     */
+    public String write(String tool, Object value, List<String> fields, Integer offset) throws JsonProcessingException {
+        Written written = serialize(tool, value, fields, offset);
+        record(tool, written);
+        return written.json();
+    }
+
+    /**
+     * As {@link #write} without recording the result, for callers that reuse it.
+     */
+    Written serialize(String tool, Object value, List<String> fields, Integer offset) throws JsonProcessingException {
+        boolean projected = fields != null && !fields.isEmpty();
+        JsonNode result = projected ? ToolResults.project(objectMapper, value, fields) : null;
+        String json = objectMapper.writeValueAsString(projected ? result : value);
+        int tokens = estimateTokens(json);
+        if (tokens <= properties.tokenBudget()) {
+            return new Written(json, tokens, false);
+        }
+
+        // Only results over budget are worth a tree to compact
+        if (result == null) {
+            result = objectMapper.valueToTree(value);
+        }
+
+        String compacted = objectMapper.writeValueAsString(compact(result, offset == null ? null : Math.max(offset, 0)));
+        int compactedTokens = estimateTokens(compacted);
+        log.debug("Compacted {} result from ~{} to ~{} tokens", tool, tokens, compactedTokens);
+        return new Written(compacted, compactedTokens, true);
+    }
+
+    public int estimateTokens(String json) {
+        return (json.length() + properties.charsPerToken() - 1) / properties.charsPerToken();
+    }
+
+    JsonNode compact(JsonNode result, Integer offset) {
+        if (!result.isArray()) {
+            JsonNode slim = slim(result);
+            ObjectNode envelope = objectMapper.createObjectNode();
+            envelope.set("result", slim);
+            envelope.put("compacted", true);
+            if (slim instanceof ObjectNode object && truncateLists(object)) {
+                envelope.put("note", "Lists truncated to fit the token budget; request fewer fields to see more");
+            }
+            envelope.put("estimated_tokens", estimateTokens(slim.toString()));
+            return envelope;
+        }
+
+        List<JsonNode> items = new ArrayList<>(result.size());
+        for (JsonNode item : result) {
+            items.add(slim(item));
+        }
+
+        ObjectNode envelope = objectMapper.createObjectNode();
+        List<String> columns = columns(items);
+        if (columns != null) {
+            envelope.putPOJO("columns", columns);
+        }
+        ArrayNode rows = envelope.putArray(columns == null ? "items" : "rows");
+
+        int budgetChars = budgetChars();
+        int usedChars = columns == null ? 0 : columns.toString().length();
+        for (JsonNode item : items) {
+            JsonNode row = columns == null ? item : row(item, columns);
+            int length = row.toString().length() + 1;
+            if (usedChars + length > budgetChars && !rows.isEmpty()) {
+                break;
+            }
+            rows.add(row);
+            usedChars += length;
+        }
+
+        int returned = rows.size();
+        envelope.put("total", items.size());
+        envelope.put("returned", returned);
+        if (returned < items.size()) {
+            if (offset != null) {
+                envelope.put("next_offset", offset + returned);
+                envelope.put("note", "Truncated to fit the token budget; call again with offset="
+                        + (offset + returned) + " or narrow the query with filters, limit or fields");
+            } else {
+                envelope.put("note", "Truncated to fit the token budget; request fewer fields to see more");
+            }
+        }
+        envelope.put("estimated_tokens", estimateTokens(envelope.toString()));
+        return envelope;
+    }
+
+    /**
+     * The characters a result may take, leaving room for the envelope's own fields.
+     */
+    private int budgetChars() {
+        return properties.tokenBudget() * properties.charsPerToken() - 200;
+    }
+
+    /**
+     * Truncates the lists nested in {@code node}, longest first, until it fits the budget. A
+     * truncated list is replaced by {@code items} with the {@code total} and {@code returned}
+     * counts, as a truncated list result is, and keeps at least its first item.
+     *
+     * @return whether a list was truncated
+     */
+    private boolean truncateLists(ObjectNode node) {
+        int excess = node.toString().length() - budgetChars();
+        if (excess <= 0) {
+            return false;
+        }
+        List<NestedList> lists = new ArrayList<>();
+        collectLists(node, lists);
+        lists.sort(Comparator.comparingInt((NestedList list) -> list.items().toString().length()).reversed());
+
+        boolean truncated = false;
+        for (NestedList list : lists) {
+            if (excess <= 0) {
+                break;
+            }
+            ArrayNode items = list.items();
+            int returned = items.size();
+            // {"items":[...],"total":n,"returned":m} adds up to this much around the items kept
+            int counts = 31 + 2 * Integer.toString(items.size()).length();
+            int removed = 0;
+            while (returned > 1 && removed < excess + counts) {
+                returned--;
+                removed += items.get(returned).toString().length() + 1;
+            }
+            if (returned == items.size()) {
+                continue;
+            }
+            ObjectNode marker = objectMapper.createObjectNode();
+            ArrayNode kept = marker.putArray("items");
+            for (int i = 0; i < returned; i++) {
+                kept.add(items.get(i));
+            }
+            marker.put("total", items.size());
+            marker.put("returned", returned);
+            excess += marker.toString().length() - items.toString().length();
+            list.parent().set(list.field(), marker);
+            truncated = true;
+        }
+        return truncated;
+    }
+
+    private static void collectLists(ObjectNode node, List<NestedList> lists) {
+        node.fields().forEachRemaining(field -> {
+            if (field.getValue() instanceof ArrayNode items) {
+                lists.add(new NestedList(node, field.getKey(), items));
+            } else if (field.getValue() instanceof ObjectNode object) {
+                collectLists(object, lists);
+            }
+        });
+    }
+
+    /**
+     * Drops null, empty and low-value properties and cuts long strings.
+     */
+    private JsonNode slim(JsonNode node) {
+        if (!node.isObject()) {
+            return node;
+        }
+        ObjectNode copy = ((ObjectNode) node).deepCopy();
+        for (String field : properties.lowValueFields()) {
+            remove(copy, field.split("\\."), 0);
+        }
+        prune(copy);
+        return copy;
+    }
+
+    private void prune(ObjectNode node) {
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value instanceof ObjectNode object) {
+                prune(object);
+            }
+            if (value.isNull() || (value.isContainerNode() && value.isEmpty())) {
+                fields.remove();
+            } else if (value.isTextual() && value.asText().length() > properties.maxStringLength()) {
+                field.setValue(objectMapper.getNodeFactory()
+                        .textNode(value.asText().substring(0, properties.maxStringLength()) + "..."));
+            }
+        }
+    }
+
+    private static void remove(ObjectNode node, String[] path, int depth) {
+        if (depth == path.length - 1) {
+            node.remove(path[depth]);
+        } else if (node.get(path[depth]) instanceof ObjectNode child) {
+            remove(child, path, depth + 1);
+        }
+    }
+
+    /**
+     * The union of property names when every item is an object, otherwise {@code null}.
+     */
+    private static List<String> columns(List<JsonNode> items) {
+        Set<String> columns = new LinkedHashSet<>();
+        for (JsonNode item : items) {
+            if (!item.isObject()) {
+                return null;
+            }
+            item.fieldNames().forEachRemaining(columns::add);
+        }
+        return items.isEmpty() ? null : List.copyOf(columns);
+    }
+
+    private ArrayNode row(JsonNode item, List<String> columns) {
+        ArrayNode row = objectMapper.createArrayNode();
+        for (String column : columns) {
+            row.add(item.has(column) ? item.get(column) : objectMapper.nullNode());
+        }
+        return row;
+    }
+
+    void record(String tool, Written written) {
+        DistributionSummary.builder("spacex.tools.result.tokens")
+                .description("Estimated prompt tokens of AI tool results")
+                .baseUnit("tokens")
+                .tag("tool", tool)
+                .tag("compacted", Boolean.toString(written.compacted()))
+                .register(meterRegistry)
+                .record(written.tokens());
+    }
+
+    private record NestedList(ObjectNode parent, String field, ArrayNode items) {
+    }
+
+    /**
+     * A serialized tool result with its estimated size.
+     */
+    record Written(String json, int tokens, boolean compacted) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.spacex.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reduces tool results to the requested fields.
+ * <p>
+ * Field names are the JSON property names of the model records ({@code flight_number},
+ * {@code date_utc}); a dotted name such as {@code links.webcast} keeps a single nested value.
+ * Names that do not exist on a result are ignored.
+ */
+final class ToolResults {
+
+    private ToolResults() {
+    }
+
+    static JsonNode project(ObjectMapper objectMapper, Object value, List<String> fields) {
+        if (value instanceof Collection<?> values) {
+            ArrayNode array = objectMapper.createArrayNode();
+            for (Object element : values) {
+                array.add(project(objectMapper, element, fields));
+            }
+            return array;
+        }
+        JsonNode full = objectMapper.valueToTree(value);
+        if (!full.isObject()) {
+            return full;
+        }
+        ObjectNode projected = objectMapper.createObjectNode();
+        for (String field : fields) {
+            copy(full, projected, field.trim().split("\\."), 0);
+        }
+        return projected;
+    }
+
+    private static void copy(JsonNode source, ObjectNode target, String[] path, int depth) {
+        JsonNode child = source.get(path[depth]);
+        if (child == null) {
+            return;
+        }
+        if (depth == path.length - 1) {
+            target.set(path[depth], child);
+        } else if (child.isObject()) {
+            JsonNode existing = target.get(path[depth]);
+            ObjectNode nested = existing instanceof ObjectNode node ? node : target.putObject(path[depth]);
+            copy(child, nested, path, depth + 1);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.spacex.ai.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense {@code int} codes to repeated strings, so a column of rocket or ship ids is an
+ * {@code int[]} and each distinct id is held once. {@code null} is encoded as {@link #NULL}.
+ * <p>
+ * Codes are assigned by a {@link Builder} while a {@link LaunchIndex} is built. The dictionary
+ * itself keeps the values as a {@link StringColumn} and finds codes by binary search, because
+ * most ids, such as payloads, occur on a single launch and a hash map entry per id would cost
+ * several times the id itself.
+ */
+final class Dictionary {
+
+    static final int NULL = -1;
+
+    private final StringColumn values;
+    private final int[] sorted;
+
+    private Dictionary(StringColumn values, int[] sorted) {
+        this.values = values;
+        this.sorted = sorted;
+    }
+
+    /**
+     * The code of {@code value}, or {@link #NULL} if it never occurs.
+     */
+    int code(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] wanted = value.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = sorted.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = values.compare(sorted[mid], wanted);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return sorted[mid];
+            }
+        }
+        return NULL;
+    }
+
+    String decode(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    int size() {
+        return sorted.length;
+    }
+
+    static final class Builder {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        Dictionary build() {
+            StringColumn column = StringColumn.encode(values.toArray(String[]::new));
+            Integer[] order = new Integer[values.size()];
+            for (int code = 0; code < order.length; code++) {
+                order[code] = code;
+            }
+            Arrays.sort(order, column::compare);
+            return new Dictionary(column, Arrays.stream(order).mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
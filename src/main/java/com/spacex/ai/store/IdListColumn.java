@@ -0,0 +1,65 @@
+package com.spacex.ai.store;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A column of id lists, one per launch, stored as dictionary codes back to back: the codes of
+ * row {@code r} are {@code codes[offsets[r]]} up to {@code codes[offsets[r + 1]]}. Rows whose list
+ * was {@code null}, rather than empty, are marked separately so they read back as {@code null}.
+ */
+final class IdListColumn {
+
+    private final int[] offsets;
+    private final int[] codes;
+    private final BitSet nulls;
+
+    private IdListColumn(int[] offsets, int[] codes, BitSet nulls) {
+        this.offsets = offsets;
+        this.codes = codes;
+        this.nulls = nulls;
+    }
+
+    static IdListColumn encode(List<List<String>> lists, Dictionary.Builder dictionary) {
+        int[] offsets = new int[lists.size() + 1];
+        BitSet nulls = new BitSet();
+        int total = 0;
+        for (int row = 0; row < lists.size(); row++) {
+            List<String> list = lists.get(row);
+            if (list == null) {
+                nulls.set(row);
+            } else {
+                total += list.size();
+            }
+            offsets[row + 1] = total;
+        }
+        int[] codes = new int[total];
+        int next = 0;
+        for (List<String> list : lists) {
+            if (list != null) {
+                for (String id : list) {
+                    codes[next++] = dictionary.encode(id);
+                }
+            }
+        }
+        return new IdListColumn(offsets, codes, nulls);
+    }
+
+    List<String> get(int row, Dictionary dictionary) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        int from = offsets[row];
+        int to = offsets[row + 1];
+        if (from == to) {
+            return List.of();
+        }
+        String[] ids = new String[to - from];
+        for (int i = from; i < to; i++) {
+            ids[i - from] = dictionary.decode(codes[i]);
+        }
+        return Collections.unmodifiableList(Arrays.asList(ids));
+    }
+}
@@ -0,0 +1,162 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.model.Launch;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Launch counts per rocket, launchpad and month: the cells of a small data cube that every
+ * analytics question (success rate of a rocket by year, busiest launchpad, cadence per month)
+ * rolls up from without touching individual launches.
+ * <p>
+ * Immutable. An incremental sync produces a new instance through {@link #update}, which adjusts
+ * only the cells the changed launches fall into. There are a few hundred cells at most, against
+ * several thousand launches.
+ */
+public final class LaunchAggregates {
+
+    /**
+     * One cell of the cube. Any part is {@code null} when the launches in it do not have it.
+     */
+    public record Cell(String rocket, String launchpad, YearMonth month) {
+
+        static Cell of(Launch launch) {
+            return new Cell(launch.rocket(), launch.launchpad(),
+                    launch.dateUtc() == null ? null : YearMonth.from(launch.dateUtc()));
+        }
+    }
+
+    /**
+     * Counters for a set of launches. {@code firstFlown} and {@code lastFlown} span the launches
+     * that have already flown, whatever their outcome.
+     */
+    public record Counts(int launches, int upcoming, int successes, int failures,
+                         LocalDateTime firstFlown, LocalDateTime lastFlown) {
+
+        public static final Counts ZERO = new Counts(0, 0, 0, 0, null, null);
+
+        public int flown() {
+            return launches - upcoming;
+        }
+
+        Counts plus(Launch launch) {
+            LocalDateTime flown = flownDate(launch);
+            return new Counts(launches + 1, upcoming + (Boolean.TRUE.equals(launch.upcoming()) ? 1 : 0),
+                    successes + (Boolean.TRUE.equals(launch.success()) ? 1 : 0),
+                    failures + (Boolean.FALSE.equals(launch.success()) ? 1 : 0),
+                    earliest(firstFlown, flown), latest(lastFlown, flown));
+        }
+
+        /**
+         * These counts without {@code launch}, or {@code null} if it was the first or last flown
+         * launch, since the next one in line is not known from the counts alone.
+         */
+        Counts minus(Launch launch) {
+            LocalDateTime flown = flownDate(launch);
+            if (flown != null && (flown.equals(firstFlown) || flown.equals(lastFlown))) {
+                return null;
+            }
+            return new Counts(launches - 1, upcoming - (Boolean.TRUE.equals(launch.upcoming()) ? 1 : 0),
+                    successes - (Boolean.TRUE.equals(launch.success()) ? 1 : 0),
+                    failures - (Boolean.FALSE.equals(launch.success()) ? 1 : 0),
+                    firstFlown, lastFlown);
+        }
+
+        /**
+         * Rolls two sets of launches up into one.
+         */
+        public Counts plus(Counts other) {
+            return new Counts(launches + other.launches, upcoming + other.upcoming,
+                    successes + other.successes, failures + other.failures,
+                    earliest(firstFlown, other.firstFlown), latest(lastFlown, other.lastFlown));
+        }
+
+        private static LocalDateTime flownDate(Launch launch) {
+            return Boolean.TRUE.equals(launch.upcoming()) ? null : launch.dateUtc();
+        }
+
+        private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+            return a == null ? b : b == null || a.isBefore(b) ? a : b;
+        }
+
+        private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+            return a == null ? b : b == null || a.isAfter(b) ? a : b;
+        }
+    }
+
+    private final Map<Cell, Counts> cells;
+
+    LaunchAggregates(Map<Cell, Counts> cells) {
+        this.cells = cells;
+    }
+
+    public static LaunchAggregates of(Collection<Launch> launches) {
+        Map<Cell, Counts> cells = new HashMap<>();
+        for (Launch launch : launches) {
+            cells.merge(Cell.of(launch), Counts.ZERO.plus(launch), Counts::plus);
+        }
+        return new LaunchAggregates(cells);
+    }
+
+    /**
+     * A copy with {@code removed} taken out and {@code added} put in. A launch that was changed
+     * is passed in both, with its previous and its current version. Cells whose first or last
+     * flown launch was removed are counted again with {@code recount}, over the new dataset.
+     */
+    LaunchAggregates update(Collection<Launch> removed, Collection<Launch> added, Function<Cell, Counts> recount) {
+        if (removed.isEmpty() && added.isEmpty()) {
+            return this;
+        }
+        Map<Cell, Counts> next = new HashMap<>(cells);
+        Set<Cell> recounted = new HashSet<>();
+        for (Launch launch : removed) {
+            Cell cell = Cell.of(launch);
+            Counts counts = next.get(cell);
+            Counts remaining = counts == null ? null : counts.minus(launch);
+            if (remaining == null) {
+                recounted.add(cell);
+            } else {
+                next.put(cell, remaining);
+            }
+        }
+        for (Launch launch : added) {
+            Cell cell = Cell.of(launch);
+            if (!recounted.contains(cell)) {
+                next.merge(cell, Counts.ZERO.plus(launch), Counts::plus);
+            }
+        }
+        for (Cell cell : recounted) {
+            next.put(cell, recount.apply(cell));
+        }
+        next.values().removeIf(counts -> counts.launches() == 0);
+        return new LaunchAggregates(next);
+    }
+    /**
+     * The non-empty cells.
+     */
+    public Map<Cell, Counts> cells() {
+        return Collections.unmodifiableMap(cells);
+    }
+
+    /**
+     * Totals over the cells that match {@code filter}.
+     */
+    public Counts total(Predicate<Cell> filter) {
+        Counts total = Counts.ZERO;
+        for (Map.Entry<Cell, Counts> entry : cells.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                total = total.plus(entry.getValue());
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,54 @@
+package com.spacex.ai.store;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.spacex.ai.model.Launch;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Changes to the upcoming launch schedule found by one {@link UpcomingLaunchWatcher} poll.
+ *
+ * @param detectedAt when the poll found the changes
+ * @param changes    one entry per launch that was added, rescheduled, updated or removed
+ * @param next       the earliest upcoming launch after the changes, or {@code null} if none is scheduled
+ */
+public record LaunchChanges(
+    @JsonProperty("detected_at") Instant detectedAt,
+    List<Change> changes,
+    Launch next
+) {
+
+    public enum Kind {
+        /** Newly scheduled. */
+        ADDED,
+        /** Its {@code date_utc} moved. */
+        RESCHEDULED,
+        /** Other fields changed, e.g. details, crew or webcast. */
+        UPDATED,
+        /** No longer upcoming, because it launched or was dropped from the schedule. */
+        REMOVED;
+
+        @JsonValue
+        public String value() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * @param previousDateUtc launch time before the change, {@code null} for added launches
+     * @param dateUtc         launch time after the change, {@code null} for removed launches
+     * @param fields          JSON names of the fields that changed, empty for added and removed launches
+     */
+    public record Change(
+        Kind kind,
+        String id,
+        String name,
+        @JsonProperty("previous_date_utc") LocalDateTime previousDateUtc,
+        @JsonProperty("date_utc") LocalDateTime dateUtc,
+        List<String> fields
+    ) {}
+}
@@ -0,0 +1,34 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.model.Launch;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Criteria of a launch query, evaluated on the columns of the {@link LaunchStore} for its views
+ * and on the records for any other list; see {@link LaunchStore#filter}.
+ *
+ * @param from       earliest {@code date_utc} included, or {@code null}
+ * @param to         {@code date_utc} bound, exclusive, or {@code null}; launches without a date
+ *                   only match when neither bound is set
+ * @param success    wanted outcome, or {@code null} for any
+ * @param rockets    rocket ids, or {@code null} for any
+ * @param launchpads launchpad ids, or {@code null} for any
+ */
+public record LaunchFilter(
+    LocalDateTime from,
+    LocalDateTime to,
+    Boolean success,
+    Set<String> rockets,
+    Set<String> launchpads
+) {
+
+    public boolean test(Launch launch) {
+        return (from == null || (launch.dateUtc() != null && !launch.dateUtc().isBefore(from)))
+                && (to == null || (launch.dateUtc() != null && launch.dateUtc().isBefore(to)))
+                && (success == null || success.equals(launch.success()))
+                && (rockets == null || rockets.contains(launch.rocket()))
+                && (launchpads == null || launchpads.contains(launch.launchpad()));
+    }
+}
@@ -0,0 +1,604 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.store.LaunchAggregates.Cell;
+import com.spacex.ai.store.LaunchAggregates.Counts;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable, column-oriented copy of one version of the launch dataset, with its indexes.
+ * A new instance is built for every sync and swapped in atomically by {@link LaunchStore}.
+ * <p>
+ * Launches are not kept as {@link Launch} records. Each field is a column indexed by row, rows
+ * being sorted by date: dates are epoch milliseconds in a {@code long[]}, flight numbers and
+ * flags are primitives with a sentinel for {@code null}, and rocket, launchpad, ship, capsule,
+ * payload and crew ids are {@link Dictionary} codes. Text is UTF-8 in one {@link StringColumn}
+ * per field, and {@code date_local} is kept as its UTC offset. The indexes are row numbers in
+ * {@code int[]}s. A {@code Launch} is only created when a caller reads one, and the lists
+ * returned here are views that do so element by element.
+ */
+final class LaunchIndex {
+
+    static final Comparator<Launch> BY_DATE = Comparator
+            .comparing(Launch::dateUtc, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Launch::flightNumber, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int NO_NUMBER = Integer.MIN_VALUE;
+    private static final int NO_MONTH = -1;
+    private static final byte NULL = -1;
+    private static final byte FALSE = 0;
+    private static final byte TRUE = 1;
+    private static final byte NO_LINKS = 0;
+    private static final byte LINKS = 1;
+    private static final byte LINKS_WITH_PATCH = 2;
+    /**
+     * Marks a {@code date_local} that is not {@code date_utc} at a whole-second offset, and is
+     * kept as text.
+     */
+    private static final int LOCAL_DATE_AS_TEXT = Integer.MIN_VALUE;
+    private static final DateTimeFormatter LOCAL_DATE = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssxxx");
+    private static final List<String> URL_PREFIXES = List.of(
+            "https://images2.imgbox.com/", "https://i.imgur.com/", "https://youtu.be/",
+            "https://www.youtube.com/watch?v=", "https://en.wikipedia.org/wiki/", "https://spaceflightnow.com/",
+            "https://www.spaceflightnow.com/", "https://www.nasaspaceflight.com/", "https://www.space.com/",
+            "https://www.", "https://", "http://");
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    static final LaunchIndex EMPTY = new LaunchIndex(List.of());
+
+    /**
+     * Increases with every index built, so that two lists of the same version hold the same launches.
+     */
+    private final long version = VERSIONS.incrementAndGet();
+    private final int size;
+    private final Dictionary dictionary;
+
+    private final StringColumn ids;
+    private final StringColumn names;
+    private final int[] flightNumbers;
+    private final long[] dates;
+    private final int[] months;
+    private final int[] localOffsets;
+    private final StringColumn localDates;
+    private final byte[] upcoming;
+    private final byte[] success;
+    private final StringColumn details;
+    private final IdListColumn crew;
+    private final IdListColumn ships;
+    private final IdListColumn capsules;
+    private final IdListColumn payloads;
+    private final int[] launchpads;
+    private final int[] rockets;
+    private final byte[] links;
+    private final StringColumn patchesSmall;
+    private final StringColumn patchesLarge;
+    private final StringColumn webcasts;
+    private final StringColumn articles;
+    private final StringColumn wikipedias;
+
+    /**
+     * Rows with a date come first; {@code dates[0..dated)} is sorted.
+     */
+    private final int dated;
+    private final int[] sortedIdRows;
+    private final int[] rocketOffsets;
+    private final int[] rocketRows;
+    private final int[] launchpadOffsets;
+    private final int[] launchpadRows;
+    private final int[] upcomingRows;
+    private final int[] pastRows;
+
+    private final List<Launch> all;
+    private final List<Launch> upcomingView;
+    private final List<Launch> pastView;
+    private final LaunchAggregates aggregates;
+
+    LaunchIndex(Collection<Launch> launches) {
+        this(launches, LaunchIndex::countAll);
+    }
+
+    /**
+     * @param aggregates derives the counts over this index, e.g. from those of the previous version
+     */
+    LaunchIndex(Collection<Launch> launches, Function<LaunchIndex, LaunchAggregates> aggregates) {
+        List<Launch> sorted = new ArrayList<>(launches);
+        sorted.sort(BY_DATE);
+        size = sorted.size();
+        Dictionary.Builder codes = new Dictionary.Builder();
+
+        String[] idValues = new String[size];
+        String[] nameValues = new String[size];
+        String[] localDateValues = new String[size];
+        String[] detailValues = new String[size];
+        String[] patchSmallValues = new String[size];
+        String[] patchLargeValues = new String[size];
+        String[] webcastValues = new String[size];
+        String[] articleValues = new String[size];
+        String[] wikipediaValues = new String[size];
+        flightNumbers = new int[size];
+        dates = new long[size];
+        months = new int[size];
+        localOffsets = new int[size];
+        upcoming = new byte[size];
+        success = new byte[size];
+        launchpads = new int[size];
+        rockets = new int[size];
+        links = new byte[size];
+
+        int datedRows = 0;
+        int upcomingCount = 0;
+        for (int row = 0; row < size; row++) {
+            Launch launch = sorted.get(row);
+            idValues[row] = launch.id();
+            nameValues[row] = launch.name();
+            flightNumbers[row] = launch.flightNumber() == null ? NO_NUMBER : launch.flightNumber();
+            if (launch.dateUtc() == null) {
+                dates[row] = NO_DATE;
+                months[row] = NO_MONTH;
+            } else {
+                dates[row] = launch.dateUtc().toInstant(ZoneOffset.UTC).toEpochMilli();
+                months[row] = launch.dateUtc().getYear() * 12 + launch.dateUtc().getMonthValue() - 1;
+                datedRows++;
+            }
+            localOffsets[row] = localOffset(launch);
+            if (localOffsets[row] == LOCAL_DATE_AS_TEXT) {
+                localDateValues[row] = launch.dateLocal();
+            }
+            upcoming[row] = flag(launch.upcoming());
+            success[row] = flag(launch.success());
+            detailValues[row] = launch.details();
+            launchpads[row] = codes.encode(launch.launchpad());
+            rockets[row] = codes.encode(launch.rocket());
+            Launch.Links launchLinks = launch.links();
+            if (launchLinks == null) {
+                links[row] = NO_LINKS;
+            } else {
+                links[row] = launchLinks.patch() == null ? LINKS : LINKS_WITH_PATCH;
+                if (launchLinks.patch() != null) {
+                    patchSmallValues[row] = launchLinks.patch().small();
+                    patchLargeValues[row] = launchLinks.patch().large();
+                }
+                webcastValues[row] = launchLinks.webcast();
+                articleValues[row] = launchLinks.article();
+                wikipediaValues[row] = launchLinks.wikipedia();
+            }
+            if (upcoming[row] == TRUE) {
+                upcomingCount++;
+            }
+        }
+        ids = StringColumn.encode(idValues);
+        names = StringColumn.encode(nameValues);
+        localDates = StringColumn.encode(localDateValues);
+        details = StringColumn.encode(detailValues);
+        patchesSmall = StringColumn.encode(patchSmallValues, URL_PREFIXES);
+        patchesLarge = StringColumn.encode(patchLargeValues, URL_PREFIXES);
+        webcasts = StringColumn.encode(webcastValues, URL_PREFIXES);
+        articles = StringColumn.encode(articleValues, URL_PREFIXES);
+        wikipedias = StringColumn.encode(wikipediaValues, URL_PREFIXES);
+        dated = datedRows;
+        crew = IdListColumn.encode(sorted.stream().map(Launch::crew).toList(), codes);
+        ships = IdListColumn.encode(sorted.stream().map(Launch::ships).toList(), codes);
+        capsules = IdListColumn.encode(sorted.stream().map(Launch::capsules).toList(), codes);
+        payloads = IdListColumn.encode(sorted.stream().map(Launch::payloads).toList(), codes);
+        dictionary = codes.build();
+
+        upcomingRows = new int[upcomingCount];
+        pastRows = new int[size - upcomingCount];
+        for (int row = 0, u = 0, p = 0; row < size; row++) {
+            if (upcoming[row] == TRUE) {
+                upcomingRows[u++] = row;
+            } else {
+                pastRows[p++] = row;
+            }
+        }
+
+        Integer[] byId = new Integer[size];
+        for (int row = 0; row < size; row++) {
+            byId[row] = row;
+        }
+        Arrays.sort(byId, ids::compare);
+        sortedIdRows = Arrays.stream(byId).mapToInt(Integer::intValue).toArray();
+
+        rocketOffsets = new int[dictionary.size() + 1];
+        rocketRows = group(rockets, rocketOffsets);
+        launchpadOffsets = new int[dictionary.size() + 1];
+        launchpadRows = group(launchpads, launchpadOffsets);
+
+        all = new Rows(null, 0, size);
+        upcomingView = new Rows(upcomingRows, 0, upcomingRows.length);
+        pastView = new Rows(pastRows, 0, pastRows.length);
+        this.aggregates = aggregates.apply(this);
+    }
+
+    List<Launch> all() {
+        return all;
+    }
+
+    Launch byId(String id) {
+        if (id == null) {
+            return null;
+        }
+        byte[] wanted = id.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = ids.compare(sortedIdRows[mid], wanted);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return launch(sortedIdRows[mid]);
+            }
+        }
+        return null;
+    }
+
+    List<Launch> between(LocalDateTime from, LocalDateTime to) {
+        int start = from == null ? 0 : firstDatedRowAtOrAfter(from.toInstant(ZoneOffset.UTC).toEpochMilli());
+        int end = to == null ? dated : firstDatedRowAtOrAfter(to.toInstant(ZoneOffset.UTC).toEpochMilli() + 1);
+        return start >= end ? List.of() : new Rows(null, start, end);
+    }
+
+    List<Launch> byRocket(String rocketId) {
+        return rowsOf(rocketRows, rocketOffsets, dictionary.code(rocketId));
+    }
+
+    List<Launch> byLaunchpad(String launchpadId) {
+        return rowsOf(launchpadRows, launchpadOffsets, dictionary.code(launchpadId));
+    }
+
+    List<Launch> upcoming() {
+        return upcomingView;
+    }
+
+    List<Launch> past() {
+        return pastView;
+    }
+
+    Launch latest() {
+        return pastRows.length == 0 ? null : launch(pastRows[pastRows.length - 1]);
+    }
+
+    Launch next() {
+        return upcomingRows.length == 0 ? null : launch(upcomingRows[0]);
+    }
+
+    LaunchAggregates aggregates() {
+        return aggregates;
+    }
+
+    /**
+     * The launches of {@code launches} that match {@code filter}, in their order. Views of an
+     * index are filtered on its columns and only the launches read from the result are created.
+     */
+    static List<Launch> filter(List<Launch> launches, LaunchFilter filter) {
+        if (launches instanceof Rows rows) {
+            return rows.filter(filter);
+        }
+        return launches.stream().filter(filter::test).toList();
+    }
+
+    /**
+     * Whether {@code launches} is a view of an index, and so in {@link #BY_DATE} order.
+     */
+    static boolean inDateOrder(List<Launch> launches) {
+        return launches instanceof Rows;
+    }
+
+    /**
+     * The version of the index {@code launches} is a view of, or {@code -1} if it is not one.
+     */
+    static long versionOf(List<Launch> launches) {
+        return launches instanceof Rows rows ? rows.version() : -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Counts the launches in {@code cell} with a scan over the rocket, launchpad and month columns.
+     */
+    Counts count(Cell cell) {
+        int rocket = dictionary.code(cell.rocket());
+        int launchpad = dictionary.code(cell.launchpad());
+        if ((rocket == Dictionary.NULL && cell.rocket() != null)
+                || (launchpad == Dictionary.NULL && cell.launchpad() != null)) {
+            return Counts.ZERO;
+        }
+        int month = cell.month() == null ? NO_MONTH : cell.month().getYear() * 12 + cell.month().getMonthValue() - 1;
+        Counter counter = new Counter();
+        for (int row = 0; row < size; row++) {
+            if (rockets[row] == rocket && launchpads[row] == launchpad && months[row] == month) {
+                counter.add(row);
+            }
+        }
+        return counter.counts();
+    }
+
+    private static LaunchAggregates countAll(LaunchIndex index) {
+        Map<Long, Counter> counters = new HashMap<>();
+        for (int row = 0; row < index.size; row++) {
+            // Codes and months are below 2^21; shifted up by one so that NULL and NO_MONTH pack as 0
+            long key = ((long) (index.rockets[row] + 1) << 42) | ((long) (index.launchpads[row] + 1) << 21)
+                    | (index.months[row] + 1);
+            counters.computeIfAbsent(key, k -> index.new Counter()).add(row);
+        }
+        // Cells share one string per rocket and launchpad rather than decoding their own
+        String[] names = new String[index.dictionary.size()];
+        IntFunction<String> name = code -> code == Dictionary.NULL ? null
+                : names[code] != null ? names[code] : (names[code] = index.dictionary.decode(code));
+        Map<Cell, Counts> cells = new HashMap<>(counters.size() * 2);
+        for (Counter counter : counters.values()) {
+            int row = counter.firstRow;
+            int month = index.months[row];
+            cells.put(new Cell(name.apply(index.rockets[row]), name.apply(index.launchpads[row]),
+                    month == NO_MONTH ? null : YearMonth.of(month / 12, month % 12 + 1)), counter.counts());
+        }
+        return new LaunchAggregates(cells);
+    }
+
+    /**
+     * Materializes the launch in {@code row}.
+     */
+    private Launch launch(int row) {
+        Launch.Links launchLinks = switch (links[row]) {
+            case NO_LINKS -> null;
+            case LINKS -> new Launch.Links(null, webcasts.get(row), articles.get(row), wikipedias.get(row));
+            default -> new Launch.Links(new Launch.Links.Patch(patchesSmall.get(row), patchesLarge.get(row)),
+                    webcasts.get(row), articles.get(row), wikipedias.get(row));
+        };
+        LocalDateTime date = dateTime(dates[row]);
+        String localDate = localOffsets[row] == LOCAL_DATE_AS_TEXT
+                ? localDates.get(row)
+                : date.atOffset(ZoneOffset.UTC).withOffsetSameInstant(ZoneOffset.ofTotalSeconds(localOffsets[row]))
+                        .format(LOCAL_DATE);
+        return new Launch(ids.get(row), names.get(row),
+                flightNumbers[row] == NO_NUMBER ? null : flightNumbers[row],
+                date, localDate,
+                bool(upcoming[row]), bool(success[row]), details.get(row),
+                crew.get(row, dictionary), ships.get(row, dictionary), capsules.get(row, dictionary),
+                payloads.get(row, dictionary),
+                dictionary.decode(launchpads[row]), dictionary.decode(rockets[row]), launchLinks);
+    }
+
+    /**
+     * The UTC offset in seconds that turns {@code date_utc} into {@code date_local}, when it
+     * reproduces the text exactly, as it does for SpaceX API data; otherwise {@link #LOCAL_DATE_AS_TEXT}.
+     */
+    private static int localOffset(Launch launch) {
+        if (launch.dateUtc() == null || launch.dateLocal() == null) {
+            return LOCAL_DATE_AS_TEXT;
+        }
+        try {
+            OffsetDateTime local = OffsetDateTime.parse(launch.dateLocal());
+            OffsetDateTime derived = launch.dateUtc().atOffset(ZoneOffset.UTC).withOffsetSameInstant(local.getOffset());
+            return derived.format(LOCAL_DATE).equals(launch.dateLocal())
+                    ? local.getOffset().getTotalSeconds()
+                    : LOCAL_DATE_AS_TEXT;
+        } catch (DateTimeParseException e) {
+            return LOCAL_DATE_AS_TEXT;
+        }
+    }
+
+    /**
+     * The first epoch millisecond at or after {@code dateTime}, so that comparing whole
+     * milliseconds gives the same answer as comparing the date-times.
+     */
+    private static long ceilMillis(LocalDateTime dateTime) {
+        Instant instant = dateTime.toInstant(ZoneOffset.UTC);
+        return instant.toEpochMilli() + (instant.getNano() % 1_000_000 == 0 ? 0 : 1);
+    }
+
+    private int[] codes(Set<String> values) {
+        if (values == null) {
+            return null;
+        }
+        return values.stream().mapToInt(dictionary::code).filter(code -> code != Dictionary.NULL).toArray();
+    }
+
+    private static boolean hasCode(int[] codes, int code) {
+        for (int candidate : codes) {
+            if (candidate == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int firstDatedRowAtOrAfter(long millis) {
+        int low = 0;
+        int high = dated;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Launch> rowsOf(int[] rows, int[] offsets, int code) {
+        if (code == Dictionary.NULL || offsets[code] == offsets[code + 1]) {
+            return List.of();
+        }
+        return new Rows(rows, offsets[code], offsets[code + 1]);
+    }
+
+    /**
+     * Groups row numbers by code, keeping date order within each group.
+     */
+    private int[] group(int[] codes, int[] offsets) {
+        for (int code : codes) {
+            if (code != Dictionary.NULL) {
+                offsets[code + 1]++;
+            }
+        }
+        for (int code = 0; code < offsets.length - 1; code++) {
+            offsets[code + 1] += offsets[code];
+        }
+        int[] rows = new int[offsets[offsets.length - 1]];
+        int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (int row = 0; row < codes.length; row++) {
+            if (codes[row] != Dictionary.NULL) {
+                rows[next[codes[row]]++] = row;
+            }
+        }
+        return rows;
+    }
+
+    private static byte flag(Boolean value) {
+        return value == null ? NULL : value ? TRUE : FALSE;
+    }
+
+    private static Boolean bool(byte value) {
+        return value == NULL ? null : value == TRUE;
+    }
+
+    private static LocalDateTime dateTime(long millis) {
+        return millis == NO_DATE ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    /**
+     * Accumulates {@link Counts} from rows without materializing them.
+     */
+    private final class Counter {
+
+        private int firstRow = -1;
+        private int launches;
+        private int upcomingLaunches;
+        private int successes;
+        private int failures;
+        private long firstFlown = Long.MAX_VALUE;
+        private long lastFlown = Long.MIN_VALUE;
+
+        void add(int row) {
+            if (firstRow < 0) {
+                firstRow = row;
+            }
+            launches++;
+            if (upcoming[row] == TRUE) {
+                upcomingLaunches++;
+            } else if (dates[row] != NO_DATE) {
+                firstFlown = Math.min(firstFlown, dates[row]);
+                lastFlown = Math.max(lastFlown, dates[row]);
+            }
+            if (success[row] == TRUE) {
+                successes++;
+            } else if (success[row] == FALSE) {
+                failures++;
+            }
+        }
+
+        Counts counts() {
+            if (launches == 0) {
+                return Counts.ZERO;
+            }
+            if (firstFlown == Long.MAX_VALUE) {
+                return new Counts(launches, upcomingLaunches, successes, failures, null, null);
+            }
+            // Most cells hold a single launch; they share one date object
+            LocalDateTime first = dateTime(firstFlown);
+            LocalDateTime last = lastFlown == firstFlown ? first : dateTime(lastFlown);
+            return new Counts(launches, upcomingLaunches, successes, failures, first, last);
+        }
+    }
+
+    /**
+     * A read-only view of rows {@code from..to} of {@code rows}, or of the table itself when
+     * {@code rows} is {@code null}; each {@code get} materializes one launch.
+     */
+    private final class Rows extends AbstractList<Launch> implements RandomAccess {
+
+        private final int[] rows;
+        private final int from;
+        private final int to;
+
+        Rows(int[] rows, int from, int to) {
+            this.rows = rows;
+            this.from = from;
+            this.to = to;
+        }
+
+        long version() {
+            return version;
+        }
+
+        @Override
+        public Launch get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return launch(rows == null ? from + index : rows[from + index]);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        /**
+         * The rows matching {@code filter}, found with a scan over the date, outcome, rocket and
+         * launchpad columns; the table itself is first narrowed to the date range by binary search.
+         */
+        List<Launch> filter(LaunchFilter filter) {
+            int[] rocketCodes = codes(filter.rockets());
+            int[] launchpadCodes = codes(filter.launchpads());
+            if ((rocketCodes != null && rocketCodes.length == 0) || (launchpadCodes != null && launchpadCodes.length == 0)) {
+                return List.of();
+            }
+            boolean byDate = filter.from() != null || filter.to() != null;
+            long fromMillis = filter.from() == null ? Long.MIN_VALUE : ceilMillis(filter.from());
+            long toMillis = filter.to() == null ? Long.MAX_VALUE : ceilMillis(filter.to());
+            byte outcome = filter.success() == null ? NULL : flag(filter.success());
+            int start = from;
+            int end = to;
+            if (rows == null && byDate) {
+                start = Math.max(start, fromMillis == Long.MIN_VALUE ? 0 : firstDatedRowAtOrAfter(fromMillis));
+                end = Math.min(end, toMillis == Long.MAX_VALUE ? dated : firstDatedRowAtOrAfter(toMillis));
+            }
+
+            int[] matches = new int[Math.max(0, end - start)];
+            int count = 0;
+            for (int index = start; index < end; index++) {
+                int row = rows == null ? index : rows[index];
+                if (byDate && (dates[row] == NO_DATE || dates[row] < fromMillis || dates[row] >= toMillis)) {
+                    continue;
+                }
+                if ((outcome != NULL && success[row] != outcome)
+                        || (rocketCodes != null && !hasCode(rocketCodes, rockets[row]))
+                        || (launchpadCodes != null && !hasCode(launchpadCodes, launchpads[row]))) {
+                    continue;
+                }
+                matches[count++] = row;
+            }
+            return count == 0 ? List.of() : new Rows(matches, 0, count);
+        }
+    }
+}
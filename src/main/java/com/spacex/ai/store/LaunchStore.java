@@ -0,0 +1,169 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.model.Launch;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * In-process copy of the SpaceX {@code /launches} dataset.
+ * <p>
+ * The full list is loaded once and then kept current by incremental syncs (see
+ * {@link LaunchStoreSynchronizer}). All derived views that the upstream API exposes as separate
+ * endpoints (upcoming, past, latest, next, by id) are answered from in-memory indexes.
+ * Readers never block: each sync builds a new {@link LaunchIndex} and publishes it with a
+ * single volatile write. The index is columnar, so the dataset takes a fraction of the heap
+ * its {@link Launch} records would. The {@link LaunchAggregates} published with it are carried
+ * over from the previous version on incremental syncs, adjusted for the changed launches only.
+ */
+public class LaunchStore {
+
+    private volatile LaunchIndex index = LaunchIndex.EMPTY;
+    private volatile boolean loaded;
+    private volatile LocalDateTime lastSync;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public LocalDateTime lastSync() {
+        return lastSync;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public List<Launch> all() {
+        return index.all();
+    }
+
+    public Launch byId(String id) {
+        return index.byId(id);
+    }
+
+    public List<Launch> upcoming() {
+        return index.upcoming();
+    }
+
+    public List<Launch> past() {
+        return index.past();
+    }
+
+    public Launch latest() {
+        return index.latest();
+    }
+
+    public Launch next() {
+        return index.next();
+    }
+
+    public List<Launch> byRocket(String rocketId) {
+        return index.byRocket(rocketId);
+    }
+
+    public List<Launch> byLaunchpad(String launchpadId) {
+        return index.byLaunchpad(launchpadId);
+    }
+
+    /**
+     * Counts per rocket, launchpad and month, consistent with {@link #all()}.
+     */
+    public LaunchAggregates aggregates() {
+        return index.aggregates();
+    }
+
+    /**
+     * Launches with {@code dateUtc} in the inclusive range; either bound may be {@code null}.
+     */
+    public List<Launch> between(LocalDateTime from, LocalDateTime to) {
+        return index.between(from, to);
+    }
+
+    /**
+     * The launches of {@code launches} that match {@code filter}, in their order. For the lists
+     * returned by a store, the filter runs over its columns and the result is another view, so
+     * only the launches that are read from it are created.
+     */
+    public static List<Launch> filter(List<Launch> launches, LaunchFilter filter) {
+        return LaunchIndex.filter(launches, filter);
+    }
+
+    /**
+     * Whether {@code launches} was returned by a store, or filtered from such a list, and so is
+     * ordered by {@code date_utc} (launches without one last), then by flight number.
+     */
+    public static boolean inDateOrder(List<Launch> launches) {
+        return LaunchIndex.inDateOrder(launches);
+    }
+
+    /**
+     * The version of the dataset {@code launches} was returned from, or filtered from, by a
+     * store, or {@code -1} for any other list. Every sync makes a new version, so two lists of
+     * the same version hold the same launches without comparing them.
+     */
+    public static long versionOf(List<Launch> launches) {
+        return LaunchIndex.versionOf(launches);
+    }
+
+    /**
+     * Replaces the whole dataset.
+     */
+    public synchronized void replaceAll(Collection<Launch> launches) {
+        publish(new LaunchIndex(launches));
+    }
+
+    /**
+     * Applies an incremental sync. {@code window} describes which launches the upstream query
+     * covered: launches inside the window that are missing from {@code changed} were removed
+     * upstream and are dropped, everything in {@code changed} is inserted or replaced.
+     *
+     * @return {@code true} if the dataset differs from the previous version
+     */
+    public synchronized boolean merge(Collection<Launch> changed, Predicate<Launch> window) {
+        Map<String, Launch> merged = new LinkedHashMap<>();
+        Set<String> returned = new HashSet<>();
+        changed.forEach(launch -> returned.add(launch.id()));
+        List<Launch> removed = new ArrayList<>();
+        List<Launch> added = new ArrayList<>();
+
+        for (Launch existing : index.all()) {
+            if (window.test(existing) && !returned.contains(existing.id())) {
+                removed.add(existing);
+                continue;
+            }
+            merged.put(existing.id(), existing);
+        }
+        for (Launch launch : changed) {
+            Launch previous = merged.put(launch.id(), launch);
+            if (!launch.equals(previous)) {
+                if (previous != null) {
+                    removed.add(previous);
+                }
+                added.add(launch);
+            }
+        }
+
+        boolean modified = !removed.isEmpty() || !added.isEmpty();
+        if (modified || !loaded) {
+            LaunchAggregates previous = index.aggregates();
+            publish(new LaunchIndex(merged.values(), next -> previous.update(removed, added, next::count)));
+        } else {
+            lastSync = LocalDateTime.now();
+        }
+        return modified;
+    }
+
+    private void publish(LaunchIndex next) {
+        index = next;
+        lastSync = LocalDateTime.now();
+        loaded = true;
+    }
+}
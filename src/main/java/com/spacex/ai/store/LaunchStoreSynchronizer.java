@@ -0,0 +1,103 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.config.LaunchStoreProperties;
+import com.spacex.ai.model.Launch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Keeps {@link LaunchStore} in sync with the upstream {@code /launches} dataset.
+ * <p>
+ * The first run and every {@code full-sync-interval} download the whole list; the runs in
+ * between only query launches that are upcoming or dated inside the {@code incremental-window},
+ * which is where scrubs, reschedules and outcome updates happen.
+ */
+public class LaunchStoreSynchronizer {
+
+    private static final Logger log = LoggerFactory.getLogger(LaunchStoreSynchronizer.class);
+
+    private static final List<String> LAUNCH_CACHES = List.of(
+            CacheConfiguration.LAUNCHES, CacheConfiguration.LAUNCH, CacheConfiguration.LAUNCH_DETAILS,
+            CacheConfiguration.UPCOMING_LAUNCHES, CacheConfiguration.PAST_LAUNCHES,
+            CacheConfiguration.LATEST_LAUNCH, CacheConfiguration.NEXT_LAUNCH
+    );
+
+    private final LaunchStore launchStore;
+    private final SpaceXClient spaceXClient;
+    private final CacheManager cacheManager;
+    private final LaunchStoreProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private Instant lastFullSync;
+
+    public LaunchStoreSynchronizer(LaunchStore launchStore, SpaceXClient spaceXClient,
+                                   CacheManager cacheManager, LaunchStoreProperties properties,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.launchStore = launchStore;
+        this.spaceXClient = spaceXClient;
+        this.cacheManager = cacheManager;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Also called by the upcoming launch watcher, possibly on another scheduler thread
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spacex.store.refresh-interval:5m}")
+    public synchronized void sync() {
+        try {
+            boolean changed = fullSyncDue() ? fullSync() : incrementalSync();
+            if (changed) {
+                evictLaunchCaches();
+            }
+        } catch (Exception e) {
+            log.warn("Launch store sync failed, keeping {} cached launches: {}", launchStore.size(), e.getMessage());
+        }
+    }
+
+    boolean fullSync() {
+        List<Launch> launches = spaceXClient.fetchAllLaunches();
+        launchStore.replaceAll(launches);
+        lastFullSync = Instant.now();
+        log.debug("Launch store full sync loaded {} launches", launches.size());
+        return true;
+    }
+
+    boolean incrementalSync() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(properties.incrementalWindow());
+        List<Launch> changed = spaceXClient.fetchLaunchesSince(cutoff);
+        Predicate<Launch> window = launch -> Boolean.TRUE.equals(launch.upcoming())
+                || (launch.dateUtc() != null && !launch.dateUtc().isBefore(cutoff));
+        boolean modified = launchStore.merge(changed, window);
+        log.debug("Launch store incremental sync fetched {} launches since {} (changed: {})",
+                changed.size(), cutoff, modified);
+        return modified;
+    }
+
+    private boolean fullSyncDue() {
+        return !launchStore.isLoaded()
+                || lastFullSync == null
+                || lastFullSync.plus(properties.fullSyncInterval()).isBefore(Instant.now());
+    }
+
+    private void evictLaunchCaches() {
+        for (String name : LAUNCH_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        eventPublisher.publishEvent(new SpaceXDataChangedEvent(Set.copyOf(LAUNCH_CACHES)));
+    }
+}
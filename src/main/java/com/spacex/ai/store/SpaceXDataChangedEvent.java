@@ -0,0 +1,11 @@
+package com.spacex.ai.store;
+
+import java.util.Set;
+
+/**
+ * Published when upstream SpaceX data was found to have changed and the listed
+ * caches (see {@link com.spacex.ai.config.CacheConfiguration}) were invalidated.
+ *
+ * @param cacheNames caches whose contents are stale
+ */
+public record SpaceXDataChangedEvent(Set<String> cacheNames) {}
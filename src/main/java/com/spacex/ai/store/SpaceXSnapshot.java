@@ -0,0 +1,41 @@
+package com.spacex.ai.store;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.Launchpad;
+import com.spacex.ai.model.Rocket;
+import com.spacex.ai.model.Ship;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The SpaceX datasets as written to disk by {@link SpaceXSnapshotter}. A dataset that was not
+ * available when the snapshot was taken is {@code null}.
+ *
+ * @param format    layout version; snapshots of another version are ignored
+ * @param createdAt when the snapshot was taken
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SpaceXSnapshot(
+    int format,
+    Instant createdAt,
+    List<Launch> launches,
+    List<Rocket> rockets,
+    List<Ship> ships,
+    List<Launchpad> launchpads
+) {
+    public static final int FORMAT = 1;
+
+    boolean sameData(SpaceXSnapshot other) {
+        return Objects.equals(launches, other.launches)
+                && Objects.equals(rockets, other.rockets)
+                && Objects.equals(ships, other.ships)
+                && Objects.equals(launchpads, other.launchpads);
+    }
+
+    boolean isEmpty() {
+        return launches == null && rockets == null && ships == null && launchpads == null;
+    }
+}
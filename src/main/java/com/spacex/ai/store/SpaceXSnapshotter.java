@@ -0,0 +1,229 @@
+package com.spacex.ai.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.spacex.ai.client.ReactiveSpaceXClient;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.model.Launchpad;
+import com.spacex.ai.model.Rocket;
+import com.spacex.ai.model.Ship;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Persists the SpaceX datasets to a Smile-encoded file so a restarted instance answers from warm
+ * data instead of waiting for upstream.
+ * <p>
+ * The snapshot is memory-mapped and restored while the context starts, before the application
+ * reports readiness: launches go into the {@link LaunchStore}, and rockets, ships and launchpads
+ * into their list and by-id caches. Right after startup the reference data is re-fetched in the
+ * background and replaces the restored copies; launches are reconciled by the first full sync
+ * of the {@link LaunchStoreSynchronizer}. Every {@code interval}, and on shutdown, the current
+ * data is written back if it changed, to a temporary file that is then moved into place, so a
+ * crash never leaves a partial snapshot behind. Without a path, nothing is read or written.
+ */
+public class SpaceXSnapshotter implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SpaceXSnapshotter.class);
+
+    @Nullable
+    private final Path path;
+    private final Duration maxAge;
+    private final ObjectMapper smileMapper;
+    @Nullable
+    private final LaunchStore launchStore;
+    private final ReactiveSpaceXClient reactiveClient;
+    private final CacheManager cacheManager;
+
+    private volatile SpaceXSnapshot last;
+    private volatile boolean reconcilePending;
+
+    public SpaceXSnapshotter(@Nullable Path path, Duration maxAge, ObjectMapper objectMapper, @Nullable LaunchStore launchStore,
+                             ReactiveSpaceXClient reactiveClient, CacheManager cacheManager) {
+        this.path = path;
+        this.maxAge = maxAge;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.launchStore = launchStore;
+        this.reactiveClient = reactiveClient;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        restore();
+    }
+
+    /**
+     * Loads the snapshot, if there is a recent enough one, into the launch store and caches.
+     *
+     * @return {@code true} if a snapshot was restored
+     */
+    public boolean restore() {
+        long start = System.nanoTime();
+        SpaceXSnapshot snapshot = read().orElse(null);
+        if (snapshot == null) {
+            return false;
+        }
+        Duration age = Duration.between(snapshot.createdAt(), Instant.now());
+        if (age.compareTo(maxAge) > 0) {
+            log.info("Ignoring SpaceX snapshot {} taken {} ago", path, age);
+            return false;
+        }
+        if (launchStore != null && snapshot.launches() != null && !launchStore.isLoaded()) {
+            launchStore.replaceAll(snapshot.launches());
+        }
+        prime(CacheConfiguration.ROCKETS, CacheConfiguration.ROCKET, snapshot.rockets(), Rocket::id);
+        prime(CacheConfiguration.SHIPS, CacheConfiguration.SHIP, snapshot.ships(), Ship::id);
+        prime(CacheConfiguration.LAUNCHPADS, CacheConfiguration.LAUNCHPAD, snapshot.launchpads(), Launchpad::id);
+        last = snapshot;
+        reconcilePending = true;
+        log.info("Restored SpaceX snapshot taken {} ago ({} launches, {} rockets, {} ships, {} launchpads) in {} ms",
+                age, size(snapshot.launches()), size(snapshot.rockets()), size(snapshot.ships()),
+                size(snapshot.launchpads()), Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return true;
+    }
+
+    /**
+     * Replaces restored reference data with upstream's on the first run, then writes the snapshot.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spacex.snapshot.interval:10m}")
+    public void checkpoint() {
+        if (path == null) {
+            return;
+        }
+        if (reconcilePending) {
+            reconcilePending = false;
+            refresh(CacheConfiguration.ROCKETS, CacheConfiguration.ROCKET, reactiveClient::getAllRockets, Rocket::id);
+            refresh(CacheConfiguration.SHIPS, CacheConfiguration.SHIP, reactiveClient::getAllShips, Ship::id);
+            refresh(CacheConfiguration.LAUNCHPADS, CacheConfiguration.LAUNCHPAD, reactiveClient::getAllLaunchpads,
+                    Launchpad::id);
+        }
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing SpaceX snapshot {} failed: {}", path, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (path == null) {
+            return;
+        }
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing SpaceX snapshot {} on shutdown failed: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the current data, unless it is unchanged since the last snapshot.
+     *
+     * @return {@code true} if a snapshot was written
+     */
+    public boolean save() throws IOException {
+        if (path == null) {
+            return false;
+        }
+        SpaceXSnapshot previous = last;
+        SpaceXSnapshot current = new SpaceXSnapshot(SpaceXSnapshot.FORMAT, Instant.now(),
+                launchStore != null && launchStore.isLoaded() ? launchStore.all()
+                        : previous == null ? null : previous.launches(),
+                cached(CacheConfiguration.ROCKETS, previous == null ? null : previous.rockets()),
+                cached(CacheConfiguration.SHIPS, previous == null ? null : previous.ships()),
+                cached(CacheConfiguration.LAUNCHPADS, previous == null ? null : previous.launchpads()));
+        if (current.isEmpty() || (previous != null && current.sameData(previous))) {
+            return false;
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                smileMapper.writeValue(out, current);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        last = current;
+        log.debug("Wrote SpaceX snapshot {} ({} bytes)", path, Files.size(path));
+        return true;
+    }
+
+    private Optional<SpaceXSnapshot> read() {
+        if (path == null || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            InputStream in = new ByteBufferBackedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            SpaceXSnapshot snapshot = smileMapper.readValue(in, SpaceXSnapshot.class);
+            if (snapshot.format() != SpaceXSnapshot.FORMAT || snapshot.createdAt() == null) {
+                log.info("Ignoring SpaceX snapshot {} in format {}", path, snapshot.format());
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException e) {
+            log.warn("Could not read SpaceX snapshot {}, starting cold: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private <T> void refresh(String listCache, String itemCache, Supplier<Flux<T>> fetch, Function<T, String> idOf) {
+        try {
+            prime(listCache, itemCache, fetch.get().collectList().block(), idOf);
+        } catch (RuntimeException e) {
+            log.warn("Refreshing {} after restoring the snapshot failed, keeping the snapshot data: {}",
+                    listCache, e.getMessage());
+        }
+    }
+
+    private <T> void prime(String listCache, String itemCache, @Nullable List<T> items, Function<T, String> idOf) {
+        Cache list = cacheManager.getCache(listCache);
+        Cache byId = cacheManager.getCache(itemCache);
+        if (items == null || list == null || byId == null) {
+            return;
+        }
+        // The key @Cacheable uses for the no-argument getAll* methods
+        list.put(SimpleKey.EMPTY, items);
+        for (T item : items) {
+            byId.put(idOf.apply(item), item);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> cached(String listCache, @Nullable List<T> fallback) {
+        Cache cache = cacheManager.getCache(listCache);
+        Cache.ValueWrapper value = cache == null ? null : cache.get(SimpleKey.EMPTY);
+        return value != null && value.get() instanceof List<?> items ? (List<T>) items : fallback;
+    }
+
+    private static int size(@Nullable List<?> items) {
+        return items == null ? 0 : items.size();
+    }
+}
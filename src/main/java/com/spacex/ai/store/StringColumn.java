@@ -0,0 +1,102 @@
+package com.spacex.ai.store;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A column of strings, one per launch, stored as UTF-8 in a single {@code byte[]}: the bytes of
+ * row {@code r} are {@code bytes[offsets[r]]} up to {@code bytes[offsets[r + 1]]}. Compared with a
+ * {@code String[]} this saves the object and array headers of every value, which for short
+ * values such as ids and URLs are as large as the text itself.
+ * <p>
+ * Values may start with one of a few well-known {@code prefixes}, such as the image host of the
+ * mission patches; those are stored as a one-byte code instead of the text.
+ */
+final class StringColumn {
+
+    private static final byte NO_PREFIX = -1;
+
+    private final byte[] bytes;
+    private final int[] offsets;
+    private final BitSet nulls;
+    private final List<String> prefixes;
+    private final byte[] prefixCodes;
+
+    private StringColumn(byte[] bytes, int[] offsets, BitSet nulls, List<String> prefixes, byte[] prefixCodes) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.nulls = nulls;
+        this.prefixes = prefixes;
+        this.prefixCodes = prefixCodes;
+    }
+
+    static StringColumn encode(String[] values) {
+        return encode(values, List.of());
+    }
+
+    /**
+     * @param prefixes candidate prefixes, most specific first; at most 127
+     */
+    static StringColumn encode(String[] values, List<String> prefixes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(values.length * 16);
+        int[] offsets = new int[values.length + 1];
+        BitSet nulls = new BitSet();
+        byte[] prefixCodes = prefixes.isEmpty() ? null : new byte[values.length];
+        for (int row = 0; row < values.length; row++) {
+            String value = values[row];
+            if (value == null) {
+                nulls.set(row);
+            } else {
+                if (prefixCodes != null) {
+                    prefixCodes[row] = NO_PREFIX;
+                    for (int code = 0; code < prefixes.size(); code++) {
+                        if (value.startsWith(prefixes.get(code))) {
+                            prefixCodes[row] = (byte) code;
+                            value = value.substring(prefixes.get(code).length());
+                            break;
+                        }
+                    }
+                }
+                out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+            offsets[row + 1] = out.size();
+        }
+        return new StringColumn(out.toByteArray(), offsets, nulls, List.copyOf(prefixes), prefixCodes);
+    }
+
+    String get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        String text = new String(bytes, offsets[row], offsets[row + 1] - offsets[row], StandardCharsets.UTF_8);
+        if (prefixCodes != null && prefixCodes[row] != NO_PREFIX) {
+            return prefixes.get(prefixCodes[row]).concat(text);
+        }
+        return text;
+    }
+
+    /**
+     * Compares the value of {@code row} with a UTF-8 encoded value, in unsigned byte order, which
+     * for UTF-8 is code point order. {@code null} sorts first. Only for columns without prefixes.
+     */
+    int compare(int row, byte[] value) {
+        if (nulls.get(row)) {
+            return value == null ? 0 : -1;
+        }
+        if (value == null) {
+            return 1;
+        }
+        return Arrays.compareUnsigned(bytes, offsets[row], offsets[row + 1], value, 0, value.length);
+    }
+
+    int compare(int row, int otherRow) {
+        if (nulls.get(row) || nulls.get(otherRow)) {
+            return Boolean.compare(!nulls.get(row), !nulls.get(otherRow));
+        }
+        return Arrays.compareUnsigned(bytes, offsets[row], offsets[row + 1],
+                bytes, offsets[otherRow], offsets[otherRow + 1]);
+    }
+}
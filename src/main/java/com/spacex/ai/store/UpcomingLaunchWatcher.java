@@ -0,0 +1,197 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.store.LaunchChanges.Change;
+import com.spacex.ai.store.LaunchChanges.Kind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Polls {@code /launches/upcoming} and publishes the differences between successive snapshots as
+ * {@link LaunchChanges}, so clients hear about scrubs and new launches without polling themselves.
+ * <p>
+ * The first poll only records the baseline. Unchanged polls cost a 304 Not Modified, since the
+ * SpaceX client revalidates its GETs. When something changed, the launch store is synced first,
+ * the caches holding launches are invalidated and a {@link SpaceXDataChangedEvent} is published,
+ * so the {@link #changes()} subscribers that re-query right away see the new schedule.
+ */
+public class UpcomingLaunchWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(UpcomingLaunchWatcher.class);
+
+    private static final List<String> SCHEDULE_CACHES = List.of(
+            CacheConfiguration.LAUNCHES, CacheConfiguration.UPCOMING_LAUNCHES, CacheConfiguration.NEXT_LAUNCH,
+            CacheConfiguration.PAST_LAUNCHES, CacheConfiguration.LATEST_LAUNCH
+    );
+
+    private static final List<String> PER_LAUNCH_CACHES = List.of(
+            CacheConfiguration.LAUNCH, CacheConfiguration.LAUNCH_DETAILS
+    );
+
+    private static final Set<String> INVALIDATED_CACHES = Stream.concat(SCHEDULE_CACHES.stream(), PER_LAUNCH_CACHES.stream())
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static final Map<String, Function<Launch, Object>> FIELDS = fields();
+
+    private static final Comparator<Launch> BY_DATE =
+            Comparator.comparing(Launch::dateUtc, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final SpaceXClient spaceXClient;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LaunchStoreSynchronizer launchStoreSynchronizer;
+    private final Sinks.Many<LaunchChanges> changes = Sinks.many().multicast().directBestEffort();
+
+    private Map<String, Launch> previous;
+
+    public UpcomingLaunchWatcher(SpaceXClient spaceXClient, CacheManager cacheManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Nullable LaunchStoreSynchronizer launchStoreSynchronizer) {
+        this.spaceXClient = spaceXClient;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.launchStoreSynchronizer = launchStoreSynchronizer;
+    }
+
+    /**
+     * Changes found from now on. Subscribers that cannot keep up miss changes rather than
+     * holding up the others.
+     */
+    public Flux<LaunchChanges> changes() {
+        return changes.asFlux();
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${spacex.watch.interval:1m}")
+    public void poll() {
+        try {
+            LaunchChanges detected = diff(spaceXClient.fetchUpcomingLaunches());
+            if (detected != null) {
+                publish(detected);
+            }
+        } catch (Exception e) {
+            log.warn("Upcoming launch poll failed, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compares {@code upcoming} with the previous snapshot and makes it the new one.
+     *
+     * @return the changes, or {@code null} if there are none or this is the first snapshot
+     */
+    LaunchChanges diff(List<Launch> upcoming) {
+        Map<String, Launch> current = new LinkedHashMap<>();
+        for (Launch launch : upcoming) {
+            if (launch.id() != null) {
+                current.put(launch.id(), launch);
+            }
+        }
+        Map<String, Launch> before = previous;
+        previous = current;
+        if (before == null) {
+            log.debug("Watching {} upcoming launches", current.size());
+            return null;
+        }
+
+        List<Change> found = new ArrayList<>();
+        for (Launch launch : current.values()) {
+            Launch old = before.get(launch.id());
+            if (old == null) {
+                found.add(new Change(Kind.ADDED, launch.id(), launch.name(), null, launch.dateUtc(), List.of()));
+                continue;
+            }
+            List<String> fields = changedFields(old, launch);
+            if (!fields.isEmpty()) {
+                Kind kind = fields.contains("date_utc") ? Kind.RESCHEDULED : Kind.UPDATED;
+                found.add(new Change(kind, launch.id(), launch.name(), old.dateUtc(), launch.dateUtc(), fields));
+            }
+        }
+        for (Launch old : before.values()) {
+            if (!current.containsKey(old.id())) {
+                found.add(new Change(Kind.REMOVED, old.id(), old.name(), old.dateUtc(), null, List.of()));
+            }
+        }
+        return found.isEmpty() ? null : new LaunchChanges(Instant.now(), List.copyOf(found), next(current.values()));
+    }
+
+    private void publish(LaunchChanges detected) {
+        log.info("Upcoming launch schedule changed: {} launches affected", detected.changes().size());
+        if (launchStoreSynchronizer != null) {
+            launchStoreSynchronizer.sync();
+        }
+        for (String name : SCHEDULE_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        for (String name : PER_LAUNCH_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                detected.changes().forEach(change -> cache.evict(change.id()));
+            }
+        }
+        eventPublisher.publishEvent(new SpaceXDataChangedEvent(INVALIDATED_CACHES));
+        // Emitted from the single polling thread, so only a missing subscriber can make this fail
+        changes.tryEmitNext(detected);
+    }
+
+    private static List<String> changedFields(Launch before, Launch after) {
+        List<String> changed = new ArrayList<>();
+        FIELDS.forEach((name, field) -> {
+            if (!Objects.equals(field.apply(before), field.apply(after))) {
+                changed.add(name);
+            }
+        });
+        return List.copyOf(changed);
+    }
+
+    private static Launch next(Iterable<Launch> upcoming) {
+        Launch next = null;
+        for (Launch launch : upcoming) {
+            if (next == null || BY_DATE.compare(launch, next) < 0) {
+                next = launch;
+            }
+        }
+        return next;
+    }
+
+    private static Map<String, Function<Launch, Object>> fields() {
+        Map<String, Function<Launch, Object>> fields = new LinkedHashMap<>();
+        fields.put("name", Launch::name);
+        fields.put("flight_number", Launch::flightNumber);
+        fields.put("date_utc", Launch::dateUtc);
+        fields.put("date_local", Launch::dateLocal);
+        fields.put("upcoming", Launch::upcoming);
+        fields.put("success", Launch::success);
+        fields.put("details", Launch::details);
+        fields.put("crew", Launch::crew);
+        fields.put("ships", Launch::ships);
+        fields.put("capsules", Launch::capsules);
+        fields.put("payloads", Launch::payloads);
+        fields.put("launchpad", Launch::launchpad);
+        fields.put("rocket", Launch::rocket);
+        fields.put("links", Launch::links);
+        return fields;
+    }
+}
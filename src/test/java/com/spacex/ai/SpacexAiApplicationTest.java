@@ -6,7 +6,9 @@ import org.springframework.test.context.TestPropertySource;
 
 @SpringBootTest
 @TestPropertySource(properties = {
-    "spring.ai.anthropic.api-key=test-key"
+    "spring.ai.anthropic.api-key=test-key",
+    "spacex.store.enabled=false",
+    "spacex.watch.enabled=false"
 })
 class SpacexAiApplicationTest {
 
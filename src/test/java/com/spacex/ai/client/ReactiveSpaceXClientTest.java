@@ -0,0 +1,131 @@
+package com.spacex.ai.client;
+
+import com.spacex.ai.model.Launch;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveSpaceXClientTest {
+
+    private MockWebServer mockWebServer;
+    private ReactiveSpaceXClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        client = new ReactiveSpaceXClient(mockWebServer.url("/").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testListLargerThanCodecBufferIsDecoded() {
+        String body = launches(3000);
+        assertTrue(body.length() > 256 * 1024);
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(body)
+                .addHeader("Content-Type", "application/json"));
+
+        List<Launch> launches = client.getAllLaunches().collectList().block();
+
+        assertEquals(3000, launches.size());
+        assertEquals("Flight 2999", launches.get(2999).name());
+    }
+
+    @Test
+    void testElementsAreEmittedBeforeTheBodyCompletes() {
+        // About 10 seconds to send in full; the first launch must not wait for the last byte
+        String body = launches(3000);
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(body)
+                .addHeader("Content-Type", "application/json")
+                .throttleBody(body.length() / 10, 1, TimeUnit.SECONDS));
+
+        List<Launch> firstTwo = client.getPastLaunches()
+                .filter(launch -> launch.flightNumber() % 2 == 1)
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of(1, 3), firstTwo.stream().map(Launch::flightNumber).toList());
+    }
+
+    @Test
+    void testUnchangedListIsRevalidatedInsteadOfDownloaded() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(launches(3))
+                .addHeader("Content-Type", "application/json")
+                .addHeader("ETag", "W/\"v1\"")
+                .addHeader("Last-Modified", "Wed, 01 Jan 2025 00:00:00 GMT"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304));
+
+        List<Launch> downloaded = client.getAllLaunches().collectList().block();
+        List<Launch> revalidated = client.getAllLaunches().collectList().block();
+
+        assertEquals(downloaded, revalidated);
+        assertNull(mockWebServer.takeRequest().getHeader("If-None-Match"));
+        RecordedRequest conditional = mockWebServer.takeRequest();
+        assertEquals("W/\"v1\"", conditional.getHeader("If-None-Match"));
+        assertEquals("Wed, 01 Jan 2025 00:00:00 GMT", conditional.getHeader("If-Modified-Since"));
+    }
+
+    @Test
+    void testBodiesOverTheBoundAreNotKept() throws InterruptedException {
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setBody(launches(ReactiveSpaceXClient.VALIDATED_ELEMENTS + 1))
+                    .addHeader("Content-Type", "application/json")
+                    .addHeader("ETag", "W/\"v1\""));
+        }
+
+        client.getAllLaunches().blockLast();
+        assertEquals(ReactiveSpaceXClient.VALIDATED_ELEMENTS + 1, client.getAllLaunches().count().block());
+
+        mockWebServer.takeRequest();
+        assertNull(mockWebServer.takeRequest().getHeader("If-None-Match"));
+    }
+
+    @Test
+    void testSingleResourcesAreRevalidatedPerId() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"id\":\"a\",\"name\":\"A\"}")
+                .addHeader("Content-Type", "application/json")
+                .addHeader("ETag", "\"a1\""));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"id\":\"b\",\"name\":\"B\"}")
+                .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(304));
+
+        assertEquals("A", client.getLaunchById("a").block().name());
+        assertEquals("B", client.getLaunchById("b").block().name());
+        assertEquals("A", client.getLaunchById("a").block().name());
+
+        mockWebServer.takeRequest();
+        assertNull(mockWebServer.takeRequest().getHeader("If-None-Match"));
+        assertEquals("\"a1\"", mockWebServer.takeRequest().getHeader("If-None-Match"));
+    }
+
+    private static String launches(int count) {
+        String details = "x".repeat(80);
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"id\":\"launch-" + i + "\",\"name\":\"Flight " + i + "\",\"flight_number\":" + i
+                        + ",\"details\":\"" + details + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
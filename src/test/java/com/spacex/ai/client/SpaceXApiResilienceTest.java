@@ -0,0 +1,103 @@
+package com.spacex.ai.client;
+
+import com.spacex.ai.config.SpaceXResilienceProperties;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceXApiResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockWebServer mockWebServer;
+    private SpaceXApiResilience resilience;
+    private ReactiveSpaceXClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        resilience = new SpaceXApiResilience(new SpaceXResilienceProperties(
+                new SpaceXResilienceProperties.Retry(3, Duration.ofMillis(10), Duration.ofMillis(50), 0.5),
+                new SpaceXResilienceProperties.CircuitBreaker(50, Duration.ofSeconds(5), 100, 4, 4, Duration.ofMinutes(1), 1),
+                new SpaceXResilienceProperties.Bulkhead(10),
+                new SpaceXResilienceProperties.Stale(true, Duration.ofHours(1), 100)), meterRegistry);
+        client = new ReactiveSpaceXClient(WebClient.create(mockWebServer.url("/").toString()), null, resilience);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testTransientFailuresAreRetried() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429));
+        mockWebServer.enqueue(json("{\"id\":\"latest\",\"name\":\"Latest\",\"flight_number\":100}"));
+
+        assertEquals("Latest", client.getLatestLaunch().block().name());
+        assertEquals(3, mockWebServer.getRequestCount());
+        assertEquals(2, meterRegistry.get("spacex.api.retries").tag("endpoint", "launches.latest").counter().count());
+    }
+
+    @Test
+    void testClientErrorsAreNeitherRetriedNorRecorded() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        assertThrows(WebClientResponseException.NotFound.class, () -> client.getLaunchById("missing").block());
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(0, resilience.circuitBreaker("launches.by-id").getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutCallingUpstream() {
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        // Every attempt is recorded: the first call's three and the second call's first fill the
+        // window, so the second call's retry is already rejected
+        assertThrows(WebClientResponseException.class, () -> client.getNextLaunch().block());
+        assertThrows(CallNotPermittedException.class, () -> client.getNextLaunch().block());
+        assertEquals(CircuitBreaker.State.OPEN, resilience.circuitBreaker("launches.next").getState());
+
+        assertThrows(CallNotPermittedException.class, () -> client.getNextLaunch().block());
+        assertEquals(4, mockWebServer.getRequestCount());
+        // Other endpoints have their own circuit
+        assertEquals(CircuitBreaker.State.CLOSED, resilience.circuitBreaker("launches.latest").getState());
+    }
+
+    @Test
+    void testPartlyStreamedListIsNotRetried() {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"id\":\"l").append(i).append("\",\"flight_number\":").append(i).append('}');
+        }
+        mockWebServer.enqueue(json(body.append(']').toString())
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+
+        List<Object> received = new ArrayList<>();
+        assertThrows(RuntimeException.class, () -> client.getAllLaunches().doOnNext(received::add).blockLast());
+        assertFalse(received.isEmpty());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+    }
+}
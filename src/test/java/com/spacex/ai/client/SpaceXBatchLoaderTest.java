@@ -0,0 +1,146 @@
+package com.spacex.ai.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacex.ai.config.SpaceXBatchProperties;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.LaunchDetails;
+import com.spacex.ai.model.Rocket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceXBatchLoaderTest {
+
+    private static final Map<String, String> DOCUMENTS = Map.of(
+            "r1", "{\"id\":\"r1\",\"name\":\"Falcon 9\"}",
+            "r2", "{\"id\":\"r2\",\"name\":\"Falcon Heavy\"}",
+            "lp1", "{\"id\":\"lp1\",\"name\":\"KSC LC 39A\"}",
+            "s1", "{\"id\":\"s1\",\"name\":\"OCISLY\"}",
+            "s2", "{\"id\":\"s2\",\"name\":\"GO Ms Tree\"}",
+            "p1", "{\"id\":\"p1\",\"name\":\"Starlink\",\"mass_kg\":15600}");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordedRequest> requests = Collections.synchronizedList(new ArrayList<>());
+    private MockWebServer mockWebServer;
+    private ReactiveSpaceXClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                requests.add(request);
+                return respond(request);
+            }
+        });
+        mockWebServer.start();
+        client = new ReactiveSpaceXClient(mockWebServer.url("/").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneQuery() {
+        SpaceXBatchLoader loader = new SpaceXBatchLoader(client,
+                new SpaceXBatchProperties(true, Duration.ofMillis(50), 100), meterRegistry);
+
+        List<String> names = Flux.just("r1", "r2", "r1", "unknown")
+                .flatMapSequential(id -> loader.rocket(id).map(Rocket::name).defaultIfEmpty("-"))
+                .collectList()
+                .block();
+
+        assertEquals(List.of("Falcon 9", "Falcon Heavy", "Falcon 9", "-"), names);
+        assertEquals(1, requests.size());
+        assertEquals("/rockets/query", requests.get(0).getPath());
+        assertEquals(List.of("r1", "r2", "unknown"), requestedIds(requests.get(0)));
+        assertEquals(3, meterRegistry.get("spacex.api.batch.size").tag("resource", "rockets").summary().totalAmount());
+    }
+
+    @Test
+    void testFullBatchIsSentWithoutWaitingForWindow() {
+        SpaceXBatchLoader loader = new SpaceXBatchLoader(client,
+                new SpaceXBatchProperties(true, Duration.ofMinutes(1), 2), meterRegistry);
+
+        List<Rocket> rockets = Flux.just("r1", "r2")
+                .flatMap(loader::rocket)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(2, rockets.size());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testExpandResolvesReferencesWithOneRequestPerResource() {
+        SpaceXBatchLoader loader = new SpaceXBatchLoader(client,
+                new SpaceXBatchProperties(true, Duration.ofMillis(20), 100), meterRegistry);
+        Launch launch = new Launch("l1", "Starlink 1", 1, null, null, false, true, null, null,
+                List.of("s1", "s2", "gone"), null, List.of("p1"), "lp1", "r1", null);
+
+        LaunchDetails details = loader.expand(launch).block();
+
+        assertSame(launch, details.launch());
+        assertEquals("Falcon 9", details.rocket().name());
+        assertEquals("KSC LC 39A", details.launchpad().name());
+        assertEquals(List.of("OCISLY", "GO Ms Tree"), details.ships().stream().map(ship -> ship.name()).toList());
+        assertEquals(15600.0, details.payloads().get(0).massKg());
+        assertEquals(4, requests.size());
+        assertTrue(requests.stream().allMatch(request -> request.getPath().endsWith("/query")));
+    }
+
+    @Test
+    void testWithoutBatchingEachIdIsFetchedOnItsOwn() {
+        SpaceXBatchLoader loader = new SpaceXBatchLoader(client, null, null);
+
+        assertEquals("Falcon 9", loader.rocket("r1").block().name());
+        assertNull(loader.rocket("unknown").block());
+        assertEquals(List.of("/rockets/r1", "/rockets/unknown"),
+                requests.stream().map(RecordedRequest::getPath).toList());
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        String path = request.getPath();
+        if (path.endsWith("/query")) {
+            String docs = String.join(",", requestedIds(request).stream()
+                    .filter(DOCUMENTS::containsKey).map(DOCUMENTS::get).toList());
+            return json("{\"docs\":[" + docs + "]}");
+        }
+        String document = DOCUMENTS.get(path.substring(path.lastIndexOf('/') + 1));
+        return document == null ? new MockResponse().setResponseCode(404) : json(document);
+    }
+
+    private List<String> requestedIds(RecordedRequest request) {
+        try {
+            JsonNode ids = objectMapper.readTree(request.getBody().clone().readUtf8()).path("query").path("_id").path("$in");
+            return StreamSupport.stream(ids.spliterator(), false).map(JsonNode::asText).toList();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+    }
+}
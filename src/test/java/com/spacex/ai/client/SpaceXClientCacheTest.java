@@ -0,0 +1,127 @@
+package com.spacex.ai.client;
+
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.model.LaunchDetails;
+import com.spacex.ai.model.Rocket;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.QueueDispatcher;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SpaceXClientCacheTest {
+
+    private static final MockWebServer mockWebServer = new MockWebServer();
+
+    @Autowired
+    private SpaceXClient spaceXClient;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        mockWebServer.start();
+        registry.add("spacex.api.base-url", () -> mockWebServer.url("/").toString());
+        registry.add("spring.ai.openai.api-key", () -> "test-key");
+        registry.add("spacex.store.enabled", () -> "false");
+        registry.add("spacex.watch.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void shutdown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        CacheConfiguration.CACHE_NAMES.forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void testRepeatedCallsAreServedFromCache() {
+        int before = mockWebServer.getRequestCount();
+        String json = "[{\"id\":\"5e9d0d95eda69973a809d1ec\",\"name\":\"Falcon 9\",\"type\":\"rocket\"}]";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(json)
+                .addHeader("Content-Type", "application/json"));
+
+        List<Rocket> first = spaceXClient.getAllRockets();
+        List<Rocket> second = spaceXClient.getAllRockets();
+
+        assertEquals("Falcon 9", second.get(0).name());
+        assertSame(first, second);
+        assertEquals(before + 1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamRequest() throws Exception {
+        int before = mockWebServer.getRequestCount();
+        String json = "{\"docs\":[{\"id\":\"r1\",\"name\":\"Falcon Heavy\",\"type\":\"rocket\"}]}";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(json)
+                .setBodyDelay(200, TimeUnit.MILLISECONDS)
+                .addHeader("Content-Type", "application/json"));
+
+        List<CompletableFuture<Rocket>> calls = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> spaceXClient.getRocketById("r1")))
+                .toList();
+
+        for (CompletableFuture<Rocket> call : calls) {
+            assertEquals("Falcon Heavy", call.get(5, TimeUnit.SECONDS).name());
+        }
+        assertEquals(before + 1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testReferencesResolvedForLaunchDetailsAreCachedById() {
+        Map<String, String> docs = Map.of(
+                "/launches/query", "{\"id\":\"l1\",\"name\":\"CRS-20\",\"rocket\":\"r1\",\"launchpad\":\"p1\","
+                        + "\"ships\":[\"s1\",\"s2\"],\"payloads\":[]}",
+                "/rockets/query", "{\"id\":\"r1\",\"name\":\"Falcon 9\"}",
+                "/launchpads/query", "{\"id\":\"p1\",\"name\":\"CCSFS SLC 40\"}",
+                "/ships/query", "{\"id\":\"s1\",\"name\":\"GO Ms Tree\"},{\"id\":\"s2\",\"name\":\"OCISLY\"}");
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = docs.get(request.getPath());
+                return body == null ? new MockResponse().setResponseCode(404) : new MockResponse()
+                        .setBody("{\"docs\":[" + body + "]}")
+                        .addHeader("Content-Type", "application/json");
+            }
+        });
+        try {
+            LaunchDetails details = spaceXClient.getLaunchDetails("l1");
+            int after = mockWebServer.getRequestCount();
+
+            assertSame(details.rocket(), spaceXClient.getRocketById("r1"));
+            assertSame(details.launchpad(), spaceXClient.getLaunchpadById("p1"));
+            assertSame(details.ships().get(1), spaceXClient.getShipById("s2"));
+            assertEquals(after, mockWebServer.getRequestCount(), "served from the caches filled by the batch");
+
+            cacheManager.getCache(CacheConfiguration.ROCKET).clear();
+            assertEquals("Falcon 9", spaceXClient.getRocketById("r1").name());
+            assertEquals(after + 1, mockWebServer.getRequestCount(), "evicting the rocket cache covers it");
+        } finally {
+            mockWebServer.setDispatcher(new QueueDispatcher());
+        }
+    }
+}
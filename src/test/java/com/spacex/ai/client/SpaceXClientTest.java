@@ -2,13 +2,16 @@ package com.spacex.ai.client;
 
 import com.spacex.ai.model.Launch;
 import com.spacex.ai.model.Rocket;
+import com.spacex.ai.store.LaunchStore;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -85,4 +88,38 @@ class SpaceXClientTest {
         assertEquals(1, launches.size());
         assertEquals("Upcoming Launch", launches.get(0).name());
     }
+
+    @Test
+    void testLaunchLookupsServedFromStore() {
+        LaunchStore launchStore = new LaunchStore();
+        launchStore.replaceAll(List.of(
+                new Launch("past1", "Past", 1, LocalDateTime.of(2020, 1, 1, 0, 0), null, false, true, null,
+                        null, null, null, null, null, null, null),
+                new Launch("next1", "Next", 2, LocalDateTime.of(2030, 1, 1, 0, 0), null, true, null, null,
+                        null, null, null, null, null, null, null)
+        ));
+        SpaceXClient storeBacked = new SpaceXClient(mockWebServer.url("/").toString(), launchStore);
+
+        assertEquals("Next", storeBacked.getNextLaunch().name());
+        assertEquals("Past", storeBacked.getLatestLaunch().name());
+        assertEquals(1, storeBacked.getUpcomingLaunches().size());
+        assertEquals("past1", storeBacked.getLaunchById("past1").id());
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testFetchLaunchesSinceUsesQueryEndpoint() throws InterruptedException {
+        String json = "{\"docs\":[{\"id\":\"upcoming1\",\"name\":\"Upcoming Launch\",\"upcoming\":true}],\"totalDocs\":1}";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(json)
+                .addHeader("Content-Type", "application/json"));
+
+        List<Launch> launches = spaceXClient.fetchLaunchesSince(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        assertEquals(1, launches.size());
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("/launches/query", request.getPath());
+        assertTrue(request.getBody().readUtf8().contains("2024-01-01T00:00:00Z"));
+    }
 }
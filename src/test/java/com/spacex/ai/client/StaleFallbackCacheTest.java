@@ -0,0 +1,62 @@
+package com.spacex.ai.client;
+
+import com.spacex.ai.config.SpaceXResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaleFallbackCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StaleFallback fallback = new StaleFallback(
+            new SpaceXResilienceProperties.Stale(true, Duration.ofHours(1), 100), meterRegistry);
+    private final Cache cache = fallback.wrap(new CaffeineCache("rockets",
+            com.github.benmanes.caffeine.cache.Caffeine.newBuilder().build()));
+
+    @Test
+    void testUnavailableUpstreamIsAnsweredWithLastKnownGoodValue() {
+        List<String> rockets = List.of("Falcon 9", "Falcon Heavy");
+        assertSame(rockets, cache.get("all", () -> rockets));
+        assertTrue(fallback.staleAsOf(rockets).isEmpty());
+        cache.evict("all");
+
+        Object served = cache.get("all", () -> {
+            throw unavailable();
+        });
+
+        assertSame(rockets, served);
+        assertTrue(fallback.staleAsOf(served).isPresent());
+        assertNull(cache.get("all"), "stale values must not be cached");
+        assertEquals(1, meterRegistry.get("spacex.api.stale.responses").tag("cache", "rockets").counter().count());
+    }
+
+    @Test
+    void testFailuresWithoutSnapshotOrOfOtherKindsPropagate() {
+        assertThrows(RuntimeException.class, () -> cache.get("unknown", () -> {
+            throw unavailable();
+        }));
+
+        cache.get("gone", () -> "Falcon 1");
+        cache.evict("gone");
+        assertThrows(RuntimeException.class, () -> cache.get("gone", () -> {
+            throw WebClientResponseException.create(404, "Not Found", null, null, null);
+        }));
+    }
+
+    private static WebClientRequestException unavailable() {
+        return new WebClientRequestException(new IOException("Connection refused"), HttpMethod.GET,
+                URI.create("https://api.spacexdata.com/v4/rockets"), new HttpHeaders());
+    }
+}
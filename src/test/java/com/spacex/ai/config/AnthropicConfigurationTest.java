@@ -0,0 +1,119 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.service.SpaceXToolCallingManager;
+import io.micrometer.observation.ObservationRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage.ToolResponse;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnthropicConfigurationTest {
+
+    private MockWebServer mockWebServer;
+    private SpaceXToolCallingManager toolCallingManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        WebClient spaceXApi = WebClient.create(mockWebServer.url("/").toString());
+        ToolCallingManager delegate = mock(ToolCallingManager.class);
+        // The tool itself calls an upstream API and waits for it, as the SpaceX tools do
+        when(delegate.executeToolCalls(any(), any())).thenAnswer(invocation -> {
+            String rocket = spaceXApi.get().uri("/rockets/r1").retrieve().bodyToMono(String.class).block();
+            return result(invocation.getArgument(0), invocation.getArgument(1), rocket);
+        });
+        toolCallingManager = new SpaceXToolCallingManager(delegate, new SimpleAsyncTaskExecutor("tool-test-"),
+                Duration.ofSeconds(5), ObservationRegistry.NOOP);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testToolCallsOfAStreamedCompletionRunOffTheEventLoop() {
+        mockWebServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("data: {\"tool_calls\":[]}\n\n"));
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("{\"id\":\"r1\"}"));
+        WebClient model = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .filter(AnthropicConfiguration.offloadEventStreams(Schedulers.boundedElastic()))
+                .build();
+
+        // Mirrors OpenAiChatModel.internalStream, which executes tool calls in a flatMap over the chunks
+        List<Object> observed = model.post().uri("/v1/chat/completions").retrieve()
+                .bodyToFlux(String.class)
+                .map(chunk -> List.<Object>of(Schedulers.isInNonBlockingThread(), toolResponse(
+                        toolCallingManager.executeToolCalls(prompt(), toolCallResponse()))))
+                .blockFirst(Duration.ofSeconds(10));
+
+        assertEquals(false, observed.get(0), "tool calls must not wait on a Reactor Netty event loop");
+        assertEquals("{\"id\":\"r1\"}", observed.get(1));
+    }
+
+    @Test
+    void testOtherResponsesStayOnTheEventLoop() {
+        mockWebServer.enqueue(new MockResponse().setHeader("Content-Type", "application/json").setBody("[]"));
+        WebClient client = WebClient.builder()
+                .baseUrl(mockWebServer.url("/").toString())
+                .filter(AnthropicConfiguration.offloadEventStreams(Schedulers.boundedElastic()))
+                .build();
+
+        Boolean onEventLoop = client.get().uri("/rockets").retrieve().bodyToMono(String.class)
+                .map(body -> Schedulers.isInNonBlockingThread())
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(true, onEventLoop);
+    }
+
+    private static Prompt prompt() {
+        return new Prompt(List.of(new UserMessage("Which rocket flies next?")));
+    }
+
+    private static ChatResponse toolCallResponse() {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage("", Map.of(), List.of(
+                new AssistantMessage.ToolCall("call-1", "function", "getRocketById", "{\"id\":\"r1\"}"))))));
+    }
+
+    private static ToolExecutionResult result(Prompt prompt, ChatResponse single, String data) {
+        AssistantMessage message = single.getResult().getOutput();
+        AssistantMessage.ToolCall call = message.getToolCalls().get(0);
+        List<Message> history = new ArrayList<>(prompt.getInstructions());
+        history.add(message);
+        history.add(new ToolResponseMessage(List.of(new ToolResponse(call.id(), call.name(), data))));
+        return ToolExecutionResult.builder().conversationHistory(history).build();
+    }
+
+    private static String toolResponse(ToolExecutionResult result) {
+        List<Message> history = result.conversationHistory();
+        return ((ToolResponseMessage) history.get(history.size() - 1)).getResponses().get(0).responseData();
+    }
+}
@@ -0,0 +1,117 @@
+package com.spacex.ai.config;
+
+import com.spacex.ai.client.ReactiveSpaceXClient;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceXHttpConfigurationTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockWebServer mockWebServer;
+    private ConnectionProvider connectionProvider;
+    private ReactiveSpaceXClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Metrics.addRegistry(meterRegistry);
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        SpaceXHttpProperties properties = new SpaceXHttpProperties(Duration.ofSeconds(2), Duration.ofSeconds(5),
+                Map.of("launches", Duration.ofMillis(200)), Duration.ofSeconds(5), true, true, true,
+                new SpaceXHttpProperties.Pool(2, 10, Duration.ofSeconds(1), Duration.ofSeconds(30),
+                        Duration.ofMinutes(10), Duration.ofSeconds(30), true));
+        SpaceXHttpConfiguration configuration = new SpaceXHttpConfiguration();
+        connectionProvider = configuration.spaceXConnectionProvider(properties);
+        WebClient webClient = configuration.spaceXWebClient(WebClient.builder(), connectionProvider, properties,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                mockWebServer.url("/").toString());
+        client = new ReactiveSpaceXClient(webClient, properties, null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionProvider.dispose();
+        mockWebServer.shutdown();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void testResponseTimeoutIsAppliedPerResource() {
+        mockWebServer.enqueue(json("[]").setHeadersDelay(1, TimeUnit.SECONDS));
+        mockWebServer.enqueue(json("[]").setHeadersDelay(1, TimeUnit.SECONDS));
+
+        assertThrows(Exception.class, () -> client.getAllLaunches().collectList().block());
+        assertEquals(0, client.getAllRockets().collectList().block().size());
+    }
+
+    @Test
+    void testConnectionsAreReusedAndCompressionIsRequested() throws InterruptedException {
+        mockWebServer.enqueue(json("[]"));
+        mockWebServer.enqueue(json("[]"));
+
+        client.getAllShips().collectList().block();
+        awaitIdleConnection();
+        client.getAllLaunchpads().collectList().block();
+
+        assertEquals("gzip", mockWebServer.takeRequest().getHeader("Accept-Encoding"));
+        assertEquals(1, mockWebServer.takeRequest().getSequenceNumber(),
+                "second request should reuse the pooled connection");
+        assertNotNull(meterRegistry.find("reactor.netty.connection.provider.total.connections")
+                .tag("name", "spacex-api").gauge());
+    }
+
+    @Test
+    void testResponseSizeIsRecordedPerUriTemplate() {
+        String body = "[{\"id\":\"s1\",\"name\":\"GO Ms Tree\"}]";
+        mockWebServer.enqueue(json(body));
+        mockWebServer.enqueue(json(body));
+
+        client.getAllShips().collectList().block();
+        client.getAllShips().collectList().block();
+
+        DistributionSummary sizes = meterRegistry.get(SpaceXHttpConfiguration.RESPONSE_SIZE).summary();
+        assertEquals(2, sizes.count());
+        assertEquals(2.0 * body.length(), sizes.totalAmount());
+        assertEquals("bytes", sizes.getId().getBaseUnit());
+        assertTrue(sizes.getId().getTag("uri").contains("ships"));
+    }
+
+    /**
+     * Connections go back to the pool asynchronously, shortly after the body has been consumed.
+     */
+    private void awaitIdleConnection() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            Gauge idle = meterRegistry.find("reactor.netty.connection.provider.idle.connections")
+                    .tag("name", "spacex-api").gauge();
+            if (idle != null && idle.value() == 1) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("connection was not returned to the pool");
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+    }
+}
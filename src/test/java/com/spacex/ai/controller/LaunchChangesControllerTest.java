@@ -0,0 +1,51 @@
+package com.spacex.ai.controller;
+
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.store.LaunchChanges;
+import com.spacex.ai.store.UpcomingLaunchWatcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LaunchChangesControllerTest {
+
+    @Test
+    void testScheduleChangesAreStreamedToEverySubscriber() {
+        SpaceXClient spaceXClient = mock(SpaceXClient.class);
+        when(spaceXClient.fetchUpcomingLaunches())
+                .thenReturn(List.of(launch("l1")))
+                .thenReturn(List.of());
+        UpcomingLaunchWatcher watcher = new UpcomingLaunchWatcher(spaceXClient, new CaffeineCacheManager(), event -> { }, null);
+        LaunchChangesController controller = new LaunchChangesController(watcher);
+        List<ServerSentEvent<Object>> first = new CopyOnWriteArrayList<>();
+        List<ServerSentEvent<Object>> second = new CopyOnWriteArrayList<>();
+        Disposable firstSubscription = controller.changes().subscribe(first::add);
+        Disposable secondSubscription = controller.changes().subscribe(second::add);
+
+        watcher.poll();
+        watcher.poll();
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+
+        assertEquals(1, first.size());
+        assertEquals(first, second);
+        assertEquals("launches", first.get(0).event());
+        LaunchChanges changes = (LaunchChanges) first.get(0).data();
+        assertEquals(LaunchChanges.Kind.REMOVED, changes.changes().get(0).kind());
+        assertNull(changes.next());
+    }
+
+    private static Launch launch(String id) {
+        return new Launch(id, "Flight " + id, 1, null, null, true, null, null,
+                List.of(), List.of(), List.of(), List.of(), null, null, null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.spacex.ai.controller;
+
+import com.spacex.ai.service.AnswerCache;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@DisabledInAotMode
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@TestPropertySource(properties = {
+    "spring.main.web-application-type=reactive",
+    "spring.ai.openai.api-key=test-key",
+    "spacex.store.enabled=false",
+    "spacex.watch.enabled=false"
+})
+class ReactiveSpaceXAiControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean(answer = Answers.RETURNS_DEEP_STUBS)
+    private ChatClient chatClient;
+
+    @SpyBean
+    private AnswerCache answerCache;
+
+    @Test
+    void testAskEndpointCollectsStreamedAnswer() {
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).stream().content())
+                .thenReturn(Flux.just("mocked ", "answer"));
+
+        webTestClient.post().uri("/api/ask")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\":\"What is the latest SpaceX launch?\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.question").isEqualTo("What is the latest SpaceX launch?")
+                .jsonPath("$.answer").isEqualTo("mocked answer");
+    }
+
+    @Test
+    void testAnswerCacheIsLookedUpOffTheEventLoop() {
+        List<Boolean> onEventLoop = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            onEventLoop.add(Schedulers.isInNonBlockingThread());
+            return Optional.of("cached answer");
+        }).when(answerCache).get("Which pad does Crew-9 use?");
+
+        webTestClient.post().uri("/api/ask")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\":\"Which pad does Crew-9 use?\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.answer").isEqualTo("cached answer")
+                .jsonPath("$.cached").isEqualTo(true);
+
+        assertEquals(List.of(false), onEventLoop);
+    }
+
+    @Test
+    void testStreamLooksUpTheAnswerCacheOffTheEventLoop() {
+        List<Boolean> onEventLoop = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            onEventLoop.add(Schedulers.isInNonBlockingThread());
+            return Optional.of("cached answer");
+        }).when(answerCache).get("Which pad does Crew-9 use?");
+
+        webTestClient.post().uri("/api/ask/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue("{\"question\":\"Which pad does Crew-9 use?\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .value(body -> assertTrue(body.contains("event:token\ndata:cached answer"), body));
+
+        assertEquals(List.of(false), onEventLoop);
+    }
+
+    @Test
+    void testAskEndpointWithMissingQuestion() {
+        webTestClient.post().uri("/api/ask")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\":\"\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Question must be provided");
+    }
+
+    @Test
+    void testAskEndpointMapsProviderErrorsToBadGateway() {
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).stream().content())
+                .thenReturn(Flux.error(new IllegalStateException("provider down")));
+
+        webTestClient.post().uri("/api/ask")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"question\":\"Next launch?\"}")
+                .exchange()
+                .expectStatus().isEqualTo(502)
+                .expectBody()
+                .jsonPath("$.details").isEqualTo("provider down");
+    }
+}
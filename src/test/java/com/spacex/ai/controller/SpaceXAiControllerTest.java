@@ -9,19 +9,24 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@DisabledInAotMode
 @SpringBootTest
 @AutoConfigureMockMvc
 @TestPropertySource(properties = {
-    "spring.ai.openai.api-key=test-key"
+    "spring.ai.openai.api-key=test-key",
+    "spacex.store.enabled=false",
+    "spacex.watch.enabled=false"
 })
 class SpaceXAiControllerTest {
 
@@ -40,7 +45,7 @@ class SpaceXAiControllerTest {
 
     @Test
     void testAskEndpointWithValidRequest() throws Exception {
-        when(chatClient.prompt().user(anyString()).call().content()).thenReturn("mocked answer");
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).call().content()).thenReturn("mocked answer");
 
         String requestJson = "{\"question\":\"What is the latest SpaceX launch?\"}";
 
@@ -52,6 +57,23 @@ class SpaceXAiControllerTest {
                 .andExpect(jsonPath("$.answer", equalTo("mocked answer")));
     }
 
+    @Test
+    void testRepeatedQuestionIsAnsweredFromCache() throws Exception {
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).call().content()).thenReturn("in 3 days");
+        String requestJson = "{\"question\":\"How long until the next Starship flight?\"}";
+
+        mockMvc.perform(post("/api/ask").contentType(MediaType.APPLICATION_JSON).content(requestJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cached").value(false));
+
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).call().content()).thenReturn("not cached");
+        mockMvc.perform(post("/api/ask").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"question\":\"how long until the next starship flight\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.answer").value("in 3 days"))
+                .andExpect(jsonPath("$.cached").value(true));
+    }
+
     @Test
     void testAskEndpointWithMissingQuestion() throws Exception {
         String requestJson = "{\"question\":\"\"}";
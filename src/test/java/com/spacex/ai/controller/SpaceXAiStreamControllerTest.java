@@ -0,0 +1,108 @@
+package com.spacex.ai.controller;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.aot.DisabledInAotMode;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisabledInAotMode
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+    "spring.ai.openai.api-key=test-key",
+    "spacex.store.enabled=false",
+    "spacex.watch.enabled=false"
+})
+class SpaceXAiStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SpaceXAiStreamController controller;
+
+    @MockBean(answer = Answers.RETURNS_DEEP_STUBS)
+    private ChatClient chatClient;
+
+    @Test
+    void testStreamEmitsTokensThenDone() throws Exception {
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).stream().content())
+                .thenReturn(Flux.just("The next ", "launch"));
+
+        MvcResult result = mockMvc.perform(post("/api/ask/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content("{\"question\":\"When is the next launch?\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("event:token\ndata:The next \n\n")))
+                .andExpect(content().string(containsString("event:token\ndata:launch\n\n")))
+                .andExpect(content().string(containsString("event:done\ndata:{\"question\":\"When is the next launch?\"}")));
+    }
+
+    @Test
+    void testStreamReportsProviderErrorAsEvent() {
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).stream().content())
+                .thenReturn(Flux.error(new IllegalStateException("provider down")));
+
+        ServerSentEvent<Object> last = controller.askStream(new SpaceXAiController.AskRequest("Next launch?"))
+                .getBody()
+                .blockLast();
+
+        assertEquals("error", last.event());
+    }
+
+    @Test
+    void testClientDisconnectCancelsGeneration() throws InterruptedException {
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(chatClient.prompt().user(anyString()).toolContext(anyMap()).stream().content())
+                .thenReturn(Flux.<String>never()
+                        .doOnSubscribe(subscription -> generating.countDown())
+                        .doOnCancel(cancelled::countDown));
+
+        Disposable subscription = controller.askStream(new SpaceXAiController.AskRequest("Next launch?"))
+                .getBody()
+                .subscribe();
+        // The model is called once the answer cache lookup is done
+        assertTrue(generating.await(5, TimeUnit.SECONDS));
+        subscription.dispose();
+
+        // The cancel reaches the model stream on the thread that subscribed to it
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testStreamWithMissingQuestion() throws Exception {
+        mockMvc.perform(post("/api/ask/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"question\":\" \"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
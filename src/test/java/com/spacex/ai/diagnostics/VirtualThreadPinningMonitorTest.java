@@ -0,0 +1,73 @@
+package com.spacex.ai.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor =
+            new VirtualThreadPinningMonitor(Duration.ofMillis(10), meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void testReportsContendedMonitorAtApplicationFrame() throws Exception {
+        monitor.start();
+        assertTrue(monitor.isRunning());
+
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (lock) {
+                held.countDown();
+                sleep(200);
+            }
+        });
+        holder.start();
+        held.await();
+        enterContendedMonitor();
+        holder.join();
+
+        List<PinningHotSpot> hotSpots = awaitHotSpots();
+        PinningHotSpot hotSpot = hotSpots.get(0);
+        assertEquals("monitor", hotSpot.kind());
+        assertTrue(hotSpot.frame().startsWith(getClass().getName() + ".enterContendedMonitor"), hotSpot.frame());
+        assertTrue(hotSpot.maxMillis() >= 10);
+        assertEquals(hotSpot.count(), meterRegistry.counter("spacex.threads.pinning", "kind", "monitor").count());
+    }
+
+    private void enterContendedMonitor() {
+        synchronized (lock) {
+            assertTrue(Thread.holdsLock(lock));
+        }
+    }
+
+    private List<PinningHotSpot> awaitHotSpots() throws InterruptedException {
+        // JFR streams flush roughly once per second
+        for (int i = 0; i < 100 && monitor.hotSpots().isEmpty(); i++) {
+            Thread.sleep(100);
+        }
+        List<PinningHotSpot> hotSpots = monitor.hotSpots();
+        assertFalse(hotSpots.isEmpty(), "no monitor contention recorded");
+        return hotSpots;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
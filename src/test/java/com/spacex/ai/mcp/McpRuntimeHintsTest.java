@@ -0,0 +1,42 @@
+package com.spacex.ai.mcp;
+
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.Rocket;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.util.LinkedHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    McpRuntimeHintsTest() {
+        new McpRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testModelRecordsAreRegisteredForBinding() throws NoSuchMethodException {
+        for (Class<?> type : McpRuntimeHints.BOUND_TYPES) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Launch.class.getMethod("dateUtc")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Launch.Links.Patch.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Rocket.Engine.class).test(hints));
+    }
+
+    @Test
+    void testJsonRpcContainersCanBeInstantiated() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(LinkedHashMap.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void testLoggingConfigurationIsIncluded() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource(McpRuntimeHints.LOGGING_CONFIG).test(hints));
+    }
+}
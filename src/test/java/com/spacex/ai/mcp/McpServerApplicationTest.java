@@ -0,0 +1,133 @@
+package com.spacex.ai.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacex.ai.controller.SpaceXAiController;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the slim MCP context end to end, from JSON-RPC lines in to JSON-RPC lines out, against a
+ * stubbed SpaceX API. Also part of the native test run ({@code -PnativeTest}), so the native image
+ * is held to the same output as the JVM.
+ */
+@SpringBootTest(classes = McpServerApplication.class, properties = {"spacex.store.enabled=false", "spacex.watch.enabled=false"})
+class McpServerApplicationTest {
+
+    private static final String LAUNCH = """
+            {"id":"l1","name":"Crew-9","flight_number":187,"date_utc":"2024-09-28T17:17:00.000Z",
+             "upcoming":false,"success":true,"launchpad":"lp1","rocket":"r1","ships":[],"payloads":[],
+             "links":{"patch":{"small":"https://example.com/small.png"},"webcast":"https://example.com/live"}}""";
+    private static final String ROCKET = """
+            {"id":"r1","name":"Falcon 9","type":"rocket","cost_per_launch":50000000,
+             "height":{"meters":70,"feet":229.6},"engines":[{"number":9,"type":"merlin"}]}""";
+    private static final String LAUNCHPAD = """
+            {"id":"lp1","name":"KSC LC 39A","full_name":"Kennedy Space Center Historic Launch Complex 39A",
+             "launch_attempts":55,"launch_successes":55}""";
+
+    private static final MockWebServer mockWebServer = new MockWebServer();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private McpToolServer mcpToolServer;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        Map<String, String> bodies = new HashMap<>();
+        bodies.put("/launches/latest", LAUNCH);
+        bodies.put("/launches/query", "{\"docs\":[" + LAUNCH + "]}");
+        bodies.put("/rockets/query", "{\"docs\":[" + ROCKET + "]}");
+        bodies.put("/launchpads/query", "{\"docs\":[" + LAUNCHPAD + "]}");
+        bodies.put("/launchpads", "[" + LAUNCHPAD + "]");
+        mockWebServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = bodies.get(request.getRequestUrl().encodedPath());
+                return body == null ? new MockResponse().setResponseCode(404)
+                        : new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+            }
+        });
+        mockWebServer.start();
+        registry.add("spacex.api.base-url", () -> mockWebServer.url("/").toString());
+    }
+
+    @AfterAll
+    static void shutdown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testOnlyTheMcpBeansAreLoaded() {
+        assertEquals(0, context.getBeanNamesForType(ChatModel.class).length);
+        assertEquals(0, context.getBeanNamesForType(SpaceXAiController.class).length);
+    }
+
+    @Test
+    void testToolCallsRoundTrip() throws Exception {
+        List<JsonNode> messages = serve(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"getLatestLaunch\"}",
+                "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"getLaunchDetails\",\"params\":{\"id\":\"l1\"}}",
+                "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"getAllLaunchpads\"}",
+                "{\"jsonrpc\":\"2.0\",\"id\":4,\"method\":\"getLaunchById\"");
+
+        assertEquals(5, messages.size());
+        assertTrue(messages.get(0).path("capabilities").path("tools").size() > 0);
+        Map<Integer, JsonNode> byId = new HashMap<>();
+        messages.stream().skip(1).forEach(message -> byId.put(message.path("id").isInt() ? message.get("id").asInt() : -1, message));
+
+        JsonNode latest = byId.get(1).get("result");
+        assertEquals("Crew-9", latest.get("name").asText());
+        assertEquals(187, latest.get("flight_number").asInt());
+        assertEquals("2024-09-28T17:17:00", latest.get("date_utc").asText());
+        assertEquals("https://example.com/small.png", latest.at("/links/patch/small").asText());
+
+        JsonNode details = byId.get(2).get("result");
+        assertEquals("l1", details.at("/launch/id").asText());
+        assertEquals(50_000_000L, details.at("/rocket/cost_per_launch").asLong());
+        assertEquals(70.0, details.at("/rocket/height/meters").asDouble());
+        assertEquals("merlin", details.at("/rocket/engines/0/type").asText());
+        assertEquals("KSC LC 39A", details.at("/launchpad/name").asText());
+
+        assertEquals(55, byId.get(3).at("/result/0/launch_successes").asInt());
+        // The truncated request cannot be parsed and is answered with an error
+        assertTrue(byId.get(-1).has("error"));
+    }
+
+    private List<JsonNode> serve(String... requests) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mcpToolServer.serve(new ByteArrayInputStream(String.join("\n", requests).getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).lines().map(this::parse).toList();
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.spacex.ai.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the MCP server as the process an MCP client spawns, with its scheduled jobs logging
+ * failures against an unreachable API, and checks that stdout still carries only JSON-RPC.
+ */
+@DisabledInNativeImage
+class McpServerProcessTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Process process;
+
+    @AfterEach
+    void tearDown() {
+        if (process != null) {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    void testLogsStayOffStdout() throws Exception {
+        process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                McpServerApplication.class.getName(),
+                "--spacex.api.base-url=http://127.0.0.1:1/v4")
+                .start();
+        List<String> stdout = new CopyOnWriteArrayList<>();
+        List<String> stderr = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> stdoutClosed = collect(process.getInputStream(), stdout);
+        collect(process.getErrorStream(), stderr);
+
+        // Let the scheduled jobs fail and log before the session ends
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (Stream.concat(stdout.stream(), stderr.stream()).noneMatch(line -> line.contains("Upcoming launch poll failed"))) {
+            assertTrue(System.nanoTime() < deadline, "no poll failure logged");
+            Thread.sleep(100);
+        }
+        try (PrintWriter client = new PrintWriter(process.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            client.println("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}");
+            client.println("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"launchRockets\"}");
+        }
+        assertTrue(process.waitFor(60, TimeUnit.SECONDS), "server did not exit after stdin closed");
+
+        stdoutClosed.get(10, TimeUnit.SECONDS);
+        for (String line : stdout) {
+            assertTrue(isJsonObject(line), "not a JSON-RPC frame: " + line);
+        }
+        assertEquals(2, stdout.size(), "capabilities and one response: " + stdout);
+        assertTrue(objectMapper.readTree(stdout.get(0)).has("capabilities"));
+        JsonNode response = objectMapper.readTree(stdout.get(1));
+        assertEquals("2.0", response.get("jsonrpc").asText());
+        assertEquals(1, response.get("id").asInt());
+        assertTrue(stderr.stream().anyMatch(line -> line.contains("WARN")), "logs went to stderr");
+    }
+
+    private boolean isJsonObject(String line) {
+        try {
+            return objectMapper.readTree(line).isObject();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static CompletableFuture<Void> collect(InputStream in, List<String> lines) {
+        return CompletableFuture.runAsync(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                reader.lines().forEach(lines::add);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
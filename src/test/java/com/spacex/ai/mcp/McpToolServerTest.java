@@ -0,0 +1,306 @@
+package com.spacex.ai.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.config.BoundedTaskExecutor;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.service.LaunchAnalytics;
+import com.spacex.ai.service.SerializedResults;
+import com.spacex.ai.store.UpcomingLaunchWatcher;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class McpToolServerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SpaceXClient spaceXClient;
+    private ObservationRegistry observationRegistry;
+    private UpcomingLaunchWatcher upcomingLaunchWatcher;
+    private McpToolServer mcpToolServer;
+    private PrintWriter client;
+    private BufferedReader responses;
+    private CompletableFuture<Void> server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spaceXClient = mock(SpaceXClient.class);
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        upcomingLaunchWatcher = new UpcomingLaunchWatcher(spaceXClient, new CaffeineCacheManager(), event -> { }, null);
+        start(new SimpleAsyncTaskExecutor("mcp-test-"));
+    }
+
+    private void start(TaskExecutor toolExecutor) throws IOException {
+        mcpToolServer = new McpToolServer(spaceXClient, new LaunchAnalytics(spaceXClient, null),
+                new SerializedResults(meterRegistry), objectMapper, toolExecutor, observationRegistry,
+                upcomingLaunchWatcher);
+
+        PipedOutputStream requestsOut = new PipedOutputStream();
+        PipedInputStream requestsIn = new PipedInputStream(requestsOut);
+        PipedInputStream responsesIn = new PipedInputStream(64 * 1024);
+        PipedOutputStream responsesOut = new PipedOutputStream(responsesIn);
+
+        client = new PrintWriter(requestsOut, true, StandardCharsets.UTF_8);
+        responses = new BufferedReader(new InputStreamReader(responsesIn, StandardCharsets.UTF_8));
+        server = CompletableFuture.runAsync(() -> {
+            try {
+                mcpToolServer.serve(requestsIn, responsesOut);
+                responsesOut.close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(nextMessage().containsKey("capabilities"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void testSlowRequestDoesNotBlockLaterRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(spaceXClient.getAllLaunches()).thenAnswer(invocation -> {
+            release.await();
+            return List.of(launch("slow"));
+        });
+        when(spaceXClient.getLatestLaunch()).thenReturn(launch("latest"));
+
+        send(1, "getAllLaunches");
+        send(2, "getLatestLaunch");
+
+        Map<String, Object> first = nextMessage();
+        assertEquals(2, first.get("id"));
+        assertEquals("latest", ((Map<?, ?>) first.get("result")).get("id"));
+
+        release.countDown();
+        Map<String, Object> second = nextMessage();
+        assertEquals(1, second.get("id"));
+        assertEquals("slow", ((List<Map<?, ?>>) second.get("result")).get(0).get("id"));
+
+        client.close();
+        server.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testCancelledRequestIsInterruptedAndNotAnswered() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(spaceXClient.getAllLaunches()).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return List.of();
+        });
+        when(spaceXClient.getLatestLaunch()).thenReturn(launch("latest"));
+
+        send(7, "getAllLaunches");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        client.println(objectMapper.writeValueAsString(Map.of(
+                "jsonrpc", "2.0",
+                "method", McpToolServer.CANCELLED_NOTIFICATION,
+                "params", Map.of("requestId", 7, "reason", "user aborted"))));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+        send(8, "getLatestLaunch");
+        assertEquals(8, nextMessage().get("id"));
+
+        client.close();
+        server.get(5, TimeUnit.SECONDS);
+        assertNull(responses.readLine());
+        assertEquals(1, requests("getAllLaunches", "cancelled"));
+        assertEquals(1, requests("getLatestLaunch", "success"));
+    }
+
+    @Test
+    void testCancellationGetsThroughWhileTheExecutorIsFull() throws Exception {
+        client.close();
+        server.get(5, TimeUnit.SECONDS);
+        start(new BoundedTaskExecutor(new SimpleAsyncTaskExecutor("mcp-test-"), 1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(spaceXClient.getAllLaunches()).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return List.of();
+        });
+
+        send(1, "getAllLaunches");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        send(2, "getLatestLaunch");
+        Map<String, Object> busy = nextMessage();
+        assertEquals(2, busy.get("id"));
+        assertEquals("Server busy, request rejected", busy.get("error"));
+
+        client.println(objectMapper.writeValueAsString(Map.of(
+                "jsonrpc", "2.0",
+                "method", McpToolServer.CANCELLED_NOTIFICATION,
+                "params", Map.of("requestId", 1))));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+
+        client.close();
+        server.get(5, TimeUnit.SECONDS);
+        assertNull(responses.readLine());
+    }
+
+    @Test
+    void testNotificationsAreNotAnswered() throws Exception {
+        when(spaceXClient.getLatestLaunch()).thenReturn(launch("latest"));
+
+        client.println(objectMapper.writeValueAsString(Map.of(
+                "jsonrpc", "2.0", "method", "notifications/initialized")));
+        send(5, "getLatestLaunch");
+
+        assertEquals(5, nextMessage().get("id"));
+        client.close();
+        server.get(5, TimeUnit.SECONDS);
+        assertNull(responses.readLine());
+    }
+
+    @Test
+    void testOnlyFramesReachStdout() throws Exception {
+        when(spaceXClient.getLatestLaunch()).thenAnswer(invocation -> {
+            System.out.println("stray output from a tool");
+            return launch("latest");
+        });
+        PrintStream stdout = System.out;
+        InputStream stdin = System.in;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true, StandardCharsets.UTF_8));
+        System.setIn(new ByteArrayInputStream(objectMapper.writeValueAsBytes(Map.of(
+                "jsonrpc", "2.0", "id", 9, "method", "getLatestLaunch"))));
+        try {
+            mcpToolServer.start();
+        } finally {
+            System.setOut(stdout);
+            System.setIn(stdin);
+        }
+
+        List<String> lines = captured.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size(), "capabilities and one response: " + lines);
+        assertEquals(9, objectMapper.readValue(lines.get(1), Map.class).get("id"));
+    }
+
+    @Test
+    void testLaunchStatsAreServed() throws Exception {
+        when(spaceXClient.getAllLaunches()).thenReturn(List.of(launch("l1"), launch("l2")));
+
+        send(4, "getLaunchStats");
+
+        Map<String, Object> response = nextMessage();
+        assertEquals(4, response.get("id"));
+        assertEquals(2, ((Map<?, ?>) ((Map<?, ?>) response.get("result")).get("total")).get("launches"));
+    }
+
+    @Test
+    void testLaunchStatsLimitAcceptsAnyIntegralJsonValue() throws Exception {
+        when(spaceXClient.getAllLaunches()).thenReturn(List.of(launch("l1"), launch("l2")));
+
+        for (Object limit : List.of(1, 1L, 1.0, "1")) {
+            assertEquals(1, McpToolServer.integerParam(Map.of("limit", limit), "limit"));
+        }
+        assertNull(McpToolServer.integerParam(Map.of(), "limit"));
+        for (Object limit : List.of(1.5, "ten", 1L << 40, List.of(1))) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> McpToolServer.integerParam(Map.of("limit", limit), "limit"));
+            assertEquals("limit must be an integer, got: " + limit, e.getMessage());
+        }
+
+        client.println(objectMapper.writeValueAsString(Map.of(
+                "jsonrpc", "2.0", "id", 6, "method", "getLaunchStats", "params", Map.of("groupBy", "rocket", "limit", 1.0))));
+        Map<String, Object> response = nextMessage();
+        assertEquals(6, response.get("id"));
+        assertNull(response.get("error"));
+    }
+
+    @Test
+    void testScheduleChangesAreNotified() throws Exception {
+        when(spaceXClient.fetchUpcomingLaunches())
+                .thenReturn(List.of(launch("l1")))
+                .thenReturn(List.of(launch("l1"), launch("l2")));
+
+        upcomingLaunchWatcher.poll();
+        upcomingLaunchWatcher.poll();
+
+        Map<String, Object> notification = nextMessage();
+        assertEquals(McpToolServer.LAUNCHES_CHANGED_NOTIFICATION, notification.get("method"));
+        assertFalse(notification.containsKey("id"));
+        Map<?, ?> change = ((List<Map<?, ?>>) ((Map<?, ?>) notification.get("params")).get("changes")).get(0);
+        assertEquals("added", change.get("kind"));
+        assertEquals("l2", change.get("id"));
+    }
+
+    @Test
+    void testErrorsCarryRequestId() throws Exception {
+        send(3, "launchRockets");
+
+        Map<String, Object> error = nextMessage();
+        assertEquals("2.0", error.get("jsonrpc"));
+        assertEquals(3, error.get("id"));
+        assertEquals("Unknown method: launchRockets", error.get("error"));
+        assertEquals("processing_error", error.get("type"));
+        assertEquals(1, requests("unknown", "error"));
+    }
+
+    private long requests(String method, String outcome) {
+        return meterRegistry.get(McpToolServer.REQUESTS_OBSERVATION)
+                .tag("method", method).tag("outcome", outcome).timer().count();
+    }
+
+    private void send(int id, String method) throws IOException {
+        client.println(objectMapper.writeValueAsString(Map.of(
+                "jsonrpc", "2.0", "id", id, "method", method, "params", Map.of())));
+    }
+
+    private Map<String, Object> nextMessage() throws IOException {
+        String line = responses.readLine();
+        assertNotNull(line, "server closed its output");
+        return objectMapper.readValue(line, Map.class);
+    }
+
+    private static Launch launch(String id) {
+        return new Launch(id, "Flight " + id, 1, null, null, false, true, null,
+                List.of(), List.of(), List.of(), List.of(), null, null, null);
+    }
+}
@@ -0,0 +1,92 @@
+package com.spacex.ai.service;
+
+import com.spacex.ai.config.AnswerCacheProperties;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.config.SpaceXCacheProperties;
+import com.spacex.ai.store.SpaceXDataChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.model.function.FunctionCallback;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SpaceXCacheProperties cacheProperties = new SpaceXCacheProperties(500, Duration.ofMinutes(10),
+            Map.of(CacheConfiguration.NEXT_LAUNCH, Duration.ofMillis(50), CacheConfiguration.ROCKET, Duration.ofHours(12)));
+
+    @Test
+    void testNormalizedQuestionsShareAnAnswer() {
+        AnswerCache cache = cache(false);
+
+        cache.put("When is the next SpaceX launch?", "Tomorrow", List.of("getRocketById"));
+
+        assertEquals(Optional.of("Tomorrow"), cache.get("when is the next launch"));
+        assertEquals(Optional.of("Tomorrow"), cache.get("  WHEN is the NEXT launch!!"));
+        assertEquals(Optional.empty(), cache.get("Where is the next launch?"));
+        assertEquals(2, meterRegistry.get("spacex.answers.cache.requests").tag("result", "exact").counter().count());
+        assertEquals(1, meterRegistry.get("spacex.answers.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testSimilarityTierMatchesRephrasedQuestions() {
+        AnswerCache cache = cache(true);
+
+        cache.put("What are the Falcon 9 rocket's engines?", "Merlin", List.of("getRocketById"));
+
+        assertEquals(Optional.of("Merlin"), cache.get("Falcon 9 rocket engines, what are they?"));
+        assertEquals(Optional.empty(), cache.get("How many Falcon Heavy launches failed?"));
+        assertEquals(1, meterRegistry.get("spacex.answers.cache.requests").tag("result", "similar").counter().count());
+    }
+
+    @Test
+    void testAnswerExpiresWithTheFreshestDataItUsed() throws InterruptedException {
+        AnswerCache cache = cache(false);
+
+        cache.put("Next launch?", "Tomorrow", List.of("getRocketById", "getNextLaunch"));
+        cache.put("Falcon 9 height?", "70 m", List.of("getRocketById"));
+        Thread.sleep(100);
+
+        assertEquals(Optional.empty(), cache.get("Next launch?"));
+        assertEquals(Optional.of("70 m"), cache.get("Falcon 9 height?"));
+    }
+
+    @Test
+    void testDataChangeDropsDependentAnswers() {
+        AnswerCache cache = cache(false);
+        cache.put("Latest launch?", "Starlink", List.of("getLatestLaunch"));
+        cache.put("Crew-9 payload?", "Dragon", List.of("getLaunchDetails"));
+        cache.put("Falcon 9 height?", "70 m", List.of("getRocketById"));
+        cache.put("Who founded SpaceX?", "Elon Musk", List.of());
+
+        cache.onDataChanged(new SpaceXDataChangedEvent(Set.of(CacheConfiguration.LATEST_LAUNCH, CacheConfiguration.LAUNCHES,
+                CacheConfiguration.LAUNCH_DETAILS)));
+
+        assertEquals(Optional.empty(), cache.get("Latest launch?"));
+        assertEquals(Optional.empty(), cache.get("Crew-9 payload?"));
+        assertEquals(Optional.of("70 m"), cache.get("Falcon 9 height?"));
+        assertEquals(Optional.of("Elon Musk"), cache.get("Who founded SpaceX?"));
+    }
+
+    @Test
+    void testEveryToolDeclaresTheDataItReads() {
+        SpaceXToolService toolService = new SpaceXToolService(null, null, null, null);
+
+        for (FunctionCallback tool : toolService.toolCallbacks()) {
+            assertTrue(AnswerCache.TOOL_DATA.containsKey(tool.getName()), tool.getName());
+        }
+    }
+
+    private AnswerCache cache(boolean similarity) {
+        AnswerCacheProperties properties = new AnswerCacheProperties(true, 100, Duration.ofMinutes(10),
+                new AnswerCacheProperties.Similarity(similarity, 0.8, AnswerCacheProperties.Embedding.LOCAL));
+        return new AnswerCache(properties, cacheProperties, similarity ? AnswerCache.localEmbedder() : null, meterRegistry);
+    }
+}
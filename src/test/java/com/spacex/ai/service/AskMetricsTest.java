@@ -0,0 +1,59 @@
+package com.spacex.ai.service;
+
+import com.spacex.ai.service.ToolCallProgress.Status;
+import com.spacex.ai.service.ToolCallProgress.ToolCallEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AskMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AskMetrics metrics = new AskMetrics(meterRegistry);
+
+    @Test
+    void testAnsweredQuestionRecordsToolCallsAndAnswerSize() {
+        AskMetrics.Ask ask = metrics.start("ask");
+        ask.onEvent(new ToolCallEvent("c", "getNextLaunch", Status.STARTED, 0));
+        ask.onEvent(new ToolCallEvent("c", "getNextLaunch", Status.COMPLETED, 0));
+        ask.onEvent(new ToolCallEvent("c", "getRocketById", Status.STARTED, 0));
+        ask.answered("Falcon 9");
+
+        assertEquals(1, meterRegistry.get("spacex.ask").tag("endpoint", "ask").tag("outcome", "answered").timer().count());
+        DistributionSummary toolCalls = meterRegistry.get("spacex.ask.tool.calls").summary();
+        assertEquals(2.0, toolCalls.totalAmount());
+        assertEquals(8.0, meterRegistry.get("spacex.ask.answer.size").summary().totalAmount());
+    }
+
+    @Test
+    void testRepeatedToolCallsAreRecordedPerQuestion() {
+        AskMetrics.Ask ask = metrics.start("ask");
+        ask.toolCallMemo().call("getRocketById", "r1", () -> "{}");
+        ask.toolCallMemo().call("getRocketById", "r1", () -> "{}");
+        ask.answered("Falcon 9");
+
+        assertEquals(1.0, meterRegistry.get("spacex.ask.tool.calls.duplicate").summary().totalAmount());
+    }
+
+    @Test
+    void testOnlyTheFirstOutcomeIsRecorded() {
+        AskMetrics.Ask ask = metrics.start("stream");
+        ask.failed();
+        ask.cancelled();
+        ask.answered("late");
+
+        assertEquals(1, meterRegistry.get("spacex.ask").timers().size());
+        assertEquals(1, meterRegistry.get("spacex.ask").tag("outcome", "error").timer().count());
+        assertNull(meterRegistry.find("spacex.ask.answer.size").summary());
+    }
+
+    @Test
+    void testCachedAnswersCountNoToolCalls() {
+        metrics.start("reactive").cached();
+
+        assertEquals(1, meterRegistry.get("spacex.ask").tag("outcome", "cached").timer().count());
+        assertNull(meterRegistry.find("spacex.ask.tool.calls").summary());
+    }
+}
@@ -0,0 +1,161 @@
+package com.spacex.ai.service;
+
+import com.spacex.ai.service.ToolCallProgress.Status;
+import com.spacex.ai.service.ToolCallProgress.ToolCallEvent;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage.ToolResponse;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SpaceXToolCallingManagerTest {
+
+    private final ToolCallingManager delegate = mock(ToolCallingManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObservationRegistry observationRegistry = ObservationRegistry.create();
+    private final SpaceXToolCallingManager manager = new SpaceXToolCallingManager(delegate,
+            new SimpleAsyncTaskExecutor("tool-test-"), Duration.ofSeconds(5), observationRegistry);
+
+    SpaceXToolCallingManagerTest() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+    }
+
+    @Test
+    void testExecutesCallsConcurrentlyAndKeepsTheirOrder() {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        when(delegate.executeToolCalls(any(), any())).thenAnswer(invocation -> {
+            bothRunning.countDown();
+            // Only completes if the other call runs at the same time
+            assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            return result(invocation.getArgument(0), invocation.getArgument(1));
+        });
+        List<ToolCallEvent> events = new CopyOnWriteArrayList<>();
+        Prompt prompt = promptWithProgress(events::add);
+
+        ToolExecutionResult result = manager.executeToolCalls(prompt, toolCallResponse());
+
+        List<Message> history = result.conversationHistory();
+        assertEquals(3, history.size());
+        assertEquals(2, ((AssistantMessage) history.get(1)).getToolCalls().size());
+        List<ToolResponse> responses = ((ToolResponseMessage) history.get(2)).getResponses();
+        assertEquals(List.of("call-1", "call-2"), responses.stream().map(ToolResponse::id).toList());
+        assertEquals("result of getRocketById", responses.get(1).responseData());
+        verify(delegate, times(2)).executeToolCalls(eq(prompt), any());
+
+        assertEquals(List.of("getNextLaunch:STARTED", "getRocketById:STARTED"), describe(events.subList(0, 2)));
+        assertEquals(List.of("getNextLaunch:COMPLETED", "getRocketById:COMPLETED"),
+                describe(events.subList(2, 4)).stream().sorted().toList());
+        assertEquals(1, toolCalls("getRocketById", "success"));
+    }
+
+    @Test
+    void testSlowCallTimesOutWithoutFailingTheTurn() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        SpaceXToolCallingManager impatient = new SpaceXToolCallingManager(delegate,
+                new SimpleAsyncTaskExecutor("tool-test-"), Duration.ofMillis(200), observationRegistry);
+        when(delegate.executeToolCalls(any(), any())).thenAnswer(invocation -> {
+            ChatResponse single = invocation.getArgument(1);
+            if (single.getResult().getOutput().getToolCalls().get(0).name().equals("getRocketById")) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+            return result(invocation.getArgument(0), single);
+        });
+        List<ToolCallEvent> events = new CopyOnWriteArrayList<>();
+
+        ToolExecutionResult result = impatient.executeToolCalls(promptWithProgress(events::add), toolCallResponse());
+
+        List<ToolResponse> responses = ((ToolResponseMessage) result.conversationHistory().get(2)).getResponses();
+        assertEquals("result of getNextLaunch", responses.get(0).responseData());
+        assertTrue(responses.get(1).responseData().contains("did not complete"));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(describe(events).contains("getRocketById:FAILED"));
+        assertTrue(describe(events).contains("getNextLaunch:COMPLETED"));
+        assertEquals(1, toolCalls("getRocketById", "timeout"));
+        assertEquals(1, toolCalls("getNextLaunch", "success"));
+    }
+
+    @Test
+    void testReportsFailure() {
+        List<ToolCallEvent> events = new CopyOnWriteArrayList<>();
+        when(delegate.executeToolCalls(any(), any())).thenThrow(new IllegalStateException("boom"));
+
+        assertThrows(IllegalStateException.class,
+                () -> manager.executeToolCalls(promptWithProgress(events::add), toolCallResponse()));
+
+        assertTrue(describe(events).contains("getNextLaunch:FAILED"));
+        assertTrue(describe(events).contains("getRocketById:FAILED"));
+    }
+
+    @Test
+    void testWorksWithoutListener() {
+        Prompt prompt = new Prompt(List.of(new UserMessage("hi")), OpenAiChatOptions.builder().build());
+        when(delegate.executeToolCalls(any(), any()))
+                .thenAnswer(invocation -> result(invocation.getArgument(0), invocation.getArgument(1)));
+
+        manager.executeToolCalls(prompt, toolCallResponse());
+
+        verify(delegate, times(2)).executeToolCalls(eq(prompt), any());
+    }
+
+    private static Prompt promptWithProgress(ToolCallProgress progress) {
+        OpenAiChatOptions options = OpenAiChatOptions.builder().build();
+        options.setToolContext(Map.of(ToolCallProgress.CONTEXT_KEY, progress));
+        return new Prompt(List.of(new UserMessage("Compare the next launch rocket")), options);
+    }
+
+    private static ChatResponse toolCallResponse() {
+        AssistantMessage message = new AssistantMessage("", Map.of(), List.of(
+                new AssistantMessage.ToolCall("call-1", "function", "getNextLaunch", "{}"),
+                new AssistantMessage.ToolCall("call-2", "function", "getRocketById", "{\"id\":\"r1\"}")
+        ));
+        return new ChatResponse(List.of(new Generation(message)));
+    }
+
+    /**
+     * What the Spring AI default manager returns for a single tool call.
+     */
+    private static ToolExecutionResult result(Prompt prompt, ChatResponse single) {
+        AssistantMessage message = single.getResult().getOutput();
+        AssistantMessage.ToolCall call = message.getToolCalls().get(0);
+        List<Message> history = new ArrayList<>(prompt.getInstructions());
+        history.add(message);
+        history.add(new ToolResponseMessage(List.of(new ToolResponse(call.id(), call.name(), "result of " + call.name()))));
+        return ToolExecutionResult.builder().conversationHistory(history).build();
+    }
+
+    private static List<String> describe(List<ToolCallEvent> events) {
+        return events.stream().map(e -> e.tool() + ":" + e.status()).toList();
+    }
+
+    private long toolCalls(String tool, String outcome) {
+        return meterRegistry.get("spacex.tool.call").tag("tool", tool).tag("outcome", outcome).timer().count();
+    }
+}
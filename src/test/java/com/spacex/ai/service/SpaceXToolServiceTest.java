@@ -0,0 +1,245 @@
+package com.spacex.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.config.ToolResultProperties;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.Rocket;
+import com.spacex.ai.store.LaunchStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.model.function.FunctionCallback;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SpaceXToolServiceTest {
+
+    private static final String FALCON_9 = "5e9d0d95eda69973a809d1ec";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SpaceXClient spaceXClient;
+    private SpaceXToolService toolService;
+
+    @BeforeEach
+    void setUp() {
+        spaceXClient = mock(SpaceXClient.class);
+        toolService = new SpaceXToolService(spaceXClient, new ToolResultCompactor(objectMapper,
+                new ToolResultProperties(4000, 4, 200, List.of()), meterRegistry),
+                new LaunchAnalytics(spaceXClient, null), new SerializedResults(meterRegistry));
+        when(spaceXClient.getPastLaunches()).thenReturn(List.of(
+                launch("l1", 1, LocalDateTime.of(2006, 3, 24, 22, 30), false, "falcon1"),
+                launch("l2", 2, LocalDateTime.of(2010, 6, 4, 18, 45), true, FALCON_9),
+                launch("l3", 3, LocalDateTime.of(2020, 5, 30, 19, 22), true, FALCON_9),
+                launch("l4", 4, LocalDateTime.of(2020, 12, 31, 23, 0), false, FALCON_9)
+        ));
+    }
+
+    @Test
+    void testFiltersSortsAndPagesBeforeSerializing() throws Exception {
+        String json = toolService.getPastLaunches().apply(new SpaceXToolService.GetPastLaunchesRequest(
+                List.of("name", "flight_number"), "2010-01-01", "2020-12-31", null, FALCON_9, null,
+                "-date_utc", 2, 1));
+
+        JsonNode launches = objectMapper.readTree(json);
+        assertEquals(2, launches.size());
+        assertEquals("Flight 3", launches.get(0).get("name").asText());
+        assertEquals(2, launches.get(1).get("flight_number").asInt());
+        assertEquals(2, launches.get(0).size(), "only the projected fields are serialized");
+        verify(spaceXClient, never()).getAllRockets();
+    }
+
+    @Test
+    void testLaunchStoreListsArePagedFromTheirColumns() throws Exception {
+        LaunchStore launchStore = new LaunchStore();
+        launchStore.replaceAll(spaceXClient.getPastLaunches());
+        when(spaceXClient.getAllLaunches()).thenReturn(launchStore.all());
+
+        for (String sort : List.of("date_utc", "-date_utc")) {
+            SpaceXToolService.GetAllLaunchesRequest request = new SpaceXToolService.GetAllLaunchesRequest(
+                    null, "2010-01-01", "2020-12-31", null, FALCON_9, null, sort, 2, 1);
+            assertEquals(toolService.select(spaceXClient.getPastLaunches(), request),
+                    toolService.select(launchStore.all(), request), sort);
+        }
+        JsonNode launches = objectMapper.readTree(toolService.getAllLaunches().apply(new SpaceXToolService.GetAllLaunchesRequest(
+                List.of("id"), "2010-01-01", null, true, null, null, "date_utc", 1, null)));
+        assertEquals("l2", launches.get(0).get("id").asText());
+    }
+
+    @Test
+    void testResolvesRocketNameAndProjectsNestedFields() throws Exception {
+        when(spaceXClient.getAllRockets()).thenReturn(List.of(rocket(FALCON_9, "Falcon 9"), rocket("falcon1", "Falcon 1")));
+
+        String json = toolService.getPastLaunches().apply(new SpaceXToolService.GetPastLaunchesRequest(
+                List.of("id", "links.webcast"), null, null, true, "falcon 9", null, null, null, null));
+
+        JsonNode launches = objectMapper.readTree(json);
+        assertEquals(List.of("l2", "l3"), launches.findValuesAsText("id"));
+        assertEquals("https://youtu.be/l3", launches.get(1).at("/links/webcast").asText());
+        assertTrue(launches.get(1).at("/links/patch").isMissingNode());
+    }
+
+    @Test
+    void testEmptyRequestReturnsFullObjects() throws Exception {
+        String json = toolService.getPastLaunches().apply(new SpaceXToolService.GetPastLaunchesRequest(
+                null, null, null, null, null, null, null, null, null));
+
+        JsonNode launches = objectMapper.readTree(json);
+        assertEquals(4, launches.size());
+        assertTrue(launches.get(0).has("links"));
+    }
+
+    @Test
+    void testResultsAreReusedWhileTheLaunchListIsUnchanged() {
+        when(spaceXClient.getAllRockets()).thenReturn(List.of(rocket(FALCON_9, "Falcon 9")));
+        SpaceXToolService.GetPastLaunchesRequest request = new SpaceXToolService.GetPastLaunchesRequest(
+                List.of("id"), null, null, null, "Falcon 9", null, null, null, null);
+
+        String first = toolService.getPastLaunches().apply(request);
+        assertSame(first, toolService.getPastLaunches().apply(request));
+
+        List<Launch> refreshed = new ArrayList<>(spaceXClient.getPastLaunches());
+        when(spaceXClient.getPastLaunches()).thenReturn(refreshed);
+        String rewritten = toolService.getPastLaunches().apply(request);
+        assertNotSame(first, rewritten, "an equal list is not compared, but is another version");
+        assertEquals(first, rewritten);
+
+        List<Launch> synced = List.of(refreshed.get(1), launch("l5", 5, LocalDateTime.of(2021, 1, 1, 0, 0), true, FALCON_9));
+        when(spaceXClient.getPastLaunches()).thenReturn(synced);
+        assertEquals("[{\"id\":\"l2\"},{\"id\":\"l5\"}]", toolService.getPastLaunches().apply(request));
+
+        assertEquals(1, meterRegistry.get(SerializedResults.METRIC).tag("result", "hit").counter().count());
+        assertEquals(3, meterRegistry.get(SerializedResults.METRIC).tag("result", "miss").counter().count());
+        assertEquals(4, meterRegistry.get("spacex.tools.result.tokens").summary().count(),
+                "reused results are still recorded");
+    }
+
+    @Test
+    void testResultsMatchingNamesAreWrittenAgainWhenTheNamesChange() {
+        LaunchStore launchStore = new LaunchStore();
+        launchStore.replaceAll(spaceXClient.getPastLaunches());
+        when(spaceXClient.getAllLaunches()).thenReturn(launchStore.all());
+        when(spaceXClient.getAllRockets()).thenReturn(List.of(rocket(FALCON_9, "Falcon 9")));
+        SpaceXToolService.GetAllLaunchesRequest request = new SpaceXToolService.GetAllLaunchesRequest(
+                List.of("id"), null, null, null, "Falcon 9", null, null, 1, null);
+
+        String first = toolService.getAllLaunches().apply(request);
+        assertSame(first, toolService.getAllLaunches().apply(request));
+
+        when(spaceXClient.getAllRockets()).thenReturn(List.of(rocket(FALCON_9, "Falcon Nine")));
+        assertEquals("[]", toolService.getAllLaunches().apply(request), "the new names are matched");
+
+        when(spaceXClient.getAllRockets()).thenReturn(List.of(rocket("falcon1", "Falcon 9")));
+        assertEquals("[{\"id\":\"l1\"}]", toolService.getAllLaunches().apply(request));
+        assertEquals(1, meterRegistry.get(SerializedResults.METRIC).tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testRepeatedCallsWithinAQuestionAreMemoized() {
+        when(spaceXClient.getRocketById(FALCON_9)).thenReturn(rocket(FALCON_9, "Falcon 9"));
+        when(spaceXClient.getRocketById("falcon1")).thenReturn(rocket("falcon1", "Falcon 1"));
+        FunctionCallback getRocketById = toolService.toolCallbacks().stream()
+                .filter(callback -> callback.getName().equals("getRocketById"))
+                .findFirst()
+                .orElseThrow();
+        ToolCallMemo memo = new ToolCallMemo(meterRegistry);
+        ToolContext question = new ToolContext(Map.of(ToolCallMemo.CONTEXT_KEY, memo));
+
+        String first = getRocketById.call("{\"id\":\"" + FALCON_9 + "\"}", question);
+        assertEquals(first, getRocketById.call("{\"id\":\"" + FALCON_9 + "\"}", question));
+        getRocketById.call("{\"id\":\"falcon1\"}", question);
+        verify(spaceXClient, times(1)).getRocketById(FALCON_9);
+        assertEquals(1, memo.duplicates());
+        assertEquals(1, meterRegistry.get(ToolCallMemo.METRIC).tag("tool", "getRocketById")
+                .tag("result", "duplicate").counter().count());
+        assertEquals(2, meterRegistry.get(ToolCallMemo.METRIC).tag("result", "first").counter().count());
+
+        getRocketById.call("{\"id\":\"" + FALCON_9 + "\"}",
+                new ToolContext(Map.of(ToolCallMemo.CONTEXT_KEY, new ToolCallMemo(null))));
+        verify(spaceXClient, times(2)).getRocketById(FALCON_9);
+    }
+
+    @Test
+    void testTruncatedFirstPageCarriesACursor() throws Exception {
+        List<Launch> launches = IntStream.rangeClosed(1, 500)
+                .mapToObj(n -> launch("l" + n, n, LocalDateTime.of(2020, 1, 1, 0, 0).plusDays(n), true, FALCON_9))
+                .toList();
+        when(spaceXClient.getAllLaunches()).thenReturn(launches);
+
+        JsonNode page = objectMapper.readTree(toolService.getAllLaunches().apply(new SpaceXToolService.GetAllLaunchesRequest(
+                null, null, null, null, null, null, null, null, null)));
+
+        assertEquals(500, page.get("total").asInt());
+        int returned = page.get("returned").asInt();
+        assertTrue(returned < 500);
+        assertEquals(returned, page.get("next_offset").asInt());
+        assertTrue(page.get("note").asText().contains("offset=" + returned));
+    }
+
+    @Test
+    void testInvalidArgumentsAreReportedToTheModel() {
+        String result = toolService.getPastLaunches().apply(new SpaceXToolService.GetPastLaunchesRequest(
+                null, "last tuesday", null, null, null, null, null, null, null));
+
+        assertEquals("Error retrieving past launches: Invalid date: last tuesday", result);
+    }
+
+    @Test
+    void testLaunchStatsAreGroupedAndFiltered() throws Exception {
+        List<Launch> launches = spaceXClient.getPastLaunches();
+        when(spaceXClient.getAllLaunches()).thenReturn(launches);
+        when(spaceXClient.getAllRockets()).thenReturn(List.of(rocket(FALCON_9, "Falcon 9"), rocket("falcon1", "Falcon 1")));
+
+        JsonNode byYear = objectMapper.readTree(toolService.getLaunchStats().apply(
+                new SpaceXToolService.GetLaunchStatsRequest("year", "Falcon 9", null, null, null, null)));
+        assertEquals("year", byYear.get("group_by").asText());
+        assertEquals(3, byYear.at("/total/launches").asInt());
+        assertEquals(66.7, byYear.at("/total/success_rate").asDouble());
+        assertEquals(List.of("2010", "2020"), byYear.get("groups").findValuesAsText("key"));
+        assertEquals(50.0, byYear.get("groups").get(1).get("success_rate").asDouble());
+        assertEquals(215.1, byYear.get("groups").get(1).get("days_between_launches").asDouble());
+
+        JsonNode byRocket = objectMapper.readTree(toolService.getLaunchStats().apply(
+                new SpaceXToolService.GetLaunchStatsRequest("rocket", null, null, "2006", "2010-06", 1)));
+        assertEquals(2, byRocket.at("/total/launches").asInt());
+        assertEquals(1, byRocket.get("groups").size(), "ranked and limited");
+        assertEquals("2006-03-24", byRocket.at("/total/first_launch").asText());
+        assertEquals("Falcon 9", byRocket.get("groups").get(0).get("name").asText());
+    }
+
+    @Test
+    void testLaunchStatsRejectUnknownGrouping() {
+        when(spaceXClient.getAllLaunches()).thenReturn(List.of());
+
+        String result = toolService.getLaunchStats().apply(
+                new SpaceXToolService.GetLaunchStatsRequest("weekday", null, null, null, null, null));
+
+        assertTrue(result.startsWith("Error computing launch statistics: Unsupported groupBy: weekday"));
+    }
+
+    private static Launch launch(String id, int flightNumber, LocalDateTime date, boolean success, String rocket) {
+        return new Launch(id, "Flight " + flightNumber, flightNumber, date, null, false, success, null,
+                List.of(), List.of(), List.of(), List.of(), "pad", rocket,
+                new Launch.Links(new Launch.Links.Patch("small", "large"), "https://youtu.be/" + id, null, null));
+    }
+
+    private static Rocket rocket(String id, String name) {
+        return new Rocket(id, name, "rocket", true, 2, 0, null, null, null, null, null, null, null,
+                null, null, null, List.of());
+    }
+}
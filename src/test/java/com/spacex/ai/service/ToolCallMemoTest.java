@@ -0,0 +1,57 @@
+package com.spacex.ai.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolCallMemoTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ToolCallMemo memo = new ToolCallMemo(null);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRepeatWaitingForACallThatFailsWithAnErrorFailsToo() throws Exception {
+        Error failure = new StackOverflowError("tool failed");
+        CountDownLatch calling = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> memo.call("getRocketById", "falcon9", () -> {
+            calling.countDown();
+            await(fail);
+            throw failure;
+        }));
+        assertTrue(calling.await(5, TimeUnit.SECONDS));
+        Future<String> repeat = executor.submit(() -> memo.call("getRocketById", "falcon9", () -> "not called"));
+        while (memo.duplicates() == 0) {
+            Thread.sleep(10);
+        }
+        fail.countDown();
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertSame(failure, firstFailure.getCause());
+        ExecutionException repeatFailure = assertThrows(ExecutionException.class, () -> repeat.get(5, TimeUnit.SECONDS));
+        assertSame(failure, repeatFailure.getCause());
+        assertEquals("falcon 9", memo.call("getRocketById", "falcon9", () -> "falcon 9"), "failures are not remembered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.spacex.ai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spacex.ai.config.ToolResultProperties;
+import com.spacex.ai.model.Launch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ToolResultCompactorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testResultWithinBudgetIsUnchanged() throws Exception {
+        ToolResultCompactor compactor = compactor(4000);
+        Launch launch = launch(1);
+
+        String json = compactor.write("getLatestLaunch", launch, null, null);
+
+        assertEquals(objectMapper.writeValueAsString(launch), json);
+        assertEquals(1, meterRegistry.get("spacex.tools.result.tokens")
+                .tags("tool", "getLatestLaunch", "compacted", "false").summary().count());
+    }
+
+    @Test
+    void testLargeListIsTabulatedAndTruncatedWithCursor() throws Exception {
+        ToolResultCompactor compactor = compactor(500);
+        List<Launch> launches = IntStream.rangeClosed(1, 200).mapToObj(ToolResultCompactorTest::launch).toList();
+
+        String json = compactor.write("getPastLaunches", launches, null, 20);
+        JsonNode result = objectMapper.readTree(json);
+
+        assertTrue(compactor.estimateTokens(json) <= 500);
+        assertEquals(200, result.get("total").asInt());
+        int returned = result.get("returned").asInt();
+        assertTrue(returned > 0 && returned < 200);
+        assertEquals(20 + returned, result.get("next_offset").asInt());
+        assertEquals(returned, result.get("rows").size());
+
+        List<String> columns = objectMapper.convertValue(result.get("columns"), List.class);
+        assertTrue(columns.contains("name"));
+        assertFalse(columns.contains("capsules"), "low-value fields are dropped");
+        assertFalse(columns.contains("date_local"), "null fields are dropped");
+        JsonNode links = result.get("rows").get(0).get(columns.indexOf("links"));
+        assertFalse(links.has("patch"));
+        assertTrue(links.has("webcast"));
+        String details = result.get("rows").get(0).get(columns.indexOf("details")).asText();
+        assertEquals(203, details.length());
+        assertTrue(result.get("estimated_tokens").asInt() > 0);
+    }
+
+    @Test
+    void testListWithoutPagingHasNoCursor() throws Exception {
+        ToolResultCompactor compactor = compactor(100);
+        List<Launch> launches = IntStream.rangeClosed(1, 50).mapToObj(ToolResultCompactorTest::launch).toList();
+
+        JsonNode result = objectMapper.readTree(compactor.write("getAllRockets", launches, List.of("name"), null));
+
+        assertFalse(result.has("next_offset"));
+        assertTrue(result.get("returned").asInt() < 50);
+        assertEquals(1, meterRegistry.get("spacex.tools.result.tokens")
+                .tags("tool", "getAllRockets", "compacted", "true").summary().count());
+    }
+
+    @Test
+    void testListsNestedInAnObjectAreTruncatedToTheBudget() throws Exception {
+        ToolResultCompactor compactor = compactor(300);
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("name", "Flight 1");
+        details.put("ships", List.of("ship1", "ship2"));
+        details.put("crew", IntStream.rangeClosed(1, 200).mapToObj(i -> Map.of("id", "crew" + i, "role", "Pilot")).toList());
+        details.put("rocket", Map.of("name", "Falcon 9", "engines",
+                IntStream.rangeClosed(1, 9).mapToObj(i -> "Merlin " + i).toList()));
+
+        String json = compactor.write("getLaunchDetails", details, null, null);
+        JsonNode result = objectMapper.readTree(json);
+
+        assertTrue(compactor.estimateTokens(json) <= 300, json);
+        assertTrue(result.has("note"));
+        assertEquals(2, result.at("/result/ships").size(), "shorter lists are kept while the longest is cut");
+        assertEquals(9, result.at("/result/rocket/engines").size());
+        JsonNode crew = result.at("/result/crew");
+        assertEquals(200, crew.get("total").asInt());
+        int returned = crew.get("returned").asInt();
+        assertTrue(returned >= 1 && returned < 200);
+        assertEquals(returned, crew.get("items").size());
+        assertEquals("crew1", crew.get("items").get(0).get("id").asText());
+    }
+
+    private ToolResultCompactor compactor(int tokenBudget) {
+        return new ToolResultCompactor(objectMapper,
+                new ToolResultProperties(tokenBudget, 4, 200, List.of("links.patch", "capsules", "payloads")),
+                meterRegistry);
+    }
+
+    private static Launch launch(int flightNumber) {
+        return new Launch("id" + flightNumber, "Flight " + flightNumber, flightNumber,
+                LocalDateTime.of(2020, 1, 1, 0, 0).plusDays(flightNumber), null, false, true,
+                "x".repeat(500), List.of(), List.of(), List.of("capsule"), List.of("payload"), "pad", "rocket",
+                new Launch.Links(new Launch.Links.Patch("small", "large"), "https://youtu.be/" + flightNumber, null, null));
+    }
+}
@@ -0,0 +1,173 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.model.Launch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaunchStoreTest {
+
+    private LaunchStore launchStore;
+
+    @BeforeEach
+    void setUp() {
+        launchStore = new LaunchStore();
+        launchStore.replaceAll(List.of(
+                launch("l3", 3, LocalDateTime.of(2020, 5, 30, 19, 22), false, true, "falcon9", "lc39a"),
+                launch("l1", 1, LocalDateTime.of(2006, 3, 24, 22, 30), false, false, "falcon1", "kwaj"),
+                launch("l4", 4, LocalDateTime.of(2030, 1, 1, 0, 0), true, null, "starship", "boca"),
+                launch("l2", 2, LocalDateTime.of(2010, 6, 4, 18, 45), false, true, "falcon9", "slc40")
+        ));
+    }
+
+    @Test
+    void testDerivedViews() {
+        assertTrue(launchStore.isLoaded());
+        assertEquals(List.of("l1", "l2", "l3", "l4"), ids(launchStore.all()));
+        assertEquals(List.of("l1", "l2", "l3"), ids(launchStore.past()));
+        assertEquals(List.of("l4"), ids(launchStore.upcoming()));
+        assertEquals("l3", launchStore.latest().id());
+        assertEquals("l4", launchStore.next().id());
+        assertEquals("l2", launchStore.byId("l2").id());
+        assertNull(launchStore.byId("missing"));
+    }
+
+    @Test
+    void testSecondaryIndexes() {
+        assertEquals(List.of("l2", "l3"), ids(launchStore.byRocket("falcon9")));
+        assertEquals(List.of("l4"), ids(launchStore.byLaunchpad("boca")));
+        assertEquals(List.of(), launchStore.byRocket("unknown"));
+        assertEquals(List.of("l2", "l3"), ids(launchStore.between(
+                LocalDateTime.of(2010, 1, 1, 0, 0), LocalDateTime.of(2020, 12, 31, 0, 0))));
+        assertEquals(List.of("l3", "l4"), ids(launchStore.between(LocalDateTime.of(2015, 1, 1, 0, 0), null)));
+    }
+
+    @Test
+    void testFiltersOnColumnsMatchFiltersOnRecords() {
+        launchStore.merge(List.of(launch("l5", 5, null, true, null, "falcon9", "lc39a")), launch -> false);
+        List<Launch> records = List.copyOf(launchStore.all());
+        List<LaunchFilter> filters = List.of(
+                new LaunchFilter(null, null, null, null, null),
+                new LaunchFilter(LocalDateTime.of(2010, 6, 4, 18, 45), null, null, null, null),
+                new LaunchFilter(null, LocalDateTime.of(2020, 5, 30, 19, 22).plusNanos(1), null, null, null),
+                new LaunchFilter(LocalDateTime.of(2010, 1, 1, 0, 0), LocalDateTime.of(2031, 1, 1, 0, 0), true, null, null),
+                new LaunchFilter(null, null, null, Set.of("falcon9", "unknown"), null),
+                new LaunchFilter(null, null, false, null, Set.of("kwaj", "boca")),
+                new LaunchFilter(null, null, null, Set.of("unknown"), null));
+
+        for (LaunchFilter filter : filters) {
+            List<Launch> expected = records.stream().filter(filter::test).toList();
+            assertEquals(expected, LaunchStore.filter(launchStore.all(), filter), filter.toString());
+            assertEquals(expected.stream().filter(launch -> !launch.upcoming()).toList(),
+                    LaunchStore.filter(launchStore.past(), filter), filter.toString());
+        }
+        assertTrue(LaunchStore.inDateOrder(LaunchStore.filter(launchStore.all(), filters.get(4))));
+        assertFalse(LaunchStore.inDateOrder(records));
+    }
+
+    @Test
+    void testViewsOfTheSameDatasetShareItsVersion() {
+        long version = LaunchStore.versionOf(launchStore.all());
+        assertTrue(version > 0);
+        assertEquals(version, LaunchStore.versionOf(launchStore.past()));
+        assertEquals(version, LaunchStore.versionOf(
+                LaunchStore.filter(launchStore.all(), new LaunchFilter(null, null, true, null, null))));
+        assertEquals(-1, LaunchStore.versionOf(List.copyOf(launchStore.all())));
+
+        launchStore.merge(List.of(launchStore.byId("l4")), launch -> false);
+        assertEquals(version, LaunchStore.versionOf(launchStore.all()), "an unchanged merge keeps the version");
+        launchStore.replaceAll(List.copyOf(launchStore.all()));
+        assertNotEquals(version, LaunchStore.versionOf(launchStore.all()));
+    }
+
+    @Test
+    void testMergeReplacesAndRemovesLaunchesInsideWindow() {
+        LocalDateTime cutoff = LocalDateTime.of(2020, 1, 1, 0, 0);
+        Launch landed = launch("l4", 4, LocalDateTime.of(2030, 1, 1, 0, 0), false, true, "starship", "boca");
+        Launch added = launch("l5", 5, LocalDateTime.of(2031, 1, 1, 0, 0), true, null, "falcon9", "lc39a");
+
+        boolean changed = launchStore.merge(List.of(landed, added),
+                launch -> Boolean.TRUE.equals(launch.upcoming()) || !launch.dateUtc().isBefore(cutoff));
+
+        assertTrue(changed);
+        // l3 is inside the window but was not returned, so it was removed upstream
+        assertEquals(List.of("l1", "l2", "l4", "l5"), ids(launchStore.all()));
+        assertEquals("l4", launchStore.latest().id());
+        assertEquals("l5", launchStore.next().id());
+    }
+
+    @Test
+    void testMergeWithoutChangesKeepsIndex() {
+        List<Launch> before = launchStore.all();
+        Launch upcoming = launchStore.byId("l4");
+        Launch recent = launchStore.byId("l3");
+
+        boolean changed = launchStore.merge(List.of(upcoming, recent),
+                launch -> launch.dateUtc().isAfter(LocalDateTime.of(2020, 1, 1, 0, 0)));
+
+        assertFalse(changed);
+        assertSame(before, launchStore.all());
+    }
+
+    @Test
+    void testAggregatesFollowMergesIncrementally() {
+        LaunchAggregates before = launchStore.aggregates();
+        LaunchAggregates.Cell falcon9 = new LaunchAggregates.Cell("falcon9", "lc39a", YearMonth.of(2031, 1));
+        Launch landed = launch("l4", 4, LocalDateTime.of(2030, 1, 1, 0, 0), false, true, "starship", "boca");
+        Launch added = launch("l5", 5, LocalDateTime.of(2031, 1, 1, 0, 0), true, null, "falcon9", "lc39a");
+
+        // l3, the last flown Falcon 9, is inside the window and not returned, so it was removed upstream
+        launchStore.merge(List.of(landed, added), launch -> !launch.dateUtc().isBefore(LocalDateTime.of(2019, 1, 1, 0, 0)));
+
+        LaunchAggregates after = launchStore.aggregates();
+        assertEquals(LaunchAggregates.of(launchStore.all()).cells(), after.cells());
+        assertEquals(new LaunchAggregates.Counts(1, 0, 1, 0, landed.dateUtc(), landed.dateUtc()),
+                after.total(cell -> "starship".equals(cell.rocket())));
+        assertEquals(1, after.cells().get(falcon9).upcoming());
+        assertNull(before.cells().get(falcon9), "the previous version is unchanged");
+
+        LaunchAggregates.Counts falcon9Total = after.total(cell -> "falcon9".equals(cell.rocket()));
+        assertEquals(2, falcon9Total.launches());
+        assertEquals(1, falcon9Total.flown());
+        assertEquals(LocalDateTime.of(2010, 6, 4, 18, 45), falcon9Total.firstFlown());
+        assertEquals(LocalDateTime.of(2010, 6, 4, 18, 45), falcon9Total.lastFlown());
+    }
+
+    @Test
+    void testLaunchesReadBackAsStored() {
+        Launch full = new Launch("l9", "Full", 9, LocalDateTime.of(2022, 2, 3, 4, 5, 6, 789_000_000),
+                "2022-02-03T00:05:06-04:00", false, true, "details", List.of("c1", "c2"), List.of("s1"),
+                List.of(), List.of("p1", "p2"), "lc39a", "falcon9",
+                new Launch.Links(new Launch.Links.Patch("small", null), "webcast", null, "wikipedia"));
+        Launch sparse = new Launch("l8", null, null, null, null, null, null, null, null, null, null, null,
+                null, null, new Launch.Links(null, null, null, null));
+        Launch unusualLocalDate = new Launch("l7", "Local", 7, LocalDateTime.of(2021, 1, 1, 0, 0),
+                "2021-01-01", false, null, null, List.of(), List.of(), List.of(), List.of(), null, null, null);
+        launchStore.replaceAll(List.of(full, sparse, unusualLocalDate));
+
+        assertEquals(full, launchStore.byId("l9"));
+        assertEquals(sparse, launchStore.byId("l8"));
+        assertEquals(unusualLocalDate, launchStore.byId("l7"), "a date_local that is not an offset of date_utc is kept");
+        assertNull(launchStore.byId("l6"));
+        assertEquals(List.of(unusualLocalDate, full, sparse), launchStore.all(), "undated launches sort last");
+        assertEquals(List.of(full), launchStore.byRocket("falcon9"));
+        assertEquals(List.of(), launchStore.byRocket("s1"), "ship ids share the dictionary but are not rockets");
+        assertEquals(List.of(unusualLocalDate, full), launchStore.between(null, null));
+    }
+
+    private static List<String> ids(List<Launch> launches) {
+        return launches.stream().map(Launch::id).toList();
+    }
+
+    private static Launch launch(String id, int flightNumber, LocalDateTime date, boolean upcoming,
+                                 Boolean success, String rocket, String launchpad) {
+        return new Launch(id, "Flight " + flightNumber, flightNumber, date, null, upcoming, success, null,
+                List.of(), List.of(), List.of(), List.of(), launchpad, rocket, null);
+    }
+}
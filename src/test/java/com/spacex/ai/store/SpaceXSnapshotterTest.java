@@ -0,0 +1,141 @@
+package com.spacex.ai.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spacex.ai.client.ReactiveSpaceXClient;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.model.Rocket;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceXSnapshotterTest {
+
+    private static final Rocket FALCON_9 = new Rocket("r1", "Falcon 9", "rocket", true, 2, 0, 50_000_000L, 98,
+            "2010-06-04", "United States", "SpaceX", null, null, null, null, null, List.of());
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private MockWebServer mockWebServer;
+    private ReactiveSpaceXClient reactiveClient;
+    private Path path;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        reactiveClient = new ReactiveSpaceXClient(mockWebServer.url("/").toString());
+        path = directory.resolve("snapshot.smile");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void testRestartIsServedFromSnapshot() throws IOException {
+        LaunchStore store = new LaunchStore();
+        store.replaceAll(List.of(launch("l1", 2020), launch("l2", 2031)));
+        CacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.getCache(CacheConfiguration.ROCKETS).put(SimpleKey.EMPTY, List.of(FALCON_9));
+
+        SpaceXSnapshotter before = snapshotter(store, cacheManager, Duration.ofDays(1));
+        assertTrue(before.save());
+        assertFalse(before.save(), "unchanged data is not written again");
+
+        LaunchStore restartedStore = new LaunchStore();
+        CacheManager restartedCaches = new CaffeineCacheManager();
+        SpaceXSnapshotter after = snapshotter(restartedStore, restartedCaches, Duration.ofDays(1));
+
+        assertTrue(after.restore());
+        assertTrue(restartedStore.isLoaded());
+        assertEquals(store.all(), restartedStore.all());
+        assertEquals("l2", restartedStore.next().id());
+        assertEquals(List.of(FALCON_9), restartedCaches.getCache(CacheConfiguration.ROCKETS).get(SimpleKey.EMPTY).get());
+        assertEquals(FALCON_9, restartedCaches.getCache(CacheConfiguration.ROCKET).get("r1").get());
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testRestoredReferenceDataIsRefreshedFromUpstream() throws IOException {
+        CacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.getCache(CacheConfiguration.ROCKETS).put(SimpleKey.EMPTY, List.of(FALCON_9));
+        snapshotter(null, cacheManager, Duration.ofDays(1)).save();
+
+        CacheManager restartedCaches = new CaffeineCacheManager();
+        SpaceXSnapshotter restarted = snapshotter(null, restartedCaches, Duration.ofDays(1));
+        restarted.restore();
+        mockWebServer.enqueue(json("[{\"id\":\"r1\",\"name\":\"Falcon 9 Block 5\"}]"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(json("[]"));
+
+        restarted.checkpoint();
+
+        List<?> rockets = (List<?>) restartedCaches.getCache(CacheConfiguration.ROCKETS).get(SimpleKey.EMPTY).get();
+        assertEquals("Falcon 9 Block 5", ((Rocket) rockets.get(0)).name());
+        assertEquals(3, mockWebServer.getRequestCount());
+        // The refreshed data is written back
+        SpaceXSnapshotter next = snapshotter(null, new CaffeineCacheManager(), Duration.ofDays(1));
+        assertTrue(next.restore());
+    }
+
+    @Test
+    void testOldOrUnreadableSnapshotsAreIgnored() throws IOException {
+        CacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.getCache(CacheConfiguration.ROCKETS).put(SimpleKey.EMPTY, List.of(FALCON_9));
+        snapshotter(null, cacheManager, Duration.ofDays(1)).save();
+
+        assertFalse(snapshotter(null, new CaffeineCacheManager(), Duration.ZERO).restore());
+
+        Files.write(path, new byte[]{1, 2, 3});
+        assertFalse(snapshotter(null, new CaffeineCacheManager(), Duration.ofDays(1)).restore());
+    }
+
+    @Test
+    void testWithoutPathNothingIsReadOrWritten() throws IOException {
+        CacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.getCache(CacheConfiguration.ROCKETS).put(SimpleKey.EMPTY, List.of(FALCON_9));
+        SpaceXSnapshotter disabled = new SpaceXSnapshotter(null, Duration.ofDays(1), objectMapper, null,
+                reactiveClient, cacheManager);
+
+        assertFalse(disabled.restore());
+        assertFalse(disabled.save());
+        disabled.checkpoint();
+        assertEquals(0, mockWebServer.getRequestCount());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private SpaceXSnapshotter snapshotter(LaunchStore store, CacheManager cacheManager, Duration maxAge) {
+        return new SpaceXSnapshotter(path, maxAge, objectMapper, store, reactiveClient, cacheManager);
+    }
+
+    private static Launch launch(String id, int year) {
+        return new Launch(id, "Launch " + id, year, LocalDateTime.of(year, 1, 1, 12, 0), null, year > 2025, null,
+                null, List.of(), List.of(), null, null, "lp1", "r1", null);
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+    }
+}
@@ -0,0 +1,117 @@
+package com.spacex.ai.store;
+
+import com.spacex.ai.client.SpaceXClient;
+import com.spacex.ai.config.CacheConfiguration;
+import com.spacex.ai.model.Launch;
+import com.spacex.ai.store.LaunchChanges.Change;
+import com.spacex.ai.store.LaunchChanges.Kind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import reactor.core.Disposable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UpcomingLaunchWatcherTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2031, 3, 1, 9, 0);
+    private static final LocalDateTime EVENING = LocalDateTime.of(2031, 3, 1, 21, 0);
+
+    private final SpaceXClient spaceXClient = mock(SpaceXClient.class);
+    private final CacheManager cacheManager = new CaffeineCacheManager();
+    private final List<Object> events = new ArrayList<>();
+    private UpcomingLaunchWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        watcher = new UpcomingLaunchWatcher(spaceXClient, cacheManager, events::add, null);
+    }
+
+    @Test
+    void testFirstPollOnlyRecordsTheBaseline() {
+        when(spaceXClient.fetchUpcomingLaunches()).thenReturn(List.of(launch("l1", MORNING, null)));
+        List<LaunchChanges> received = new ArrayList<>();
+        watcher.changes().subscribe(received::add);
+
+        watcher.poll();
+        watcher.poll();
+
+        assertTrue(received.isEmpty());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testDiffClassifiesChanges() {
+        watcher.diff(List.of(launch("l1", MORNING, null), launch("l2", MORNING, null), launch("l3", EVENING, null)));
+
+        LaunchChanges detected = watcher.diff(List.of(
+                launch("l1", EVENING, null), launch("l2", MORNING, "Static fire complete"), launch("l4", MORNING, null)));
+
+        Map<String, Change> byId = detected.changes().stream().collect(Collectors.toMap(Change::id, Function.identity()));
+        assertEquals(4, byId.size());
+        assertEquals(new Change(Kind.RESCHEDULED, "l1", "Flight l1", MORNING, EVENING, List.of("date_utc")), byId.get("l1"));
+        assertEquals(new Change(Kind.UPDATED, "l2", "Flight l2", MORNING, MORNING, List.of("details")), byId.get("l2"));
+        assertEquals(new Change(Kind.REMOVED, "l3", "Flight l3", EVENING, null, List.of()), byId.get("l3"));
+        assertEquals(new Change(Kind.ADDED, "l4", "Flight l4", null, MORNING, List.of()), byId.get("l4"));
+        assertEquals("l2", detected.next().id(), "the earliest upcoming launch after the changes");
+        assertNull(watcher.diff(List.of(
+                launch("l1", EVENING, null), launch("l2", MORNING, "Static fire complete"), launch("l4", MORNING, null))));
+    }
+
+    @Test
+    void testChangesInvalidateCachesAndReachSubscribers() {
+        when(spaceXClient.fetchUpcomingLaunches())
+                .thenReturn(List.of(launch("l1", MORNING, null)))
+                .thenReturn(List.of(launch("l1", EVENING, null)));
+        cacheManager.getCache(CacheConfiguration.NEXT_LAUNCH).put(SimpleKey.EMPTY, launch("l1", MORNING, null));
+        cacheManager.getCache(CacheConfiguration.LAUNCH).put("l1", launch("l1", MORNING, null));
+        cacheManager.getCache(CacheConfiguration.LAUNCH).put("l9", launch("l9", MORNING, null));
+        cacheManager.getCache(CacheConfiguration.ROCKETS).put(SimpleKey.EMPTY, List.of());
+        List<LaunchChanges> received = new ArrayList<>();
+        Disposable subscription = watcher.changes().subscribe(received::add);
+
+        watcher.poll();
+        watcher.poll();
+        subscription.dispose();
+
+        assertEquals(1, received.size());
+        assertEquals(Kind.RESCHEDULED, received.get(0).changes().get(0).kind());
+        assertNull(cacheManager.getCache(CacheConfiguration.NEXT_LAUNCH).get(SimpleKey.EMPTY));
+        assertNull(cacheManager.getCache(CacheConfiguration.LAUNCH).get("l1"));
+        assertNotNull(cacheManager.getCache(CacheConfiguration.LAUNCH).get("l9"), "unchanged launches stay cached");
+        assertNotNull(cacheManager.getCache(CacheConfiguration.ROCKETS).get(SimpleKey.EMPTY));
+        SpaceXDataChangedEvent event = (SpaceXDataChangedEvent) events.get(0);
+        assertTrue(event.cacheNames().contains(CacheConfiguration.UPCOMING_LAUNCHES));
+        assertTrue(event.cacheNames().contains(CacheConfiguration.LAUNCH_DETAILS));
+    }
+
+    @Test
+    void testFailedPollKeepsThePreviousSnapshot() {
+        when(spaceXClient.fetchUpcomingLaunches())
+                .thenReturn(List.of(launch("l1", MORNING, null)))
+                .thenThrow(new IllegalStateException("upstream down"))
+                .thenReturn(List.of(launch("l1", MORNING, null)));
+
+        watcher.poll();
+        watcher.poll();
+        watcher.poll();
+
+        assertTrue(events.isEmpty());
+    }
+
+    private static Launch launch(String id, LocalDateTime dateUtc, String details) {
+        return new Launch(id, "Flight " + id, null, dateUtc, null, true, null, details,
+                List.of(), List.of(), List.of(), List.of(), "lp1", "r1", null);
+    }
+}